@@ -0,0 +1,3 @@
+#!/usr/bin/env zsh
+# Run a game.bench main, defaults to CollisionBenchmark
+./mvnw -q -Pbench javafx:run -f ./pom.xml ${1:+-Dapp.mainClass=game.bench.$1}
@@ -1,3 +1,3 @@
 #!/usr/bin/env zsh
-# Run the game.Game main
-./mvnw -q -Pgame javafx:run -f ./pom.xml
+# Run the game.Game main, arguments are passed on, e.g. --renderer=chunks
+./mvnw -q -Pgame javafx:run -f ./pom.xml ${1:+-Dapp.args="$*"}
@@ -0,0 +1,3 @@
+#!/usr/bin/env zsh
+# Play the level headless from a script file or random:<seed>, e.g. ./run-headless.sh random:1 36000
+./mvnw -q -Pheadless javafx:run -f ./pom.xml ${1:+-Dapp.args="$*"}
@@ -0,0 +1,252 @@
+package game;
+
+import com.adonax.audiocue.AudioCue;
+import game.Constants.kAssets;
+import javafx.concurrent.Task;
+import javafx.scene.image.Image;
+import javafx.scene.media.AudioClip;
+import javafx.scene.text.Font;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Images, sounds and fonts by resource path, decoded once and shared by everything showing or playing them.
+ * Entries are kept in least recently used order and the oldest are dropped once their estimated decoded size passes
+ * the budget; nodes still using a dropped asset keep it, a later lookup decodes it again.
+ * Lookups are safe from any thread, and concurrent lookups of the same path wait for one decode.
+ */
+public final class AssetManager {
+    /** A decoded asset and its estimated size in memory */
+    private record Entry(Object value, long bytes) {}
+
+    private static final Map<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true); // guarded by itself
+    private static final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private static long budget = kAssets.BUDGET;
+    private static long used = 0;
+
+    private AssetManager() {}
+
+    /**
+     * Get an image
+     * @param path resource path, i.e. /sprites/bg/bg_blank.png
+     * @return image, null if it does not exist
+     */
+    public static Image image(String path) {
+        return (Image) get(path, () -> {
+            try (InputStream f = AssetManager.class.getResourceAsStream(path)) {
+                if (f == null) return null;
+
+                Image image = new Image(f);
+                return new Entry(image, (long) image.getWidth() * (long) image.getHeight() * 4); // decoded ARGB
+            } catch (Exception ignored) {}
+            return null;
+        });
+    }
+
+    /**
+     * Get a short sound effect
+     * @param path resource path, i.e. /sfx/click.wav
+     * @return clip, null if it does not exist
+     */
+    public static AudioClip clip(String path) {
+        return (AudioClip) get(path, () -> {
+            URL url = AssetManager.class.getResource(path);
+            if (url == null) return null;
+
+            return new Entry(new AudioClip(url.toString()), length(url)); // kept as the PCM of the file
+        });
+    }
+
+    /**
+     * Get a music cue, open and close it around each use
+     * @param path resource path, i.e. /music/homescreen.wav
+     * @return cue, null if it does not exist
+     */
+    public static AudioCue cue(String path) {
+        return (AudioCue) get(path, () -> {
+            URL url = AssetManager.class.getResource(path);
+            if (url == null) return null;
+
+            try {
+                return new Entry(AudioCue.makeStereoCue(url, 1), length(url) * 2); // 16 bit samples become floats
+            } catch (Exception ignored) {}
+            return null;
+        });
+    }
+
+    /**
+     * Get a font, the file is read once for all sizes
+     * @param path resource path, i.e. /fonts/Nepomuk-Italic.otf
+     * @param size point size
+     * @return font, the default font at that size if the file does not exist
+     */
+    public static Font font(String path, double size) {
+        Font font = (Font) get(path + "@" + size, () -> {
+            byte[] file = fontFile(path);
+            if (file == null) return null;
+
+            return new Entry(Font.loadFont(new ByteArrayInputStream(file), size), 0); // the file is counted once
+        });
+        return font != null ? font : Font.font(size);
+    }
+
+    /**
+     * Decode assets in the background, several at once
+     * @param paths resource paths, the kind is told by the path as in {@link #preload(String)}
+     * @return task to start, its progress is the fraction of assets decoded
+     */
+    public static Task<Void> preload(List<String> paths) {
+        return new Task<>() {
+            @Override
+            protected Void call() throws Exception {
+                ExecutorService pool = Executors.newFixedThreadPool(
+                    Math.max(1, Runtime.getRuntime().availableProcessors() - 1), // leave one for the FX thread
+                    r -> {
+                        Thread t = new Thread(r, "asset-preload");
+                        t.setDaemon(true);
+                        return t;
+                    }
+                );
+
+                try {
+                    AtomicInteger done = new AtomicInteger();
+                    List<Future<?>> pending = new ArrayList<>();
+                    for (String path : paths) {
+                        pending.add(pool.submit(() -> {
+                            preload(path);
+                            updateProgress(done.incrementAndGet(), paths.size());
+                        }));
+                    }
+                    for (Future<?> f : pending) f.get();
+                } finally {
+                    pool.shutdown();
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Decode one asset, its kind told by the path: fonts by extension, wav files under {@link kAssets#MUSIC} as cues,
+     * other wav files as clips and everything else as images
+     * @param path resource path
+     */
+    public static void preload(String path) {
+        if (path.endsWith(".otf") || path.endsWith(".ttf")) fontFile(path);
+        else if (path.endsWith(".wav")) {
+            if (path.startsWith(kAssets.MUSIC)) cue(path);
+            else clip(path);
+        } else image(path);
+    }
+
+    /**
+     * Set how much decoded data stays cached, dropping the oldest entries if over it
+     * @param bytes estimated bytes
+     */
+    public static void setBudget(long bytes) {
+        synchronized (cache) {
+            budget = bytes;
+            evict();
+        }
+    }
+
+    /** Get the cache budget in bytes */
+    public static long getBudget() {
+        synchronized (cache) {
+            return budget;
+        }
+    }
+
+    /** Get the estimated bytes of cached assets */
+    public static long getUsed() {
+        synchronized (cache) {
+            return used;
+        }
+    }
+
+    /** Font files are cached as bytes, {@link Font} only loads one size at a time */
+    private static byte[] fontFile(String path) {
+        return (byte[]) get(path, () -> {
+            try (InputStream f = AssetManager.class.getResourceAsStream(path)) {
+                if (f == null) return null;
+
+                byte[] file = f.readAllBytes();
+                return new Entry(file, file.length);
+            } catch (Exception ignored) {}
+            return null;
+        });
+    }
+
+    /**
+     * Look up an entry, decoding it if missing. Only the first thread to miss a path decodes it, others wait for it.
+     * @param key cache key
+     * @param decode decodes the asset, returns null if it does not exist
+     * @return asset, null if it does not exist
+     */
+    private static Object get(String key, Supplier<Entry> decode) {
+        synchronized (cache) {
+            Entry e = cache.get(key);
+            if (e != null) return e.value();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> other = loading.putIfAbsent(key, mine);
+        if (other != null) return other.join();
+
+        Object value = null;
+        try {
+            synchronized (cache) { // finished by another thread since the first look
+                Entry e = cache.get(key);
+                if (e != null) value = e.value();
+            }
+
+            if (value == null) {
+                Entry decoded = decode.get();
+                if (decoded != null && decoded.value() != null) {
+                    value = decoded.value();
+                    synchronized (cache) {
+                        Entry old = cache.put(key, decoded);
+                        used += decoded.bytes() - (old != null ? old.bytes() : 0);
+                        evict();
+                    }
+                }
+            }
+        } catch (Exception ignored) {
+        } finally {
+            mine.complete(value);
+            loading.remove(key, mine); // after caching, so a later miss finds the entry on its second look
+        }
+        return value;
+    }
+
+    /** Drop least recently used entries until under budget, always keeping the newest */
+    private static void evict() {
+        Iterator<Entry> it = cache.values().iterator();
+        while (used > budget && cache.size() > 1 && it.hasNext()) {
+            used -= it.next().bytes();
+            it.remove();
+        }
+    }
+
+    private static long length(URL url) {
+        try {
+            return Math.max(0, url.openConnection().getContentLengthLong());
+        } catch (Exception ignored) {}
+        return 0;
+    }
+}
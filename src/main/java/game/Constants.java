@@ -51,14 +51,38 @@ public class Constants {
         public static final double COLLISION_MARGIN = 4.0;
     }
 
+    /**
+     * Values for collision processing.
+     */
+    public static final class kPhysics {
+        public static final double HASH_CELL_SIZE = 128.0; // spatial hash grid cell side length
+
+        public static final int COMPACT_MAX_CELLS = 1 << 22; // largest edge grid rasterized when merging a Concrete group
+
+        public static final int TICK_RATE = 120; // simulation ticks per second
+        public static final double MAX_FRAME_TIME = 0.25; // longest frame simulated in seconds, excess is dropped
+        public static final int TILE_EVENT_CAPACITY = 1024; // tile events waiting for the screen, the simulation waits past it
+
+        public static final int FIXED_SHIFT = 8; // fixed point mode positions are in 1 / 2^FIXED_SHIFT px
+    }
+
     /**
      * Values for the level.
      */
     public static final class kLevel {
-        public static final int BOTTOM_BORDER = 2000; // bottom
+        public static final int BOTTOM_BORDER = 2000; // top of the default kill zone, actors below it are removed
+        public static final double KILL_MARGIN = 4000.0; // reach of the default kill zone past the level's sides and below its top
         public static final int[] SPAWNPOINT = {0, 0};
 
         public static final String[] KEYS = {"BASS", "ALTO", "TREBLE"}; // the 3 keys needed to complete game
+
+        public static final double BEAT_PERIOD = 4.865; // seconds per castanet loop, for runs without audio
+
+        public static final double REGION_GAP = 8.0; // largest gap between declared rooms that are still neighbours
+        public static final double REGION_CELL_SIZE = 256.0; // room lookup grid cell side length
+        public static final double REGION_GRID_MARGIN = 4096.0; // reach of the room lookup grid past the outermost markers
+
+        public static final double TRIGGER_CELL_SIZE = 256.0; // trigger volume spatial hash grid cell side length
     }
 
     /**
@@ -105,10 +129,24 @@ public class Constants {
 
         public static final double OFFSET_PLAYER_Y = 30;
 
+        public static final double CAMERA_LERP = 0.1; // fraction of distance to target covered per reference frame
+        public static final double CAMERA_LERP_RATE = 60; // reference frames per second of CAMERA_LERP
+
         public static final int HUD_TEXT_SIZE = 21;
 
         public static final int CHART_THRESHOLD = 300;
 
+        public static final double CULL_CELL_SIZE = 256.0; // grid cell side length of the platform culling index
+        public static final double CULL_MARGIN = 128.0; // distance beyond the view that platforms stay in the scene graph
+
+        public static final int MAX_PLAYERS = 2; // split screen players, one per key set
+        public static final double SPLIT_DIVIDER = 4; // width of the line between split screen views
+        public static final double SPLIT_PLAYER_HUE = 0.5; // hue shift of each further player's sprite, -1 to 1
+
+        public static final double[] BUTTON_PAUSE_POS = {20, 20};
+        public static final double[] BUTTON_RESUME_POS = {300, 265};
+        public static final double PAUSE_DIM = 0.4; // opacity of the black over the frozen frame
+
         public static final String[] MELODY_TREBLE = {
             "1-e5", "1-e5", "2-e5", // jingle bells
             "1-e5", "1-e5", "2-e5",
@@ -134,11 +172,20 @@ public class Constants {
 
         public static final int TEXT_SIZE = 36; // pt
 
-        public static final int BLUR_SIZE = 32; // gauss radius
+        public static final int BLUR_SIZE = 32; // gauss radius at full resolution
+        public static final int BLUR_DOWNSCALE = 4; // the background is captured and blurred at 1/4 size
+        public static final int BLUR_PASSES = 3; // box blurs approximating the gauss
+        public static final double BG_FADE_MILLIS = 300; // fade in of the background once blurred
 
         public static final String BG_OVERLAY_OPACITY = "bf"; // 75%
     }
 
+    /** Values for the loading screen */
+    public static final class kLoadingScreen {
+        public static final double[] BAR_POS = {300, 400};
+        public static final double BAR_WIDTH = 300;
+    }
+
     /** Values for the chart */
     public static final class kChart {
         public static final double WIDTH = 600;
@@ -234,4 +281,99 @@ public class Constants {
         public static final double WIDTH = 40;
         public static final double HEIGHT = 60;
     }
+
+    /** Values specifically for moving platforms. */
+    public static final class kMover {
+        public static final String COLOR = "#6f8385"; // platform color, darker than concrete
+
+        public static final double CORNER_RADIUS = 4.0;
+
+        public static final double DEFAULT_SPEED = 100.0; // px/s along a path
+        public static final double DEFAULT_GLIDE = 0.3; // seconds to reach the next waypoint on a beat
+
+        public static final double FAT_MARGIN = 16.0; // broadphase box enlargement on each side
+        public static final double FAT_PREDICT = 4.0; // extra enlargement along the motion, in moves
+    }
+
+    /** Values specifically for actors. */
+    public static final class kActor {
+        // sizes
+        public static final double HAZARD_SIZE = 16;
+        public static final double COLLECTIBLE_SIZE = 12;
+        public static final double WANDERER_WIDTH = 20;
+        public static final double WANDERER_HEIGHT = 20;
+
+        public static final String COLOR_HAZARD = "#b5483e";
+        public static final String COLOR_COLLECTIBLE = "#e0b64a";
+        public static final String COLOR_WANDERER = "#4a6fa5";
+
+        public static final double GRAVITY = 1500.0; // same pull as the player
+        public static final double DEFAULT_SPEED = 80.0; // px/s of hazards and wanderers without a set velocity
+        public static final double RESPAWN_GRACE = 1.0; // seconds hazards ignore a respawned player, so one at the spawn can't chain deaths
+    }
+
+    /** Values for sprite animations, sheets are atlas sprites named base_0.png, base_1.png and so on */
+    public static final class kAnimation {
+        public static final double BLOCK_PULSE_FPS = 8; // block_<state>_<size> sheets, in step across all Blocks
+        public static final double TILE_PRESS_FPS = 24; // tile_<letter>_press sheets, played once per note
+        public static final double PLAYER_RUN_FPS = 12; // player_run_<l|r> sheets
+        public static final double PLAYER_RUN_MIN_STEP = 0.5; // px moved sideways in a tick to count as running
+    }
+
+    /** Values for particle effects. */
+    public static final class kParticles {
+        public static final int CAPACITY = 1024; // live particles at most, bursts past it are cut short
+
+        public static final double GRAVITY = 900.0; // px/s^2 pull on bursts that fall
+        public static final double MAX_STEP = 0.1; // seconds, longest step after a stalled frame
+
+        // tile hits, a small spray off the top of the tile
+        public static final int TILE_COUNT = 10;
+        public static final double TILE_SPEED = 140.0;
+        public static final double TILE_SPREAD = Math.PI; // radians around straight up
+        public static final double TILE_LIFE = 0.45;
+        public static final double TILE_SIZE = 3;
+        public static final String TILE_COLOR = "#ffaa80";
+
+        // deaths, a burst where the player was last drawn
+        public static final int DEATH_COUNT = 48;
+        public static final double DEATH_SPEED = 320.0;
+        public static final double DEATH_SPREAD = 2 * Math.PI;
+        public static final double DEATH_LIFE = 0.8;
+        public static final double DEATH_SIZE = 4;
+        public static final String DEATH_COLOR = "#333333";
+
+        // key pickups, a ring around the HUD key
+        public static final int KEY_COUNT = 24;
+        public static final double KEY_SPEED = 90.0;
+        public static final double KEY_SPREAD = 2 * Math.PI;
+        public static final double KEY_LIFE = 0.6;
+        public static final double KEY_SIZE = 3;
+        public static final String KEY_COLOR = "#e0b64a";
+    }
+
+    /** Values for the sprite atlas. */
+    public static final class kAtlas {
+        public static final String INDEX = "/atlas/index.json"; // written by game.tools.AtlasPacker at build time
+        public static final String SPRITES = "/sprites/"; // individual sprite files, the fallback when not packed
+
+        public static final int PAGE_SIZE = 1024; // side length of one atlas page
+        public static final int PADDING = 2; // pixels around each sprite, the inner one repeats its edge
+        public static final String[] SKIPPED = {"bg"}; // sprite folders kept as separate files, full screen images
+    }
+
+    /** Values for the asset manager. */
+    public static final class kAssets {
+        public static final long BUDGET = 256L << 20; // estimated bytes of decoded assets kept cached, --asset-budget=<MB> to change
+        public static final String MUSIC = "/music/"; // wav files here load as AudioCues, others as AudioClips
+        public static final String NOTES = "/sfx/notes/"; // tile sounds, <clef>_<note>.wav
+
+        // decoded before the home screen, with tile sounds and atlas pages
+        public static final String[] MANIFEST = {
+            "/sprites/bg/bg_blank.png", "/sprites/bg/bg_guide.png", "/sprites/bg/bg_settings.png",
+            "/fonts/Nepomuk-Italic.otf", "/fonts/Nepomuk-Regular.otf",
+            "/sfx/click.wav", "/sfx/complete.wav",
+            "/music/homescreen.wav", "/music/gameloop_intro.wav", "/music/gameloop_main.wav", "/music/gameloop_castanet.wav"
+        };
+    }
 }
@@ -1,12 +1,20 @@
 package game;
 
 import game.screen.*;
+import game.Constants.kAssets;
+import game.Constants.kGameScreen;
 import game.Constants.kWindow;
+import game.element.Clef;
+import game.element.SpriteAtlas;
+import game.element.WorldRenderer;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class Game extends Application {
     private ScreenManager screenManager;
 
@@ -18,6 +26,25 @@ public class Game extends Application {
 	public void start(Stage stage) {
 		if (getClass().getResource("/coconut.png") == null) { Platform.exit(); return; } // thanks matt
 
+		GameSession session = GameSession.getDefault(); // the one session of the desktop app
+		session.setFixedPoint(getParameters().getRaw().contains("--fixed-point")); // deterministic physics
+		session.setWorldRenderer(WorldRenderer.fromArgs(getParameters().getRaw())); // --renderer=chunks to paint platforms
+		session.setFrameTimes(getParameters().getRaw().contains("--frame-times")); // print frame times when leaving a level
+
+		for (String arg : getParameters().getRaw()) { // --asset-budget=<MB> to bound cached assets
+			if (arg.startsWith("--asset-budget=")) {
+				try {
+					AssetManager.setBudget(Long.parseLong(arg.substring("--asset-budget=".length())) << 20);
+				} catch (Exception ignored) {}
+			}
+			if (arg.startsWith("--players=")) { // --players=2 for split screen, WASD and the arrows
+				try {
+					int players = Integer.parseInt(arg.substring("--players=".length()));
+					session.setPlayers(Math.max(1, Math.min(kGameScreen.MAX_PLAYERS, players)));
+				} catch (Exception ignored) {}
+			}
+		}
+
 		// game.screens.Screen manager root
 		screenManager = new ScreenManager(kWindow.WIDTH, kWindow.HEIGHT);
 
@@ -26,12 +53,28 @@ public class Game extends Application {
 		Scene scene = new Scene(screenManager.getRoot());
 		input.attach(scene);
 
-		// Create screens
-        HomeScreen homeScreen = new HomeScreen(screenManager, kWindow.WIDTH, kWindow.HEIGHT);
-        SettingsScreen settingsScreen = new SettingsScreen(screenManager, kWindow.WIDTH, kWindow.HEIGHT);
-        GuideScreen guideScreen = new GuideScreen(screenManager, kWindow.WIDTH, kWindow.HEIGHT);
-		GameScreen gameScreen = new GameScreen(screenManager, input, kWindow.WIDTH, kWindow.HEIGHT);
-		EndScreen endScreen = new EndScreen(screenManager, kWindow.WIDTH, kWindow.HEIGHT);
+		// decode assets before the screens using them are built
+		LoadingScreen loadingScreen = new LoadingScreen(
+			AssetManager.preload(manifest()),
+			() -> createScreens(session, input),
+			kWindow.WIDTH, kWindow.HEIGHT
+		);
+		screenManager.addScreen(ScreenType.LOADING, loadingScreen);
+		screenManager.switchTo(ScreenType.LOADING);
+
+		stage.setResizable(false);
+		stage.setScene(scene);
+		stage.setTitle("Up the Octave");
+		stage.show();
+	}
+
+	/** Create screens once assets are loaded and show the home screen */
+	private void createScreens(GameSession session, InputHandler input) {
+        HomeScreen homeScreen = new HomeScreen(screenManager, session, kWindow.WIDTH, kWindow.HEIGHT);
+        SettingsScreen settingsScreen = new SettingsScreen(screenManager, session, kWindow.WIDTH, kWindow.HEIGHT);
+        GuideScreen guideScreen = new GuideScreen(screenManager, session, kWindow.WIDTH, kWindow.HEIGHT);
+		GameScreen gameScreen = new GameScreen(screenManager, session, input, kWindow.WIDTH, kWindow.HEIGHT);
+		EndScreen endScreen = new EndScreen(screenManager, session, kWindow.WIDTH, kWindow.HEIGHT);
 
 		screenManager.addScreen(ScreenType.HOME, homeScreen);
         screenManager.addScreen(ScreenType.SETTINGS, settingsScreen);
@@ -40,11 +83,21 @@ public class Game extends Application {
 		screenManager.addScreen(ScreenType.END, endScreen);
 
 		screenManager.switchTo(ScreenType.HOME);
+	}
 
-		stage.setResizable(false);
-		stage.setScene(scene);
-		stage.setTitle("Up the Octave");
-		stage.show();
+	/** Assets to decode at startup: screen assets, every tile sound and the atlas pages */
+	private static List<String> manifest() {
+		List<String> paths = new ArrayList<>(List.of(kAssets.MANIFEST));
+		for (Clef clef : Clef.values()) {
+			List<String> notes = switch (clef) {
+				case TREBLE -> Constants.ORDERED_NOTES_TREBLE;
+				case ALTO -> Constants.ORDERED_NOTES_ALTO;
+				case BASS -> Constants.ORDERED_NOTES_BASS;
+			};
+			for (String note : notes) paths.add(kAssets.NOTES + clef.name().toLowerCase() + "_" + note + ".wav");
+		}
+		paths.addAll(SpriteAtlas.getPagePaths());
+		return paths;
 	}
 
     @Override
@@ -0,0 +1,129 @@
+package game;
+
+import game.element.WorldRenderer;
+
+/**
+ * Settings and in-game values of one game session, handed to the screens and elements that use them.
+ * The desktop app uses the {@link #getDefault() default session}, headless runs create one each
+ * so any number of sessions can run side by side in one JVM.
+ */
+public class GameSession {
+    private static final GameSession DEFAULT = new GameSession();
+
+    /** Volume at which music will be played, range from 0.0 to 1.0 */
+    private volatile double musicVolume = 1.0; // read by audio listener threads
+
+    /** Volume at which sound effects will be played, range from 0.0 to 1.0 */
+    private volatile double sfxVolume = 1.0;
+
+    /** Current number of deaths */
+    private int deaths = 0;
+
+    /** Current time of timer in seconds */
+    private int currentTime = 0;
+
+    /** Lowest time of timer in seconds */
+    private int bestTime = 0;
+
+    /** Whether player physics runs in deterministic fixed point mode */
+    private boolean fixedPoint = false;
+
+    /** How static platforms are drawn */
+    private WorldRenderer worldRenderer = WorldRenderer.NODES;
+
+    /** Number of local players, more than one splits the screen */
+    private int players = 1;
+
+    /** Whether frame times are recorded and printed when leaving a level */
+    private boolean frameTimes = false;
+
+    /** Get the session of the desktop app */
+    public static GameSession getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Store the result of a completed level, keeping the best time
+     * @param deaths number of deaths
+     * @param time completion time in seconds
+     */
+    public void recordRun(int deaths, int time) {
+        this.deaths = deaths;
+        currentTime = time;
+        bestTime = bestTime != 0 // as long as not first game
+            ? Math.min(bestTime, time) // either existing best time or new current time
+            : time; // set to current time no matter what
+    }
+
+    public double getMusicVolume() {
+        return musicVolume;
+    }
+
+    public double getSfxVolume() {
+        return sfxVolume;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public int getCurrentTime() {
+        return currentTime;
+    }
+
+    public int getBestTime() {
+        return bestTime;
+    }
+
+    public boolean isFixedPoint() {
+        return fixedPoint;
+    }
+
+    public WorldRenderer getWorldRenderer() {
+        return worldRenderer;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public boolean isFrameTimes() {
+        return frameTimes;
+    }
+
+    public void setMusicVolume(double musicVolume) {
+        this.musicVolume = musicVolume;
+    }
+
+    public void setSfxVolume(double sfxVolume) {
+        this.sfxVolume = sfxVolume;
+    }
+
+    public void setDeaths(int deaths) {
+        this.deaths = deaths;
+    }
+
+    public void setCurrentTime(int currentTime) {
+        this.currentTime = currentTime;
+    }
+
+    public void setBestTime(int bestTime) {
+        this.bestTime = bestTime;
+    }
+
+    public void setFixedPoint(boolean fixedPoint) {
+        this.fixedPoint = fixedPoint;
+    }
+
+    public void setWorldRenderer(WorldRenderer worldRenderer) {
+        this.worldRenderer = worldRenderer;
+    }
+
+    public void setPlayers(int players) {
+        this.players = players;
+    }
+
+    public void setFrameTimes(boolean frameTimes) {
+        this.frameTimes = frameTimes;
+    }
+}
@@ -1,14 +1,39 @@
 package game;
 
+import game.sim.InputSource;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 
-public class InputHandler {
-    private boolean left = false;
-    private boolean right = false;
-    private boolean jump = false;
-    private boolean up = false;
-    private boolean down = false;
+/**
+ * Held keys of the scene. Alone, WASD, the arrows and space all steer the one player;
+ * in split screen {@link #getPlayer(int) player 0} uses WASD and space and player 1 the arrows.
+ */
+public class InputHandler implements InputSource {
+    /** Held movement keys of one split screen player */
+    public static class PlayerKeys implements InputSource {
+        private volatile boolean left = false;
+        private volatile boolean right = false;
+        private volatile boolean jump = false;
+
+        @Override
+        public boolean isLeft() { return left; }
+
+        @Override
+        public boolean isRight() { return right; }
+
+        @Override
+        public boolean isJump() { return jump; }
+    }
+
+    private final PlayerKeys wasd = new PlayerKeys();
+    private final PlayerKeys arrows = new PlayerKeys();
+
+    // written on the FX thread, volatile so the simulation thread reads them fresh
+    private volatile boolean left = false;
+    private volatile boolean right = false;
+    private volatile boolean jump = false;
+    private volatile boolean up = false;
+    private volatile boolean down = false;
 
     /**
      * @param scene target scene
@@ -21,6 +46,7 @@ public class InputHandler {
             if (k == KeyCode.SPACE || k == KeyCode.W || k == KeyCode.UP) jump = true;
             if (k == KeyCode.W || k == KeyCode.UP) up = true;
             if (k == KeyCode.S || k == KeyCode.DOWN) down = true;
+            setPlayerKey(k, true);
         });
 
         scene.setOnKeyReleased(e -> {
@@ -30,16 +56,44 @@ public class InputHandler {
             if (k == KeyCode.SPACE || k == KeyCode.W || k == KeyCode.UP) jump = false;
             if (k == KeyCode.W || k == KeyCode.UP) up = false;
             if (k == KeyCode.S || k == KeyCode.DOWN) down = false;
+            setPlayerKey(k, false);
         });
     }
 
+    private void setPlayerKey(KeyCode k, boolean held) {
+        if (k == KeyCode.A) wasd.left = held;
+        if (k == KeyCode.D) wasd.right = held;
+        if (k == KeyCode.SPACE || k == KeyCode.W) wasd.jump = held;
+        if (k == KeyCode.LEFT) arrows.left = held;
+        if (k == KeyCode.RIGHT) arrows.right = held;
+        if (k == KeyCode.UP) arrows.jump = held;
+    }
+
+    /** Forget every held key, i.e. when releases may be missed while the window is in the background */
+    public void releaseAll() {
+        left = right = jump = up = down = false;
+        wasd.left = wasd.right = wasd.jump = false;
+        arrows.left = arrows.right = arrows.jump = false;
+    }
+
+    /**
+     * Get the keys of one split screen player
+     * @param player 0 for WASD and space, 1 for the arrows
+     */
+    public InputSource getPlayer(int player) {
+        return player == 0 ? wasd : arrows;
+    }
+
     /** @return true when left pressed */
+    @Override
     public boolean isLeft() { return left; }
 
     /** @return true when right pressed */
+    @Override
     public boolean isRight() { return right; }
 
     /** @return true when jump pressed */
+    @Override
     public boolean isJump() { return jump; }
 
     /** @return true when up pressed */
@@ -29,6 +29,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -65,6 +66,10 @@ public class LevelEditor extends Application implements Screen {
     private final double CAMERA_SPEED = kEditor.CAMERA_SPEED;
 
     private final List<javafx.scene.Node> placedPlatforms = new ArrayList<>();
+    private final Map<Mover, JsonObject> moverData = new HashMap<>(); // loaded movers' paths and timing, written back on save
+    private JsonArray actorData = new JsonArray(); // loaded actors, not placeable here and written back as is
+    private JsonArray regionData = null; // loaded activation rooms, written back as is when present
+    private JsonArray killZoneData = null; // loaded kill zones, written back as is when present
     private Rectangle boundsRect = null;
 
     /**
@@ -338,7 +343,7 @@ public class LevelEditor extends Application implements Screen {
                     addPlatform(b);
                 } else if (currentTool == Tool.PLACE_TILE) {
                     String noteStr = selectedNote;
-                    Tile t = new Tile((int)px, (int)py, selectedClef, noteStr);
+                    Tile t = new Tile((int)px, (int)py, selectedClef, noteStr, GameSession.getDefault());
                     addPlatform(t);
                 } else if (currentTool == Tool.PLACE_EXIT) {
                     Exit e = new Exit((int)px, (int)py);
@@ -370,6 +375,10 @@ public class LevelEditor extends Application implements Screen {
     private void clearWorld() {
         world.getChildren().clear();
         placedPlatforms.clear();
+        moverData.clear();
+        actorData = new JsonArray();
+        regionData = null;
+        killZoneData = null;
         if (boundsRect != null) {
             boundsRect = null;
         }
@@ -386,6 +395,7 @@ public class LevelEditor extends Application implements Screen {
         JsonArray tilesArr = new JsonArray();
         JsonArray roomsArr = new JsonArray();
         JsonArray exitsArr = new JsonArray();
+        JsonArray moversArr = new JsonArray();
 
         for (var n : placedPlatforms) {
             if (n instanceof EditorBlock eb) { // *** CHECKING FOR EDITORBLOCK ***
@@ -427,6 +437,11 @@ public class LevelEditor extends Application implements Screen {
                 o.addProperty("x", (int)d.getX());
                 o.addProperty("y", (int)d.getY());
                 exitsArr.add(o);
+            } else if (n instanceof Mover m) { // before RectPlatform, movers are not concrete
+                JsonObject o = moverData.get(m).deepCopy();
+                o.addProperty("x", (int)m.getX());
+                o.addProperty("y", (int)m.getY());
+                moversArr.add(o);
             } else if (n instanceof RectPlatform p) {
                 JsonObject o = new JsonObject();
                 o.addProperty("x", (int)p.getX());
@@ -442,6 +457,10 @@ public class LevelEditor extends Application implements Screen {
         rootObj.add("tiles", tilesArr);
         rootObj.add("rooms", roomsArr);
         rootObj.add("exits", exitsArr);
+        rootObj.add("movers", moversArr);
+        rootObj.add("actors", actorData.deepCopy());
+        if (regionData != null) rootObj.add("regions", regionData.deepCopy());
+        if (killZoneData != null) rootObj.add("killZones", killZoneData.deepCopy());
 
         try {
             Path out = Path.of("src/main/resources/map.json");
@@ -496,7 +515,7 @@ public class LevelEditor extends Application implements Screen {
             String clef = obj.get("clef").getAsString();
             String note = obj.get("note").getAsString();
             Clef clefEnum = Clef.valueOf(clef.toUpperCase());
-            Tile mp = new Tile(x, y, clefEnum, note);
+            Tile mp = new Tile(x, y, clefEnum, note, GameSession.getDefault());
             addPlatform(mp);
         }
 
@@ -519,6 +538,24 @@ public class LevelEditor extends Application implements Screen {
             ClefMarker cmp = new ClefMarker(x, y, clef);
             addPlatform(cmp);
         }
+
+        // movers are shown at their start and kept as loaded, paths are edited in map.json
+        JsonArray moversArr = branch.has("movers") ? branch.getAsJsonArray("movers") : new JsonArray();
+        for (var el : moversArr) {
+            var obj = el.getAsJsonObject();
+            int x = obj.get("x").getAsInt();
+            int y = obj.get("y").getAsInt();
+            int w = obj.get("width").getAsInt();
+            int h = obj.get("height").getAsInt();
+            Mover m = new Mover(x, y, w, h);
+            moverData.put(m, obj);
+            addPlatform(m);
+        }
+
+        // actors are edited in map.json
+        if (branch.has("actors")) actorData = branch.getAsJsonArray("actors");
+        if (branch.has("regions")) regionData = branch.getAsJsonArray("regions");
+        if (branch.has("killZones")) killZoneData = branch.getAsJsonArray("killZones");
     }
 
     /**
@@ -2,6 +2,7 @@ package game;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import game.screen.ScreenType;
 import game.screen.Screen;
@@ -56,8 +57,12 @@ public class ScreenManager {
         currScreen = id;
     }
 
-    /** Replace whole root with the requested screen and send previous screen snapshot to next */
-    public void switchTo(ScreenType id, Image previousScreen) {
+    /**
+     * Replace whole root with the requested screen and send it the previous screen's picture once that is ready
+     * @param id next screen
+     * @param previousScreen picture of the previous screen, completed on the FX thread
+     */
+    public void switchTo(ScreenType id, CompletableFuture<Image> previousScreen) {
         Screen next = screens.get(id); // get next
 
         if (next == null) return; // check if next is invalid
@@ -70,8 +75,11 @@ public class ScreenManager {
         Parent p = next.getRoot();
         if (p != null) root.getChildren().add(p); // add next screen's root to manager's root
         next.onEnter();
-        next.supplyBackground(previousScreen); // give previous screen image to next
         currScreen = id;
+
+        previousScreen.thenAccept(image -> { // give previous screen image to next, unless already left
+            if (currScreen == id) next.supplyBackground(image);
+        });
     }
 
     /** Manually force an exit call on the current screen */
@@ -0,0 +1,47 @@
+package game.actor;
+
+import game.Constants.kActor;
+
+/** Enum of actor kinds, with their size and how they move */
+public enum ActorKind {
+    /** Kills the player on touch, flies straight and bounces off platforms */
+    HAZARD(kActor.HAZARD_SIZE, kActor.HAZARD_SIZE, false, true, true),
+    /** Taken on touch, floats in place */
+    COLLECTIBLE(kActor.COLLECTIBLE_SIZE, kActor.COLLECTIBLE_SIZE, false, false, false),
+    /** Walks along platforms under gravity, turning at walls */
+    WANDERER(kActor.WANDERER_WIDTH, kActor.WANDERER_HEIGHT, true, true, false);
+
+    private final double width;
+    private final double height;
+    private final boolean gravity;
+    private final boolean bounceX; // reverse instead of stopping when hitting a platform side
+    private final boolean bounceY; // reverse instead of stopping when hitting a platform top or bottom
+
+    ActorKind(double width, double height, boolean gravity, boolean bounceX, boolean bounceY) {
+        this.width = width;
+        this.height = height;
+        this.gravity = gravity;
+        this.bounceX = bounceX;
+        this.bounceY = bounceY;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    public boolean hasGravity() {
+        return gravity;
+    }
+
+    public boolean bouncesX() {
+        return bounceX;
+    }
+
+    public boolean bouncesY() {
+        return bounceY;
+    }
+}
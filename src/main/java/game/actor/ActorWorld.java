@@ -0,0 +1,236 @@
+package game.actor;
+
+import java.util.Arrays;
+
+/**
+ * Dynamic entities with their components in packed parallel arrays, indices 0 to size - 1 are all live.
+ * Despawning moves the last actor into the freed index, so systems iterate plain arrays without gaps;
+ * handles stay valid across these moves and are the only stable way to refer to one actor within its world.
+ */
+public class ActorWorld {
+    // components, index is actor index
+    private int count = 0;
+    private byte[] kind = new byte[64]; // ActorKind ordinal
+    private double[] x = new double[64]; // top left corner
+    private double[] y = new double[64];
+    private double[] maxX = new double[64]; // bottom right corner, x plus the kind's size, kept by every system moving actors
+    private double[] maxY = new double[64];
+    private double[] prevX = new double[64]; // position before the last tick, for render interpolation
+    private double[] prevY = new double[64];
+    private double[] vx = new double[64]; // px/s
+    private double[] vy = new double[64];
+    private int[] handles = new int[64]; // handle of each actor
+    private int[] regionCell = new int[64]; // activation grid cell the region was looked up in, -1 if never
+    private int[] regionSlot = new int[64]; // activation slot of that cell, -1 if it has to be looked up per point
+
+    // handle to index, -1 for despawned handles
+    private int[] indices = new int[64];
+    private int handleCount = 0;
+    private int[] freeHandles = new int[64];
+    private int freeCount = 0;
+
+    private static final ActorKind[] KINDS = ActorKind.values();
+
+    /**
+     * Add an actor
+     * @param type actor kind
+     * @param x top left x
+     * @param y top left y
+     * @param vx horizontal velocity in px/s
+     * @param vy vertical velocity in px/s
+     * @return handle of the actor
+     */
+    public int spawn(ActorKind type, double x, double y, double vx, double vy) {
+        if (count == kind.length) { // grow
+            int cap = count * 2;
+            kind = Arrays.copyOf(kind, cap);
+            this.x = Arrays.copyOf(this.x, cap);
+            this.y = Arrays.copyOf(this.y, cap);
+            maxX = Arrays.copyOf(maxX, cap);
+            maxY = Arrays.copyOf(maxY, cap);
+            prevX = Arrays.copyOf(prevX, cap);
+            prevY = Arrays.copyOf(prevY, cap);
+            this.vx = Arrays.copyOf(this.vx, cap);
+            this.vy = Arrays.copyOf(this.vy, cap);
+            handles = Arrays.copyOf(handles, cap);
+            regionCell = Arrays.copyOf(regionCell, cap);
+            regionSlot = Arrays.copyOf(regionSlot, cap);
+        }
+
+        int handle;
+        if (freeCount > 0) handle = freeHandles[--freeCount]; // reuse
+        else {
+            if (handleCount == indices.length) indices = Arrays.copyOf(indices, handleCount * 2);
+            handle = handleCount++;
+        }
+
+        int i = count++;
+        kind[i] = (byte) type.ordinal();
+        this.x[i] = prevX[i] = x;
+        this.y[i] = prevY[i] = y;
+        maxX[i] = x + type.getWidth();
+        maxY[i] = y + type.getHeight();
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        handles[i] = handle;
+        regionCell[i] = -1;
+        regionSlot[i] = -1;
+        indices[handle] = i;
+        return handle;
+    }
+
+    /**
+     * Remove the actor at an index, the last actor takes its place
+     * @param i actor index
+     */
+    public void despawnAt(int i) {
+        int handle = handles[i];
+        int last = --count;
+
+        if (i != last) { // move last into the gap
+            kind[i] = kind[last];
+            x[i] = x[last];
+            y[i] = y[last];
+            maxX[i] = maxX[last];
+            maxY[i] = maxY[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            handles[i] = handles[last];
+            regionCell[i] = regionCell[last];
+            regionSlot[i] = regionSlot[last];
+            indices[handles[i]] = i;
+        }
+
+        indices[handle] = -1;
+        if (freeCount == freeHandles.length) freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        freeHandles[freeCount++] = handle;
+    }
+
+    /**
+     * Remove an actor
+     * @param handle handle from {@link #spawn}
+     */
+    public void despawn(int handle) {
+        if (handle >= 0 && handle < handleCount && indices[handle] >= 0) despawnAt(indices[handle]);
+    }
+
+    /**
+     * Move an actor into another world, keeping its kind, position and velocity
+     * @param i actor index
+     * @param to receiving world
+     * @return handle of the actor in the receiving world
+     */
+    public int transfer(int i, ActorWorld to) {
+        int handle = to.spawn(KINDS[kind[i]], x[i], y[i], vx[i], vy[i]);
+        despawnAt(i);
+        return handle;
+    }
+
+    /**
+     * Get the current index of an actor
+     * @param handle handle from {@link #spawn}
+     * @return actor index, or -1 if despawned
+     */
+    public int indexOf(int handle) {
+        return indices[handle];
+    }
+
+    /** Get number of live actors */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Copy positions for drawing, floats are plenty on screen and halve the copy
+     * @param out x, y, previous x, previous y of every actor, at least 4 per actor
+     */
+    public void copyPositions(float[] out) {
+        for (int i = 0; i < count; i++) {
+            out[i * 4] = (float) x[i];
+            out[i * 4 + 1] = (float) y[i];
+            out[i * 4 + 2] = (float) prevX[i];
+            out[i * 4 + 3] = (float) prevY[i];
+        }
+    }
+
+    /**
+     * Copy kinds for drawing
+     * @param out ActorKind ordinal of every actor, at least 1 per actor
+     */
+    public void copyKinds(byte[] out) {
+        System.arraycopy(kind, 0, out, 0, count);
+    }
+
+    public ActorKind getKind(int i) {
+        return KINDS[kind[i]];
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    /** Get activation grid cell of the cached region, -1 if none is cached */
+    public int getRegionCell(int i) {
+        return regionCell[i];
+    }
+
+    /** Get cached activation slot, -1 if the cell spans several and the slot has to be looked up per point */
+    public int getRegionSlot(int i) {
+        return regionSlot[i];
+    }
+
+    /**
+     * Cache the activation slot of the cell an actor is in
+     * @param i actor index
+     * @param cell activation grid cell
+     * @param slot slot of every point of the cell, or -1
+     */
+    public void setRegion(int i, int cell, int slot) {
+        regionCell[i] = cell;
+        regionSlot[i] = slot;
+    }
+
+    // raw component arrays for systems, valid up to size() until the next spawn
+
+    byte[] kinds() {
+        return kind;
+    }
+
+    double[] xs() {
+        return x;
+    }
+
+    double[] ys() {
+        return y;
+    }
+
+    double[] maxXs() {
+        return maxX;
+    }
+
+    double[] maxYs() {
+        return maxY;
+    }
+
+    double[] prevXs() {
+        return prevX;
+    }
+
+    double[] prevYs() {
+        return prevY;
+    }
+
+    double[] vxs() {
+        return vx;
+    }
+
+    double[] vys() {
+        return vy;
+    }
+}
@@ -0,0 +1,73 @@
+package game.actor;
+
+import game.Constants.kLevel;
+import game.physics.CollisionWorld;
+
+/**
+ * Pushes moved actors out of the platforms they ran into, one axis at a time like the player,
+ * and removes actors that fell off the map. Steps are assumed short enough not to pass through a platform.
+ */
+public class LevelCollisionSystem {
+    private static final ActorKind[] KINDS = ActorKind.values();
+
+    /**
+     * Resolve actors against solid platforms
+     * @param actors actors, already moved this tick
+     * @param world collision world of the level
+     */
+    public void update(ActorWorld actors, CollisionWorld world) {
+        byte[] kind = actors.kinds();
+        double[] x = actors.xs(), y = actors.ys();
+        double[] maxX = actors.maxXs(), maxY = actors.maxYs();
+        double[] prevX = actors.prevXs(), prevY = actors.prevYs();
+        double[] vx = actors.vxs(), vy = actors.vys();
+
+        for (int i = actors.size() - 1; i >= 0; i--) { // backwards, so a despawn only moves an already resolved actor
+            if (y[i] > kLevel.BOTTOM_BORDER) {
+                actors.despawnAt(i);
+                continue;
+            }
+
+            double dx = x[i] - prevX[i], dy = y[i] - prevY[i];
+            if (dx == 0 && dy == 0) continue; // resting actors never collide anew
+
+            ActorKind k = KINDS[kind[i]];
+            double w = k.getWidth(), h = k.getHeight();
+
+            int candidates = world.query(
+                Math.min(prevX[i], x[i]), Math.min(prevY[i], y[i]),
+                Math.max(prevX[i], x[i]) + w, Math.max(prevY[i], y[i]) + h
+            );
+
+            // x first at the previous height
+            for (int c = 0; c < candidates; c++) {
+                int p = world.getCandidate(c);
+                if (!world.isActive(p) || !overlaps(world, p, x[i], prevY[i], w, h)) continue;
+
+                if (dx > 0) x[i] = world.getMinX(p) - w;
+                else if (dx < 0) x[i] = world.getMaxX(p);
+                vx[i] = k.bouncesX() ? -vx[i] : 0;
+                break;
+            }
+
+            // then y at the resolved x
+            for (int c = 0; c < candidates; c++) {
+                int p = world.getCandidate(c);
+                if (!world.isActive(p) || !overlaps(world, p, x[i], y[i], w, h)) continue;
+
+                if (dy > 0) y[i] = world.getMinY(p) - h;
+                else if (dy < 0) y[i] = world.getMaxY(p);
+                vy[i] = k.bouncesY() ? -vy[i] : 0;
+                break;
+            }
+
+            maxX[i] = x[i] + w;
+            maxY[i] = y[i] + h;
+        }
+    }
+
+    /** Whether a platform intersects a box, touching edges excluded so resting actors stay free */
+    private static boolean overlaps(CollisionWorld world, int p, double x, double y, double w, double h) {
+        return world.getMaxX(p) > x && world.getMaxY(p) > y && world.getMinX(p) < x + w && world.getMinY(p) < y + h;
+    }
+}
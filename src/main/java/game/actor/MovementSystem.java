@@ -0,0 +1,32 @@
+package game.actor;
+
+import game.Constants.kActor;
+
+/** Applies gravity and velocity to every actor, remembering where each was for interpolation */
+public class MovementSystem {
+    private static final ActorKind[] KINDS = ActorKind.values();
+
+    /**
+     * Move all actors by one tick, platforms are resolved afterward by {@link LevelCollisionSystem}
+     * @param actors actors
+     * @param dt delta time in seconds
+     */
+    public void update(ActorWorld actors, double dt) {
+        byte[] kind = actors.kinds();
+        double[] x = actors.xs(), y = actors.ys();
+        double[] maxX = actors.maxXs(), maxY = actors.maxYs();
+        double[] prevX = actors.prevXs(), prevY = actors.prevYs();
+        double[] vx = actors.vxs(), vy = actors.vys();
+
+        for (int i = 0; i < actors.size(); i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+
+            if (KINDS[kind[i]].hasGravity()) vy[i] += kActor.GRAVITY * dt;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            maxX[i] = x[i] + KINDS[kind[i]].getWidth();
+            maxY[i] = y[i] + KINDS[kind[i]].getHeight();
+        }
+    }
+}
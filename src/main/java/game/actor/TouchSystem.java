@@ -0,0 +1,59 @@
+package game.actor;
+
+import game.physics.OverlapKernel;
+import game.physics.OverlapKernels;
+
+/**
+ * Finds actors touching the player: collectibles are taken, hazards are reported.
+ * Every actor's box is tested at once by the fastest available {@link OverlapKernel}, only hits are visited.
+ */
+public class TouchSystem {
+    private int collected = 0;
+    private boolean hazardTouched = false;
+    private long[] mask = new long[1]; // hit bit per actor index
+
+    private final OverlapKernel kernel = OverlapKernels.best();
+
+    private static final byte HAZARD = (byte) ActorKind.HAZARD.ordinal();
+    private static final byte COLLECTIBLE = (byte) ActorKind.COLLECTIBLE.ordinal();
+
+    /**
+     * Check every actor against the player's box
+     * @param actors actors
+     * @param minX player left
+     * @param minY player top
+     * @param maxX player right
+     * @param maxY player bottom
+     */
+    public void update(ActorWorld actors, double minX, double minY, double maxX, double maxY) {
+        byte[] kind = actors.kinds();
+        int n = actors.size();
+
+        hazardTouched = false;
+        if (n == 0) return;
+
+        if (mask.length < (n + 63) >>> 6) mask = new long[Math.max((n + 63) >>> 6, mask.length * 2)];
+        if (kernel.overlaps(actors.xs(), actors.ys(), actors.maxXs(), actors.maxYs(), 0, n, minX, minY, maxX, maxY, mask) == 0) return;
+
+        for (int w = (n - 1) >>> 6; w >= 0; w--) { // backwards, so a despawn only moves an already checked actor
+            for (long bits = mask[w]; bits != 0; bits &= ~(1L << (63 - Long.numberOfLeadingZeros(bits)))) {
+                int i = (w << 6) + 63 - Long.numberOfLeadingZeros(bits);
+
+                if (kind[i] == COLLECTIBLE) {
+                    actors.despawnAt(i);
+                    collected++;
+                } else if (kind[i] == HAZARD) hazardTouched = true;
+            }
+        }
+    }
+
+    /** Get number of collectibles taken so far */
+    public int getCollected() {
+        return collected;
+    }
+
+    /** Whether a hazard touched the player during the last update */
+    public boolean isHazardTouched() {
+        return hazardTouched;
+    }
+}
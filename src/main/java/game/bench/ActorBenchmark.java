@@ -0,0 +1,112 @@
+package game.bench;
+
+import game.Constants.kActor;
+import game.Constants.kGameScreen;
+import game.Constants.kPhysics;
+import game.Constants.kWindow;
+import game.GameSession;
+import game.actor.ActorKind;
+import game.actor.ActorWorld;
+import game.element.Clef;
+import game.physics.CollisionWorld;
+import game.sim.LevelData;
+import game.sim.LevelWorld;
+import game.sim.ScriptedInput;
+import game.sim.Simulation;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Times full simulation ticks of map.json with thousands of actors spread over the map,
+ * including the per tick copy of their positions for the screen, against the 60 fps frame budget.
+ * Drawing is not timed here, it runs on the FX thread in parallel.
+ * Run with {@code ./run-bench.sh ActorBenchmark}.
+ */
+public class ActorBenchmark {
+    private static final int[] SIZES = {1_000, 5_000, 20_000};
+    private static final int TICKS = 2_400;
+    private static final double FRAME_BUDGET_MS = 1000.0 / 60;
+    private static final int TICKS_PER_FRAME = kPhysics.TICK_RATE / 60;
+
+    private static long sink = 0; // keeps results alive
+
+    public static void main(String[] args) throws IOException {
+        LevelData data = LevelData.load(LevelData.MAP);
+
+        System.out.printf("%8s %12s %12s %12s %14s %10s%n", "actors", "mean us", "p99 us", "max us", "frame ms p99", "left");
+
+        for (int n : SIZES) {
+            run(data, n, TICKS); // warmup
+            long[] times = run(data, n, TICKS);
+            Arrays.sort(times);
+
+            double mean = Arrays.stream(times).average().orElse(0) / 1_000.0;
+            double p99 = times[(int) (times.length * 0.99)] / 1_000.0;
+            double max = times[times.length - 1] / 1_000.0;
+            double frameMs = p99 * TICKS_PER_FRAME / 1_000.0; // worst case ticks of one frame
+
+            System.out.printf(
+                "%8d %12.1f %12.1f %12.1f %14.3f %10s%n",
+                n, mean, p99, max, frameMs, frameMs < FRAME_BUDGET_MS ? "ok" : "OVER"
+            );
+        }
+        if (sink == 42) System.out.println();
+    }
+
+    /** Nanoseconds of every tick of one run */
+    private static long[] run(LevelData data, int n, int ticks) {
+        Map<Clef, String[]> melodies = new EnumMap<>(Clef.class);
+        melodies.put(Clef.TREBLE, kGameScreen.MELODY_TREBLE);
+        melodies.put(Clef.ALTO, kGameScreen.MELODY_ALTO);
+        melodies.put(Clef.BASS, kGameScreen.MELODY_BASS);
+
+        LevelWorld level = new LevelWorld(data);
+        ScriptedInput input = ScriptedInput.random(n, ticks);
+        Simulation simulation = new Simulation(new GameSession(), level, input, melodies, kWindow.WIDTH, kWindow.HEIGHT);
+        spawn(simulation.getActors(), level.getCollisionWorld(), n, new Random(n));
+
+        float[] positions = new float[simulation.getActors().size() * 4]; // actors only despawn from here
+        byte[] kinds = new byte[simulation.getActors().size()];
+        long[] times = new long[ticks];
+        for (int t = 0; t < ticks; t++) {
+            input.advance();
+
+            long t0 = System.nanoTime();
+            simulation.advance();
+            ActorWorld actors = simulation.getActors();
+            actors.copyPositions(positions); // what publishing copies
+            actors.copyKinds(kinds);
+            sink += positions[0] + kinds[0];
+            times[t] = System.nanoTime() - t0;
+        }
+        return times;
+    }
+
+    /** Spread actors of every kind over the level's bounds */
+    private static void spawn(ActorWorld actors, CollisionWorld world, int n, Random random) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int id = 0; id < world.size(); id++) {
+            minX = Math.min(minX, world.getMinX(id));
+            minY = Math.min(minY, world.getMinY(id));
+            maxX = Math.max(maxX, world.getMaxX(id));
+            maxY = Math.max(maxY, world.getMaxY(id));
+        }
+
+        ActorKind[] kinds = ActorKind.values();
+        for (int i = 0; i < n; i++) {
+            ActorKind kind = kinds[random.nextInt(kinds.length)];
+            double angle = random.nextDouble() * Math.PI * 2;
+            double speed = kind == ActorKind.COLLECTIBLE ? 0 : kActor.DEFAULT_SPEED;
+
+            actors.spawn(
+                kind,
+                minX + random.nextDouble() * (maxX - minX), minY + random.nextDouble() * (maxY - minY),
+                Math.cos(angle) * speed, kind == ActorKind.HAZARD ? Math.sin(angle) * speed : 0
+            );
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package game.bench;
+
+import game.Constants.kPhysics;
+import game.Constants.kPlayer;
+import game.physics.SpatialHash;
+import game.platform.Platform;
+import game.platform.types.Concrete;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the spatial hash broadphase against a linear scan of every platform,
+ * mirroring the two collision passes of a Player update.
+ * Run with {@code ./run-bench.sh CollisionBenchmark}.
+ */
+public class CollisionBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int QUERIES = 20_000;
+    private static final double SPACING = 200.0; // average distance between platforms
+
+    private static long sink = 0; // keeps results alive
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %14s %14s %10s%n", "platforms", "linear ns/op", "hash ns/op", "speedup");
+
+        for (int n : SIZES) {
+            Random rng = new Random(n);
+            double side = Math.sqrt(n) * SPACING; // keep density constant as the map grows
+
+            // platforms
+            List<Platform> platforms = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                platforms.add(new Concrete(
+                    rng.nextDouble() * side, rng.nextDouble() * side,
+                    20 + rng.nextInt(140), 12 + rng.nextInt(8)
+                ));
+            }
+
+            SpatialHash hash = new SpatialHash(kPhysics.HASH_CELL_SIZE);
+            for (int i = 0; i < n; i++) {
+                Platform p = platforms.get(i);
+                hash.insert(i, p.getX(), p.getY(), p.getX() + p.getWidth(), p.getY() + p.getHeight());
+            }
+            hash.build();
+
+            // player boxes
+            Bounds[] boxes = new Bounds[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                boxes[i] = new BoundingBox(rng.nextDouble() * side, rng.nextDouble() * side, kPlayer.WIDTH, kPlayer.HEIGHT);
+            }
+
+            // fewer linear iterations on large maps so the run stays short
+            int linearQueries = Math.max(200, QUERIES * 1_000 / n);
+
+            linear(platforms, boxes, linearQueries); // warmup
+            hashed(platforms, hash, boxes, QUERIES);
+
+            long t0 = System.nanoTime();
+            linear(platforms, boxes, linearQueries);
+            double linearNs = (System.nanoTime() - t0) / (double) linearQueries;
+
+            t0 = System.nanoTime();
+            hashed(platforms, hash, boxes, QUERIES);
+            double hashNs = (System.nanoTime() - t0) / (double) QUERIES;
+
+            System.out.printf("%10d %14.0f %14.0f %9.1fx%n", n, linearNs, hashNs, linearNs / hashNs);
+        }
+
+        if (sink == 42) System.out.println(); // never true in practice
+    }
+
+    /** Two full passes over every platform, as Player did before the broadphase */
+    private static void linear(List<Platform> platforms, Bounds[] boxes, int queries) {
+        for (int q = 0; q < queries; q++) {
+            Bounds box = boxes[q % boxes.length];
+            for (int pass = 0; pass < 2; pass++) {
+                for (Platform p : platforms) {
+                    if (box.intersects(p.getBoundsInParent())) sink++;
+                }
+            }
+        }
+    }
+
+    /** Two passes over only the platforms in the cells touched by the box */
+    private static void hashed(List<Platform> platforms, SpatialHash hash, Bounds[] boxes, int queries) {
+        for (int q = 0; q < queries; q++) {
+            Bounds box = boxes[q % boxes.length];
+            int candidates = hash.query(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY());
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < candidates; i++) {
+                    if (box.intersects(platforms.get(hash.getResult(i)).getBoundsInParent())) sink++;
+                }
+            }
+        }
+    }
+}
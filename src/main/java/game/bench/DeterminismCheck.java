@@ -0,0 +1,114 @@
+package game.bench;
+
+import game.Constants.kLevel;
+import game.Constants.kPlayer;
+import game.physics.CollisionWorld;
+import game.physics.FixedPlayerBody;
+import game.physics.PlayerBody;
+import game.sim.LevelData;
+import game.sim.LevelWorld;
+import game.sim.TriggerListener;
+import game.sim.TriggerVolumes;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Replays scripted inputs and Block toggles on map.json and prints a checksum of every trajectory.
+ * Fixed point runs must match each other here and match the printed checksums on any other JVM;
+ * floating point runs stepped on jittery frame times are shown for comparison.
+ * Run with {@code ./run-bench.sh DeterminismCheck}.
+ */
+public class DeterminismCheck {
+    private static final int RUNS = 50;
+    private static final int RUN_TICKS = 3_600;
+    private static final int BEAT_TICKS = 240; // ticks between scripted Block toggles
+    private static final double TICK = 1.0 / 120;
+
+    public static void main(String[] args) throws IOException {
+        LevelData data = LevelData.load(LevelData.MAP);
+
+        long fixedAll = 0;
+        int fixedMismatches = 0, floatMismatches = 0;
+
+        for (int r = 0; r < RUNS; r++) {
+            long a = fixedRun(data, r), b = fixedRun(data, r);
+            if (a != b) fixedMismatches++;
+            fixedAll = fixedAll * 31 + a;
+
+            if (floatRun(data, r, new Random(1)) != floatRun(data, r, new Random(2))) floatMismatches++;
+        }
+
+        System.out.printf("fixed point     %d runs of %d ticks, %d repeats diverged%n", RUNS, RUN_TICKS, fixedMismatches);
+        System.out.printf("fixed checksum  %016x%n", fixedAll);
+        System.out.printf("floating point  %d runs on jittery frames, %d diverged%n", RUNS, floatMismatches);
+    }
+
+    /** Hash of every subpixel position of a fixed point run */
+    private static long fixedRun(LevelData data, int seed) {
+        LevelWorld level = new LevelWorld(data);
+        CollisionWorld world = level.getCollisionWorld();
+        TriggerVolumes triggers = level.getTriggers();
+        FixedPlayerBody body = new FixedPlayerBody(kLevel.SPAWNPOINT[0], kLevel.SPAWNPOINT[1]);
+        triggers.addListener(new TriggerListener() {
+            @Override
+            public void volumeEntered(int id, byte kind) {
+                if (kind == TriggerVolumes.KILL) body.kill();
+            }
+        });
+        Script script = new Script(seed);
+
+        long hash = 17;
+        for (int t = 0; t < RUN_TICKS; t++) {
+            script.advance(t);
+            if (t > 0 && t % BEAT_TICKS == 0) world.toggleBlocks();
+
+            body.step(script.left, script.right, script.jump, world);
+            triggers.update(body.getX(), body.getY(), body.getX() + kPlayer.WIDTH, body.getY() + kPlayer.HEIGHT);
+            hash = (hash * 31 + body.getSubX()) * 31 + body.getSubY();
+        }
+        return hash * 31 + body.getDeaths();
+    }
+
+    /** Hash of the floating point run stepped once per frame on wall-clock-like frame times, as before fixed ticks */
+    private static long floatRun(LevelData data, int seed, Random jitter) {
+        LevelWorld level = new LevelWorld(data);
+        CollisionWorld world = level.getCollisionWorld();
+        TriggerVolumes triggers = level.getTriggers();
+        PlayerBody body = new PlayerBody(kLevel.SPAWNPOINT[0], kLevel.SPAWNPOINT[1]);
+        triggers.addListener(new TriggerListener() {
+            @Override
+            public void volumeEntered(int id, byte kind) {
+                if (kind == TriggerVolumes.KILL) body.kill();
+            }
+        });
+        Script script = new Script(seed);
+
+        for (int t = 0; t < RUN_TICKS; t++) { // same script and beats, sampled at frame times around each tick
+            script.advance(t);
+            if (t > 0 && t % BEAT_TICKS == 0) world.toggleBlocks();
+
+            double dt = TICK * (0.9 + jitter.nextDouble() * 0.2);
+            body.step(dt, script.left, script.right, script.jump, world);
+            triggers.update(body.getX(), body.getY(), body.getX() + kPlayer.WIDTH, body.getY() + kPlayer.HEIGHT);
+        }
+        return Double.doubleToLongBits(body.getX()) * 31 + Double.doubleToLongBits(body.getY());
+    }
+
+    /** Held keys changing every 15 ticks */
+    private static class Script {
+        private final Random input;
+        boolean left, right, jump;
+
+        Script(int seed) {
+            input = new Random(seed);
+        }
+
+        void advance(int tick) {
+            if (tick % 15 != 0) return;
+            left = input.nextInt(3) == 0;
+            right = input.nextInt(2) == 0;
+            jump = input.nextInt(4) == 0;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package game.bench;
+
+import game.Constants.kPlayer;
+import game.physics.OverlapKernel;
+import game.physics.OverlapKernels;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the scalar and the best available overlap kernel scanning a player box against every platform.
+ * The vector kernel is only available in builds with the vector profile:
+ * {@code ./mvnw -q -Pbench,vector javafx:run -Dapp.mainClass=game.bench.KernelBenchmark}.
+ */
+public class KernelBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final long WORK = 200_000_000L; // platform tests per measurement
+    private static final double SPACING = 200.0; // average distance between platforms
+
+    private static long sink = 0; // keeps results alive
+
+    public static void main(String[] args) {
+        OverlapKernel scalar = OverlapKernels.scalar();
+        OverlapKernel best = OverlapKernels.best();
+        System.out.println("best kernel: " + best.getClass().getSimpleName());
+        System.out.printf("%10s %16s %16s %10s %10s%n", "platforms", "scalar ns/query", "best ns/query", "speedup", "mismatch");
+
+        for (int n : SIZES) {
+            Random rng = new Random(n);
+            double side = Math.sqrt(n) * SPACING; // keep density constant as the map grows
+
+            // platforms, flat bounds as in CollisionWorld
+            double[] minX = new double[n], minY = new double[n], maxX = new double[n], maxY = new double[n];
+            for (int i = 0; i < n; i++) {
+                minX[i] = rng.nextDouble() * side;
+                minY[i] = rng.nextDouble() * side;
+                maxX[i] = minX[i] + 20 + rng.nextInt(140);
+                maxY[i] = minY[i] + 12 + rng.nextInt(8);
+            }
+
+            // player boxes
+            int queries = 256;
+            double[] boxes = new double[queries * 2];
+            for (int q = 0; q < queries * 2; q++) boxes[q] = rng.nextDouble() * side;
+
+            long[] maskA = new long[(n + 63) / 64];
+            long[] maskB = new long[(n + 63) / 64];
+
+            // results must match bit for bit
+            int mismatches = 0;
+            for (int q = 0; q < queries; q++) {
+                scan(scalar, minX, minY, maxX, maxY, boxes, q, maskA);
+                scan(best, minX, minY, maxX, maxY, boxes, q, maskB);
+                if (!Arrays.equals(maskA, maskB)) mismatches++;
+            }
+
+            int runs = (int) Math.max(10, WORK / n);
+            time(scalar, minX, minY, maxX, maxY, boxes, maskA, runs); // warmup
+            time(best, minX, minY, maxX, maxY, boxes, maskB, runs);
+
+            double scalarNs = time(scalar, minX, minY, maxX, maxY, boxes, maskA, runs);
+            double bestNs = time(best, minX, minY, maxX, maxY, boxes, maskB, runs);
+
+            System.out.printf("%10d %16.0f %16.0f %9.1fx %10d%n", n, scalarNs, bestNs, scalarNs / bestNs, mismatches);
+        }
+
+        if (sink == 42) System.out.println(); // never true in practice
+    }
+
+    private static void scan(
+        OverlapKernel kernel, double[] minX, double[] minY, double[] maxX, double[] maxY,
+        double[] boxes, int q, long[] mask
+    ) {
+        double x = boxes[q * 2], y = boxes[q * 2 + 1];
+        sink += kernel.overlaps(minX, minY, maxX, maxY, 0, minX.length, x, y, x + kPlayer.WIDTH, y + kPlayer.HEIGHT, mask);
+    }
+
+    /** Average nanoseconds per full scan */
+    private static double time(
+        OverlapKernel kernel, double[] minX, double[] minY, double[] maxX, double[] maxY,
+        double[] boxes, long[] mask, int runs
+    ) {
+        long t0 = System.nanoTime();
+        for (int r = 0; r < runs; r++) scan(kernel, minX, minY, maxX, maxY, boxes, r % (boxes.length / 2), mask);
+        return (System.nanoTime() - t0) / (double) runs;
+    }
+}
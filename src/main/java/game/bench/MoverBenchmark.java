@@ -0,0 +1,151 @@
+package game.bench;
+
+import game.Constants.kMover;
+import game.Constants.kPhysics;
+import game.Constants.kPlayer;
+import game.physics.AabbTree;
+import game.physics.SpatialHash;
+
+import java.util.Random;
+
+/**
+ * Compares keeping moving platforms in the dynamic AABB tree against rebuilding a spatial hash
+ * every tick, and checks the tree finds every platform a brute force scan does.
+ * Run with {@code ./run-bench.sh MoverBenchmark}.
+ */
+public class MoverBenchmark {
+    private static final int[] SIZES = {100, 500, 2_000};
+    private static final int TICKS = 1_200;
+    private static final int QUERIES_PER_TICK = 4; // a few players and their sweeps
+    private static final double SPACING = 300.0; // average distance between movers
+    private static final double TICK = 1.0 / kPhysics.TICK_RATE;
+
+    private static long sink = 0; // keeps results alive
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %16s %16s %10s %8s%n", "movers", "rebuild us/tick", "tree us/tick", "speedup", "missed");
+
+        for (int n : SIZES) {
+            Movers movers = new Movers(n, new Random(n));
+
+            rebuild(new Movers(n, new Random(n)), TICKS); // warmup
+            tree(new Movers(n, new Random(n)), TICKS);
+
+            long t0 = System.nanoTime();
+            rebuild(movers, TICKS);
+            double rebuildUs = (System.nanoTime() - t0) / 1_000.0 / TICKS;
+
+            movers = new Movers(n, new Random(n));
+            t0 = System.nanoTime();
+            int missed = tree(movers, TICKS);
+            double treeUs = (System.nanoTime() - t0) / 1_000.0 / TICKS;
+
+            System.out.printf("%8d %16.1f %16.1f %9.1fx %8d%n", n, rebuildUs, treeUs, rebuildUs / treeUs, missed);
+        }
+
+        if (sink == 42) System.out.println(); // never true in practice
+    }
+
+    /** Rebuild a spatial hash of every mover each tick, then query it */
+    private static void rebuild(Movers movers, int ticks) {
+        for (int t = 0; t < ticks; t++) {
+            movers.step();
+
+            SpatialHash hash = new SpatialHash(kPhysics.HASH_CELL_SIZE);
+            for (int i = 0; i < movers.n; i++) {
+                hash.insert(i, movers.x[i], movers.y[i], movers.x[i] + movers.w[i], movers.y[i] + movers.h[i]);
+            }
+            hash.build();
+
+            for (int q = 0; q < QUERIES_PER_TICK; q++) {
+                double qx = movers.queryX(t, q), qy = movers.queryY(t, q);
+                sink += hash.query(qx, qy, qx + kPlayer.WIDTH, qy + kPlayer.HEIGHT);
+            }
+        }
+    }
+
+    /**
+     * Move each mover's leaf in the tree each tick, then query it
+     * @return number of overlapping movers the tree failed to report
+     */
+    private static int tree(Movers movers, int ticks) {
+        AabbTree tree = new AabbTree(kMover.FAT_MARGIN, kMover.FAT_PREDICT);
+        int[] proxies = new int[movers.n];
+        for (int i = 0; i < movers.n; i++) {
+            proxies[i] = tree.insert(i, movers.x[i], movers.y[i], movers.x[i] + movers.w[i], movers.y[i] + movers.h[i]);
+        }
+
+        int missed = 0;
+        boolean[] found = new boolean[movers.n];
+        for (int t = 0; t < ticks; t++) {
+            movers.step();
+            for (int i = 0; i < movers.n; i++) {
+                tree.move(
+                    proxies[i],
+                    movers.x[i], movers.y[i], movers.x[i] + movers.w[i], movers.y[i] + movers.h[i],
+                    movers.vx[i] * TICK, movers.vy[i] * TICK
+                );
+            }
+
+            for (int q = 0; q < QUERIES_PER_TICK; q++) {
+                double qx = movers.queryX(t, q), qy = movers.queryY(t, q);
+                int count = tree.query(qx, qy, qx + kPlayer.WIDTH, qy + kPlayer.HEIGHT);
+                sink += count;
+
+                if (t % 100 != 0) continue; // brute force check now and then, outside the hot path
+                for (int c = 0; c < count; c++) found[tree.getResult(c)] = true;
+                for (int i = 0; i < movers.n; i++) {
+                    boolean overlaps = movers.x[i] <= qx + kPlayer.WIDTH && movers.x[i] + movers.w[i] >= qx &&
+                        movers.y[i] <= qy + kPlayer.HEIGHT && movers.y[i] + movers.h[i] >= qy;
+                    if (overlaps && !found[i]) missed++;
+                    found[i] = false;
+                }
+            }
+        }
+        return missed;
+    }
+
+    /** Movers bouncing inside a square area */
+    private static class Movers {
+        final int n;
+        final double side;
+        final double[] x, y, w, h, vx, vy;
+
+        Movers(int n, Random rng) {
+            this.n = n;
+            side = Math.sqrt(n) * SPACING; // keep density constant as the count grows
+            x = new double[n];
+            y = new double[n];
+            w = new double[n];
+            h = new double[n];
+            vx = new double[n];
+            vy = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = rng.nextDouble() * side;
+                y[i] = rng.nextDouble() * side;
+                w[i] = 40 + rng.nextInt(120);
+                h[i] = 20;
+                vx[i] = (rng.nextDouble() - 0.5) * 2 * kMover.DEFAULT_SPEED;
+                vy[i] = (rng.nextDouble() - 0.5) * 2 * kMover.DEFAULT_SPEED;
+            }
+        }
+
+        void step() {
+            for (int i = 0; i < n; i++) {
+                x[i] += vx[i] * TICK;
+                y[i] += vy[i] * TICK;
+                if (x[i] < 0 || x[i] > side) vx[i] = -vx[i];
+                if (y[i] < 0 || y[i] > side) vy[i] = -vy[i];
+            }
+        }
+
+        /** Query box positions sweeping the whole area over the run */
+        double queryX(int t, int q) {
+            return (t * 37.0 + q * side / QUERIES_PER_TICK) % side;
+        }
+
+        double queryY(int t, int q) {
+            return (t * 53.0 + q * side / QUERIES_PER_TICK) % side;
+        }
+    }
+}
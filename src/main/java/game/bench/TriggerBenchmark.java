@@ -0,0 +1,113 @@
+package game.bench;
+
+import game.Constants.kGameScreen;
+import game.Constants.kLevel;
+import game.Constants.kPlayer;
+import game.sim.TriggerVolumes;
+
+import java.util.Random;
+
+/**
+ * Compares finding the room of the player with trigger volumes against the former scan of every room marker,
+ * and checks both pick the same room. Rooms lie on a grid, the player wanders across it.
+ * Run with {@code ./run-bench.sh TriggerBenchmark}.
+ */
+public class TriggerBenchmark {
+    private static final int[] SIZES = {10, 100, 1_000};
+    private static final int LOOKUPS = 200_000;
+    private static final double SPACING = 700.0; // distance between neighbouring room markers
+
+    private static long sink = 0; // keeps results alive
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %14s %14s %10s %10s%n", "rooms", "scan ns", "volumes ns", "speedup", "mismatch");
+
+        for (int n : SIZES) {
+            int side = (int) Math.ceil(Math.sqrt(n));
+            double[] centers = new double[n * 2];
+            TriggerVolumes volumes = new TriggerVolumes(kLevel.TRIGGER_CELL_SIZE);
+            for (int i = 0; i < n; i++) {
+                centers[i * 2] = (i % side) * SPACING;
+                centers[i * 2 + 1] = (i / side) * SPACING;
+                volumes.addCircle(centers[i * 2], centers[i * 2 + 1], kGameScreen.CHART_THRESHOLD, TriggerVolumes.ROOM, i);
+            }
+            volumes.build();
+
+            double[] points = walk(side * SPACING, new Random(n));
+            scan(centers, points); // warmup
+            lookup(volumes, points);
+
+            long t0 = System.nanoTime();
+            int[] scanned = scan(centers, points);
+            double scanNs = (double) (System.nanoTime() - t0) / LOOKUPS;
+
+            t0 = System.nanoTime();
+            int[] looked = lookup(volumes, points);
+            double volumesNs = (double) (System.nanoTime() - t0) / LOOKUPS;
+
+            int mismatches = 0;
+            for (int i = 0; i < LOOKUPS; i++) if (scanned[i] != looked[i]) mismatches++;
+
+            System.out.printf("%8d %14.1f %14.1f %9.1fx %10d%n", n, scanNs, volumesNs, scanNs / volumesNs, mismatches);
+        }
+
+        if (sink == 42) System.out.println(); // never true in practice
+    }
+
+    /** Player centers of a random walk over the room grid, a few pixels per tick */
+    private static double[] walk(double extent, Random random) {
+        double[] points = new double[LOOKUPS * 2];
+        double x = extent / 2, y = extent / 2;
+        for (int i = 0; i < LOOKUPS; i++) {
+            x = Math.max(0, Math.min(extent, x + (random.nextDouble() - 0.5) * 40));
+            y = Math.max(0, Math.min(extent, y + (random.nextDouble() - 0.5) * 40));
+            points[i * 2] = x;
+            points[i * 2 + 1] = y;
+        }
+        return points;
+    }
+
+    /** Nearest marker within the chart threshold by checking all of them, -1 if none */
+    private static int[] scan(double[] centers, double[] points) {
+        int[] rooms = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int nearest = -1;
+            double nearestDistance = Double.MAX_VALUE;
+            for (int r = 0; r < centers.length / 2; r++) {
+                double dx = points[i * 2] - centers[r * 2], dy = points[i * 2 + 1] - centers[r * 2 + 1];
+                double distance = dx * dx + dy * dy;
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = r;
+                }
+            }
+            rooms[i] = nearestDistance < (double) kGameScreen.CHART_THRESHOLD * kGameScreen.CHART_THRESHOLD ? nearest : -1;
+            sink += nearest;
+        }
+        return rooms;
+    }
+
+    /** Nearest room among the volumes containing the player's box, -1 if none */
+    private static int[] lookup(TriggerVolumes volumes, double[] points) {
+        int[] rooms = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            double x = points[i * 2] - kPlayer.WIDTH / 2.0, y = points[i * 2 + 1] - kPlayer.HEIGHT / 2.0;
+            volumes.update(x, y, x + kPlayer.WIDTH, y + kPlayer.HEIGHT);
+
+            int nearest = -1;
+            double nearestDistance = Double.MAX_VALUE;
+            for (int k = 0; k < volumes.getInsideCount(); k++) {
+                int id = volumes.getInside(k);
+                double dx = points[i * 2] - volumes.getCenterX(id), dy = points[i * 2 + 1] - volumes.getCenterY(id);
+                double distance = dx * dx + dy * dy;
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = volumes.getTag(id);
+                }
+            }
+            rooms[i] = nearest;
+            sink += nearest;
+        }
+        return rooms;
+    }
+}
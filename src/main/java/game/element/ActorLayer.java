@@ -0,0 +1,56 @@
+package game.element;
+
+import game.Constants.kActor;
+import game.actor.ActorKind;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Screen sized canvas drawing every actor of a snapshot in one pass, so thousands of actors cost no scene graph nodes.
+ * Sits above the world and is drawn in view coordinates, actors outside the view are skipped.
+ */
+public class ActorLayer extends Canvas {
+    private static final ActorKind[] KINDS = ActorKind.values();
+
+    private final Color[] colors = new Color[KINDS.length]; // fill per kind
+
+    /**
+     * @param width view width
+     * @param height view height
+     */
+    public ActorLayer(double width, double height) {
+        super(width, height);
+
+        colors[ActorKind.HAZARD.ordinal()] = Color.web(kActor.COLOR_HAZARD);
+        colors[ActorKind.COLLECTIBLE.ordinal()] = Color.web(kActor.COLOR_COLLECTIBLE);
+        colors[ActorKind.WANDERER.ordinal()] = Color.web(kActor.COLOR_WANDERER);
+
+        setMouseTransparent(true);
+    }
+
+    /**
+     * Draw actors between their last two positions
+     * @param positions x, y, previous x, previous y of every actor
+     * @param kinds ActorKind ordinal of every actor
+     * @param count number of actors, arrays may be longer
+     * @param alpha fraction of a tick elapsed since the last tick, 0 to 1
+     * @param cameraX view left in world coordinates
+     * @param cameraY view top in world coordinates
+     */
+    public void render(float[] positions, byte[] kinds, int count, double alpha, double cameraX, double cameraY) {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.clearRect(0, 0, getWidth(), getHeight());
+
+        for (int i = 0; i < count; i++) {
+            ActorKind k = KINDS[kinds[i]];
+            double x = positions[i * 4 + 2] + (positions[i * 4] - positions[i * 4 + 2]) * alpha - cameraX;
+            double y = positions[i * 4 + 3] + (positions[i * 4 + 1] - positions[i * 4 + 3]) * alpha - cameraY;
+            if (x > getWidth() || y > getHeight() || x + k.getWidth() < 0 || y + k.getHeight() < 0) continue; // off screen
+
+            gc.setFill(colors[kinds[i]]);
+            if (k == ActorKind.WANDERER) gc.fillRect(x, y, k.getWidth(), k.getHeight());
+            else gc.fillOval(x, y, k.getWidth(), k.getHeight());
+        }
+    }
+}
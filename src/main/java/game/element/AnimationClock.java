@@ -0,0 +1,162 @@
+package game.element;
+
+import javafx.scene.image.ImageView;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One clock for every animated sprite, ticked by the game loop instead of a Timeline per sprite.
+ * Sprites playing the same animation from the same start share a group, so a tick computes one frame index
+ * per group and touches the sprites of a group only when that index changes. Thousands of Blocks pulsing
+ * to the beat are a handful of groups.
+ */
+public class AnimationClock {
+    /** Sprites showing one animation from one start */
+    private static class Group {
+        final SpriteAnimation animation;
+        final double start;
+        final boolean synced; // started with the clock, kept even when its frame stops changing
+        final List<ImageView> members = new ArrayList<>();
+        int shown = -1; // frame index shown by members
+
+        Group(SpriteAnimation animation, double start, boolean synced) {
+            this.animation = animation;
+            this.start = start;
+            this.synced = synced;
+        }
+    }
+
+    private final List<Group> groups = new ArrayList<>();
+    private final Map<ImageView, Group> groupOf = new IdentityHashMap<>();
+    private final Map<ImageView, Integer> indexOf = new IdentityHashMap<>(); // position in its group's members
+    private final Consumer<ImageView> changed; // told of every frame change, i.e. to repaint a chunk
+
+    private double time = 0;
+    private int updates = 0;
+
+    /**
+     * @param changed called after a sprite's frame changed
+     */
+    public AnimationClock(Consumer<ImageView> changed) {
+        this.changed = changed;
+    }
+
+    /**
+     * Play an animation on a sprite from now, unless it is already playing it
+     * @param view sprite
+     * @param animation frames to show
+     */
+    public void play(ImageView view, SpriteAnimation animation) {
+        Group current = groupOf.get(view);
+        if (current != null && current.animation == animation) return;
+
+        join(view, animation, time, false);
+    }
+
+    /**
+     * Play an animation on a sprite from now, even if it is already playing it
+     * @param view sprite
+     * @param animation frames to show
+     */
+    public void restart(ImageView view, SpriteAnimation animation) {
+        join(view, animation, time, false);
+    }
+
+    /**
+     * Play an animation on a sprite in step with the clock, so every sprite synced to it shows the same frame
+     * @param view sprite
+     * @param animation frames to show
+     */
+    public void sync(ImageView view, SpriteAnimation animation) {
+        Group current = groupOf.get(view);
+        if (current != null && current.animation == animation && current.synced) return;
+
+        join(view, animation, 0, true);
+    }
+
+    /** Stop animating a sprite, it keeps its frame */
+    public void stop(ImageView view) {
+        Group g = groupOf.remove(view);
+        if (g == null) return;
+
+        int i = indexOf.remove(view);
+        ImageView last = g.members.remove(g.members.size() - 1); // swap remove, Blocks leave groups in thousands
+        if (last != view) {
+            g.members.set(i, last);
+            indexOf.put(last, i);
+        }
+    }
+
+    /**
+     * Advance the clock and update sprites whose frame changed
+     * @param seconds clock time, i.e. pulse time in seconds
+     */
+    public void tick(double seconds) {
+        time = seconds;
+
+        for (Iterator<Group> it = groups.iterator(); it.hasNext(); ) {
+            Group g = it.next();
+            if (g.members.isEmpty()) { // all left
+                it.remove();
+                continue;
+            }
+
+            int frame = g.animation.frameAt(time - g.start);
+            if (frame != g.shown) {
+                g.shown = frame;
+                for (ImageView view : g.members) apply(view, g.animation, frame);
+            }
+
+            if (!g.synced && g.animation.isDone(time - g.start)) { // holds its last frame, nothing left to update
+                for (ImageView view : g.members) {
+                    groupOf.remove(view);
+                    indexOf.remove(view);
+                }
+                it.remove();
+            }
+        }
+    }
+
+    /** Get number of sprite frame changes so far */
+    public int getUpdates() {
+        return updates;
+    }
+
+    /** Get number of groups being ticked */
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    private void join(ImageView view, SpriteAnimation animation, double start, boolean synced) {
+        stop(view);
+
+        Group g = null;
+        for (Group other : groups) { // few groups, mostly synced ones
+            if (other.animation == animation && other.start == start && other.synced == synced) {
+                g = other;
+                break;
+            }
+        }
+        if (g == null) {
+            g = new Group(animation, start, synced);
+            g.shown = animation.frameAt(time - start);
+            groups.add(g);
+        }
+
+        indexOf.put(view, g.members.size());
+        g.members.add(view);
+        groupOf.put(view, g);
+        apply(view, animation, g.shown); // show at once, not on the next tick
+    }
+
+    private void apply(ImageView view, SpriteAnimation animation, int frame) {
+        animation.getFrame(frame).applyTo(view);
+        updates++;
+        changed.accept(view);
+    }
+}
@@ -1,23 +1,21 @@
 package game.element;
 
-import game.Constants;
 import game.Constants.kChart;
-import javafx.scene.image.Image;
+import game.sim.ChartState;
+import game.sim.FrameSnapshot.ChartFrame;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
-import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.List;
 
-/** A popup window holding the music puzzle itself, with the clef and notes */
+/** A popup window holding the music puzzle itself, with the clef and notes, showing a {@link ChartState} */
 public class Chart extends Pane {// chart things
     /** A holding class for just the notes that belong to the staff */
     private class Note extends ImageView {
-        private Image noteImage;
-        private Image restImage;
+        private final SpriteAtlas.Sprite noteImage;
+        private final SpriteAtlas.Sprite restImage;
 
         /**
          * Constructs a Note
@@ -26,51 +24,40 @@ public class Chart extends Pane {// chart things
         private Note(char noteLetter) {
             super();
 
-            try (
-                InputStream fN = getClass().getResourceAsStream("/sprites/chart/note_" + noteLetter + ".png");
-                InputStream fR = getClass().getResourceAsStream("/sprites/chart/rest.png")
-            ) {
-                noteImage = new Image(fN);
-                restImage = new Image(fR);
-            } catch (Exception ignored) {}
+            noteImage = SpriteAtlas.get("chart/note_" + noteLetter + ".png");
+            restImage = SpriteAtlas.get("chart/rest.png");
 
-            setImage(noteImage); // set to note image by default
+            noteImage.applyTo(this); // set to note image by default
         }
 
         /** Set sprite to note */
         private void showNote() {
-            setImage(noteImage);
+            noteImage.applyTo(this);
         }
 
         /** Set sprite to rest */
         private void showRest() {
-            setImage(restImage);
+            restImage.applyTo(this);
         }
     }
 
-    // chart data
+    // chart nodes
     private final ArrayList<Note> noteNodes = new ArrayList<>();
     private final Rectangle playhead;
 
-    private final ArrayList<Double> durations = new ArrayList<>(); // just note durations in order
-    private final ArrayList<String> noteStrings = new ArrayList<>(); // just fully-qualified notes in order
-
-    private final double pVx; // velocity of playhead
-
-    private int currNoteInd = 0; // index of current note node during progression
-
-    private boolean completed = false; // flag whether chart was finished
+    private int rests = 0; // number of leading notes showing rests
 
     /**
      * Constructs a Chart, is initially set to be invisible
-     * @param clef The clef to use
-     * @param melody The melody in fully-qualified syntax (DURATION-FQNOTE)
+     * @param state The chart state providing clef and note layout
      */
-    public Chart(Clef clef, String[] melody) {
+    public Chart(ChartState state) {
         super();
         setPrefSize(kChart.WIDTH, kChart.HEIGHT);
         setVisible(false);
 
+        Clef clef = state.getClef();
+
         // background
         Rectangle bg = new Rectangle(kChart.WIDTH, kChart.HEIGHT, Color.web(kChart.COLOR_FILL));
         bg.setArcWidth(kChart.BG_CORNER_RADIUS * 2);
@@ -79,11 +66,7 @@ public class Chart extends Pane {// chart things
 
         // clef
         ImageView clefImg = new ImageView();
-        try (InputStream f = getClass().getResourceAsStream(
-            "/sprites/chart/chart_clef_" + clef.name().toLowerCase() + ".png"
-        )) {
-            clefImg.setImage(new Image(f));
-        } catch (Exception ignored) {}
+        SpriteAtlas.get("chart/chart_clef_" + clef.name().toLowerCase() + ".png").applyTo(clefImg);
         clefImg.setX(kChart.MARGIN_X);
         switch (clef) {
             case Clef.TREBLE -> clefImg.setY(kChart.OFFSET_TREBLE_Y);
@@ -102,51 +85,16 @@ public class Chart extends Pane {// chart things
         staff.setLayoutY(kChart.MARGIN_Y);
         getChildren().add(staff);
 
-        // notes, belong to staff
-        for (String mNote : melody) { // populate durations and notes arrays
-            durations.add(Double.parseDouble(mNote.substring(0, mNote.length() - 3)));
-            noteStrings.add(mNote.substring(mNote.length() - 2));
-        }
-
-        double totalDur = 0;
-        for (double dur : durations) totalDur += dur;
+        // notes, belong to staff, placed by the state
+        for (int i = 0; i < state.size(); i++) {
+            Note note = new Note(state.getNote(i).charAt(0));
 
-        List<String> orderedNotes = new ArrayList<>(); // correct list of ordered notes
-        switch (clef) {
-            case Clef.TREBLE -> orderedNotes = Constants.ORDERED_NOTES_TREBLE;
-            case Clef.ALTO -> orderedNotes = Constants.ORDERED_NOTES_ALTO;
-            case Clef.BASS -> orderedNotes = Constants.ORDERED_NOTES_BASS;
-        }
-
-        int nRange; // last-note exclusive range of melody
-        int nLowestInd = orderedNotes.size();
-        int nHighestInd = 0;
-        for (String note : noteStrings) { // find range iteratively
-            int currInd = orderedNotes.indexOf(note);
-            if (currInd < nLowestInd) nLowestInd = currInd;
-            else if (currInd > nHighestInd) nHighestInd = currInd;
-        }
-        nRange = nHighestInd - nLowestInd;
-
-        double nRegionX = staffWidth - kChart.NOTE_WIDTH; // don't count note image dimensions
-        double nRegionY = staffHeight - kChart.NOTE_HEIGHT;
-
-        double nBeatWidth = nRegionX / totalDur;
-        double nUnitHeight = nRegionY / nRange;
-
-        double nWidthCovered = 0;
-        for (int i = 0; i < melody.length; i++) { // place each note onto staff
-            Note note = new Note(noteStrings.get(i).charAt(0));
-
-            note.setX(nWidthCovered); // all previous widths
-            note.setY(nUnitHeight * (nHighestInd - orderedNotes.indexOf(noteStrings.get(i)))); // unit differences
+            note.setX(state.getNoteX(i));
+            note.setY(state.getNoteY(i));
 
             // add
             noteNodes.add(note);
             staff.getChildren().add(note);
-
-            // increment total width by current note duration
-            nWidthCovered += nBeatWidth * durations.get(i);
         }
 
         // playhead, belongs to staff
@@ -155,72 +103,23 @@ public class Chart extends Pane {// chart things
         playhead.setArcHeight(kChart.PLAYHEAD_WIDTH);
         playhead.setVisible(false);
         staff.getChildren().add(playhead);
-
-        pVx = (kChart.BPM / 60) * nBeatWidth; // convert beats/min to pixels/s
-    }
-
-    /** Resets the Chart progress and hides the playhead */
-    public void reset() {
-        for (int i = 0; i < currNoteInd; i++) noteNodes.get(i).showNote();
-
-        playhead.setVisible(false);
-        playhead.setX(0);
-
-        currNoteInd = 0;
-    }
-
-    /** Make the Chart visible */
-    public void show() {
-        setVisible(true);
-    }
-
-    /** Make the Chart invisible */
-    public void hide() {
-        setVisible(false);
-    }
-
-    /** Whether Chart has been completed */
-    public boolean isCompleted() {
-        return completed;
     }
 
     /**
-     * Update Chart progress and status
-     * @param dt Delta time in seconds
-     * @param currentTileNote Note of current tile occupied by Player, empty if none
+     * Show a simulated chart state
+     * @param frame chart state of a snapshot
      */
-    public void update(double dt, String currentTileNote) {
-        if (!isVisible() || completed) return; // extra layer of protection to NOT update if not visible or chart complete
-
-        if (playhead.isVisible()) { // processing when running
-            if (playhead.getX() >= noteNodes.get(currNoteInd).getX()) reset(); // note overrun check
-            else { // playhead is within tolerable range
-                if (currentTileNote.isEmpty()) { // no note selected
-                    playhead.setX(playhead.getX() + pVx * dt); // increment playhead according to velocity
-                } else if (currentTileNote.equals(noteStrings.get(currNoteInd))) { // if on correct next tile
-                    noteNodes.get(currNoteInd).showRest();
-                    playhead.setX(noteNodes.get(currNoteInd).getX()); // jump playhead to note
-
-                    currNoteInd += 1;
-
-                    if (currNoteInd == noteNodes.size()) { // reached last note
-                        // soft reset, keep notes showing rests
-                        playhead.setVisible(false);
-                        playhead.setX(0);
-
-                        completed = true; // VERY IMPORTANT set flag
-                    }
-                } else reset(); // incorrect note
-            }
-        } else { // logic while not running
-            if (currNoteInd != 0) currNoteInd = 0; // extra layer of insurance
-
-            if (currentTileNote.equals(noteStrings.getFirst())) {
-                noteNodes.getFirst().showRest();
-                playhead.setVisible(true); // begin the chart
-
-                currNoteInd += 1;
-            }
+    public void sync(ChartFrame frame) {
+        setVisible(frame.visible());
+
+        playhead.setVisible(frame.running());
+        playhead.setX(frame.playheadX());
+
+        // only swap sprites of notes whose state changed
+        for (int i = Math.min(rests, frame.rests()); i < Math.max(rests, frame.rests()); i++) {
+            if (i < frame.rests()) noteNodes.get(i).showRest();
+            else noteNodes.get(i).showNote();
         }
+        rests = frame.rests();
     }
 }
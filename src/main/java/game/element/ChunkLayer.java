@@ -0,0 +1,212 @@
+package game.element;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Draws static platforms into screen-sized image chunks instead of keeping one node per platform.
+ * Only chunks overlapping a view hold an image, taken from a small pool, and a chunk is repainted only when it
+ * gets an image or one of its platforms changed, like a Block flipping. The platform nodes are never attached,
+ * they only hold position and look. Chunks are shared by every {@link View}: a chunk seen by two split screen
+ * cameras has one image, painted once, shown by an ImageView in each.
+ */
+public class ChunkLayer {
+    private final double chunkWidth;
+    private final double chunkHeight;
+
+    private final Map<Long, Chunk> chunks = new HashMap<>(); // only chunks with platforms
+    private final Map<Node, List<Chunk>> chunksOf = new IdentityHashMap<>();
+    private final ArrayDeque<WritableImage> pool = new ArrayDeque<>(); // images of chunks no view shows
+    private Canvas painter; // platforms are drawn here and copied into a chunk's image
+    private SnapshotParameters copy;
+
+    private int repaints = 0;
+
+    /** Platforms of one chunk and the image showing them, if any view shows it */
+    private static class Chunk {
+        final int cx;
+        final int cy;
+        final List<Node> platforms = new ArrayList<>(); // in insertion order, later ones on top
+        WritableImage image = null;
+        boolean dirty = true;
+        int views = 0; // number of views showing it
+
+        Chunk(int cx, int cy) {
+            this.cx = cx;
+            this.cy = cy;
+        }
+    }
+
+    /** One camera's look at the chunks, an ImageView per chunk in view */
+    public class View extends Group {
+        private final Map<Chunk, ImageView> shown = new HashMap<>();
+        private final ArrayDeque<ImageView> free = new ArrayDeque<>(); // views of chunks that left
+        private final List<Chunk> inView = new ArrayList<>();
+
+        private View() {}
+
+        /**
+         * Show the chunks overlapping the view, painting the ones that are new to every view or changed
+         * @param x view left in layer coordinates
+         * @param y view top in layer coordinates
+         * @param width view width
+         * @param height view height
+         */
+        public void render(double x, double y, double width, double height) {
+            inView.clear();
+            for (int cx = chunkX(x); cx <= chunkX(x + width); cx++) {
+                for (int cy = chunkY(y); cy <= chunkY(y + height); cy++) {
+                    Chunk chunk = chunks.get(key(cx, cy));
+                    if (chunk != null) inView.add(chunk); // else nothing to draw
+                }
+            }
+
+            // free images first so entering chunks can reuse them
+            for (Iterator<Map.Entry<Chunk, ImageView>> it = shown.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Chunk, ImageView> e = it.next();
+                if (inView.contains(e.getKey())) continue; // a handful of chunks, no set needed
+
+                getChildren().remove(e.getValue());
+                e.getValue().setImage(null);
+                free.push(e.getValue());
+                release(e.getKey());
+                it.remove();
+            }
+
+            for (Chunk chunk : inView) {
+                if (!shown.containsKey(chunk)) {
+                    acquire(chunk);
+                    ImageView view = free.isEmpty() ? new ImageView() : free.pop();
+                    view.setImage(chunk.image);
+                    view.setLayoutX(chunk.cx * chunkWidth);
+                    view.setLayoutY(chunk.cy * chunkHeight);
+                    getChildren().add(view);
+                    shown.put(chunk, view);
+                }
+                if (chunk.dirty) paint(chunk); // once, the other views show the same image
+            }
+        }
+    }
+
+    /**
+     * @param chunkWidth chunk width, the view width keeps at most four chunks in view
+     * @param chunkHeight chunk height
+     */
+    public ChunkLayer(double chunkWidth, double chunkHeight) {
+        this.chunkWidth = chunkWidth;
+        this.chunkHeight = chunkHeight;
+    }
+
+    /** Add a platform that never moves, a {@link Rectangle} or {@link ImageView}, to every chunk it reaches */
+    public void add(Node platform) {
+        Bounds b = platform.getBoundsInParent();
+        List<Chunk> reached = new ArrayList<>();
+
+        for (int cx = chunkX(b.getMinX()); cx <= chunkX(b.getMaxX()); cx++) {
+            for (int cy = chunkY(b.getMinY()); cy <= chunkY(b.getMaxY()); cy++) {
+                Chunk chunk = chunks.computeIfAbsent(key(cx, cy), k -> new Chunk(cx(k), cy(k)));
+                chunk.platforms.add(platform);
+                reached.add(chunk);
+            }
+        }
+        chunksOf.put(platform, reached);
+    }
+
+    /** Repaint the chunks of a platform whose look changed, once they are next in view */
+    public void invalidate(Node platform) {
+        for (Chunk chunk : chunksOf.getOrDefault(platform, List.of())) chunk.dirty = true;
+    }
+
+    /** Create a view of the chunks, one per camera */
+    public View newView() {
+        return new View();
+    }
+
+    /** Get number of chunk repaints so far */
+    public int getRepaints() {
+        return repaints;
+    }
+
+    /** A view started showing a chunk, give it an image if it is the first */
+    private void acquire(Chunk chunk) {
+        if (chunk.views++ > 0) return;
+
+        chunk.image = pool.isEmpty() ? new WritableImage((int) chunkWidth, (int) chunkHeight) : pool.pop();
+        chunk.dirty = true; // the image holds another chunk's pixels
+    }
+
+    /** A view stopped showing a chunk, pool its image if no view shows it anymore */
+    private void release(Chunk chunk) {
+        if (--chunk.views > 0) return;
+
+        pool.push(chunk.image);
+        chunk.image = null;
+    }
+
+    private void paint(Chunk chunk) {
+        if (painter == null) {
+            painter = new Canvas(chunkWidth, chunkHeight);
+            copy = new SnapshotParameters();
+            copy.setFill(Color.TRANSPARENT);
+        }
+
+        GraphicsContext gc = painter.getGraphicsContext2D();
+        double ox = chunk.cx * chunkWidth, oy = chunk.cy * chunkHeight;
+        gc.clearRect(0, 0, chunkWidth, chunkHeight);
+
+        for (Node platform : chunk.platforms) {
+            if (platform instanceof Rectangle r) {
+                gc.setFill(r.getFill());
+                gc.fillRoundRect(r.getX() - ox, r.getY() - oy, r.getWidth(), r.getHeight(), r.getArcWidth(), r.getArcHeight());
+            } else if (platform instanceof ImageView v && v.getImage() != null) {
+                Rectangle2D vp = v.getViewport(); // area of an atlas page
+                if (vp == null) gc.drawImage(v.getImage(), v.getX() - ox, v.getY() - oy);
+                else gc.drawImage(
+                    v.getImage(), vp.getMinX(), vp.getMinY(), vp.getWidth(), vp.getHeight(),
+                    v.getX() - ox, v.getY() - oy, vp.getWidth(), vp.getHeight()
+                );
+            }
+        }
+
+        painter.snapshot(copy, chunk.image);
+        chunk.dirty = false;
+        repaints++;
+    }
+
+    private int chunkX(double x) {
+        return (int) Math.floor(x / chunkWidth);
+    }
+
+    private int chunkY(double y) {
+        return (int) Math.floor(y / chunkHeight);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static int cx(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int cy(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,110 @@
+package game.element;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextBoundsType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Characters of one font and colour rasterized once into a strip, so changing text can be drawn as image copies
+ * instead of being laid out again. Kerning and ligatures are not applied, only each character's advance.
+ */
+class GlyphAtlas {
+    private static final int PADDING = 2; // pixels around each glyph, room for antialiasing and italic overhang
+
+    private static final Map<String, GlyphAtlas> atlases = new HashMap<>();
+
+    /**
+     * Where a character is in the strip
+     * @param x left of its cell
+     * @param width cell width
+     * @param offset distance from the cell's left to the pen position
+     * @param advance pen movement to the next character
+     */
+    record Glyph(int x, int width, int offset, double advance) {}
+
+    private final Image image;
+    private final Map<Character, Glyph> glyphs = new HashMap<>();
+    private final double lineHeight;
+    private final double ascent;
+
+    /**
+     * Get the atlas of a font and colour, FX thread only
+     * @param font font to draw with
+     * @param color text fill
+     * @param chars every character that will be drawn
+     */
+    static GlyphAtlas get(Font font, Color color, String chars) {
+        return atlases.computeIfAbsent(
+            font.getName() + "@" + font.getSize() + "#" + color + "/" + chars,
+            k -> new GlyphAtlas(font, color, chars)
+        );
+    }
+
+    private GlyphAtlas(Font font, Color color, String chars) {
+        Group strip = new Group();
+        int x = 0;
+        double height = 0, baseline = 0;
+
+        for (char c : chars.toCharArray()) {
+            if (glyphs.containsKey(c)) continue;
+
+            Text glyph = new Text(String.valueOf(c));
+            glyph.setFont(font);
+            glyph.setFill(color);
+            glyph.setTextOrigin(VPos.TOP);
+
+            Bounds logical = glyph.getLayoutBounds(); // advance and line height
+            height = Math.max(height, logical.getHeight());
+            baseline = glyph.getBaselineOffset();
+            double advance = logical.getWidth();
+
+            glyph.setBoundsType(TextBoundsType.VISUAL); // inked area, may reach past the advance
+            Bounds ink = glyph.getLayoutBounds();
+            int offset = PADDING + (int) Math.ceil(Math.max(0, -ink.getMinX()));
+            int width = offset + (int) Math.ceil(Math.max(advance, ink.getMaxX())) + PADDING;
+
+            glyph.setX(x + offset);
+            strip.getChildren().add(glyph);
+            glyphs.put(c, new Glyph(x, width, offset, advance));
+            x += width;
+        }
+
+        lineHeight = height;
+        ascent = baseline;
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        params.setViewport(new Rectangle2D(0, 0, Math.max(1, x), Math.max(1, Math.ceil(height))));
+        image = strip.snapshot(params, null);
+    }
+
+    /** Get the strip image */
+    Image getImage() {
+        return image;
+    }
+
+    /** Get a character's glyph, null if not rasterized */
+    Glyph getGlyph(char c) {
+        return glyphs.get(c);
+    }
+
+    /** Get distance between two baselines */
+    double getLineHeight() {
+        return lineHeight;
+    }
+
+    /** Get distance from the top of a line to its baseline */
+    double getAscent() {
+        return ascent;
+    }
+}
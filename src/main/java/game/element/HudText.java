@@ -0,0 +1,125 @@
+package game.element;
+
+import game.element.GlyphAtlas.Glyph;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * A HUD label over a number, like "deaths" over the death count, drawn from a {@link GlyphAtlas}.
+ * The value is formatted into a reused buffer and the canvas is redrawn only when the value changes,
+ * so setting it every frame allocates nothing and lays out no text.
+ */
+public class HudText extends Canvas {
+    private static final String DIGITS = "0123456789:";
+    private static final int MAX_DIGITS = 9; // widest value, sizes the canvas
+    private static final int MARGIN = 8; // pixels around the text for glyphs inked past their advance
+
+    private final GlyphAtlas atlas;
+    private final char[] label;
+    private final char[] value = new char[MAX_DIGITS + 1]; // digits and a colon
+    private int length = 0;
+
+    private boolean time;
+    private int shown = Integer.MIN_VALUE; // value drawn, MIN_VALUE when never drawn
+
+    /**
+     * Create a HudText
+     * @param x left of the text
+     * @param y baseline of the label
+     * @param label first line
+     * @param font font of both lines
+     * @param color text fill
+     */
+    public HudText(double x, double y, String label, Font font, Color color) {
+        this.label = label.toCharArray();
+        atlas = GlyphAtlas.get(font, color, DIGITS + label);
+
+        double digitWidth = 0;
+        for (char c : DIGITS.toCharArray()) digitWidth = Math.max(digitWidth, atlas.getGlyph(c).advance());
+
+        setWidth(Math.ceil(Math.max(width(this.label, this.label.length), digitWidth * (MAX_DIGITS + 1))) + 2 * MARGIN);
+        setHeight(Math.ceil(2 * atlas.getLineHeight()) + 2 * MARGIN);
+        setLayoutX(x - MARGIN);
+        setLayoutY(y - atlas.getAscent() - MARGIN);
+
+        draw();
+    }
+
+    /**
+     * Show a count, i.e. deaths
+     * @param count non-negative count
+     */
+    public void setCount(int count) {
+        if (count == shown && !time) return; // unchanged, no drawing
+
+        time = false;
+        shown = count;
+        length = 0;
+        appendNumber(count, 1);
+        draw();
+    }
+
+    /**
+     * Show a time as minutes and seconds
+     * @param seconds non-negative seconds
+     */
+    public void setTime(int seconds) {
+        if (seconds == shown && time) return;
+
+        time = true;
+        shown = seconds;
+        length = 0;
+        appendNumber(seconds / 60, 1);
+        value[length++] = ':';
+        appendNumber(seconds % 60, 2);
+        draw();
+    }
+
+    /** Write a number into the value buffer, padded with zeros to a minimum of digits */
+    private void appendNumber(int n, int minDigits) {
+        n = Math.max(0, n);
+        int digits = 1;
+        for (int m = n / 10; m > 0; m /= 10) digits++;
+        digits = Math.min(Math.max(digits, minDigits), value.length - length);
+
+        for (int i = length + digits - 1; i >= length; i--) {
+            value[i] = (char) ('0' + n % 10);
+            n /= 10;
+        }
+        length += digits;
+    }
+
+    private void draw() {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.clearRect(0, 0, getWidth(), getHeight());
+
+        drawLine(gc, label, label.length, MARGIN);
+        drawLine(gc, value, length, MARGIN + atlas.getLineHeight());
+    }
+
+    private void drawLine(GraphicsContext gc, char[] chars, int count, double top) {
+        double pen = MARGIN;
+        for (int i = 0; i < count; i++) {
+            Glyph g = atlas.getGlyph(chars[i]);
+            if (g == null) continue; // not in the atlas
+
+            gc.drawImage(
+                atlas.getImage(),
+                g.x(), 0, g.width(), atlas.getImage().getHeight(),
+                Math.round(pen) - g.offset(), top, g.width(), atlas.getImage().getHeight()
+            );
+            pen += g.advance();
+        }
+    }
+
+    private double width(char[] chars, int count) {
+        double w = 0;
+        for (int i = 0; i < count; i++) {
+            Glyph g = atlas.getGlyph(chars[i]);
+            if (g != null) w += g.advance();
+        }
+        return w;
+    }
+}
@@ -1,14 +1,14 @@
 package game.element;
 
-import javafx.scene.image.Image;
+import game.element.SpriteAtlas.Sprite;
 import javafx.scene.image.ImageView;
 
-import java.io.InputStream;
-
 /** The displayed Key */
 public class Key extends ImageView {
-    private Image imgLocked;
-    private Image imgCollected;
+    private final Sprite imgLocked;
+    private final Sprite imgCollected;
+
+    private boolean collected = false;
 
     /**
      * Create a Key
@@ -17,19 +17,22 @@ public class Key extends ImageView {
     public Key(Clef clef) {
         super();
 
-        try (
-            InputStream fL = getClass().getResourceAsStream("/sprites/keys/key_" + clef.name().toLowerCase() + "_locked.png");
-            InputStream fC = getClass().getResourceAsStream("/sprites/keys/key_" + clef.name().toLowerCase() + ".png")
-        ) {
-            imgLocked = new Image(fL);
-            imgCollected = new Image(fC);
-        } catch (Exception ignored) {}
+        imgLocked = SpriteAtlas.get("keys/key_" + clef.name().toLowerCase() + "_locked.png");
+        imgCollected = SpriteAtlas.get("keys/key_" + clef.name().toLowerCase() + ".png");
 
-        setImage(imgLocked); // show locked by default
+        imgLocked.applyTo(this); // show locked by default
     }
 
     /** Called when this Key is collected */
     public void collect() {
-        setImage(imgCollected);
+        if (collected) return;
+
+        collected = true;
+        imgCollected.applyTo(this);
+    }
+
+    /** Whether this Key was collected */
+    public boolean isCollected() {
+        return collected;
     }
 }
@@ -1,20 +1,35 @@
 package game.element;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import game.Constants.kGameScreen;
+import game.Constants.kWindow;
+import game.GameSession;
+import game.physics.CollisionWorld;
 import game.platform.Platform;
 import game.platform.types.*;
-import game.platform.types.Block.BlockType;
+import game.sim.LevelData;
+import game.sim.LevelData.BlockData;
+import game.sim.LevelData.ConcreteData;
+import game.sim.LevelData.ExitData;
+import game.sim.LevelData.MoverData;
+import game.sim.LevelData.RoomData;
+import game.sim.LevelData.TileData;
+import game.sim.LevelWorld;
+import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Platforms of the map as nodes, built from the same {@link LevelData} as its node-free {@link LevelWorld}.
+ * The world is advanced on the simulation thread, the methods here only touch nodes and run on the FX thread.
+ * Only platforms near the camera are in the scene graph, see {@link #cull}, or with {@link WorldRenderer#CHUNKS}
+ * static platforms are painted into image chunks and their nodes never attached.
+ * Split screen builds one view per player: the views show the same painted chunks, each culled to its own camera,
+ * and only the few movers are copied, so the level is never duplicated node by node or painted twice.
+ */
 public class Level {
     private final List<Block> blocks = new ArrayList<>();
 
@@ -24,40 +39,70 @@ public class Level {
     // separate array of clef markers
     private final List<ClefMarker> markers = new ArrayList<>();
 
+    // collision geometry and movers, ids are indices into collisionOwners
+    private LevelWorld levelWorld = new LevelWorld(new LevelData()); // empty until built
+    private final List<Platform> collisionOwners = new ArrayList<>(); // null for compacted Concrete
+
+    // moving platforms, index is mover index
+    private final List<Mover> movers = new ArrayList<>();
+    private final List<List<Mover>> viewMovers = new ArrayList<>(); // movers shown by each view, the first is movers
+
+    // static platforms attached to the scene graph only near the camera, or painted into chunks
+    private final Group staticLayer = new Group();
+    private final ViewportCuller culler = new ViewportCuller(staticLayer, kGameScreen.CULL_CELL_SIZE, kGameScreen.CULL_MARGIN);
+    private final ChunkLayer chunkLayer = new ChunkLayer(kWindow.WIDTH, kWindow.HEIGHT); // shared by all views
+    private final List<ChunkLayer.View> chunkViews = new ArrayList<>(); // one per view
+    private WorldRenderer renderer = WorldRenderer.NODES;
+
+    private int blockBeats = 0; // beats shown by Block sprites
+    private final AnimationClock animations = new AnimationClock(view -> { // painted chunks repaint on frame changes
+        if (renderer == WorldRenderer.CHUNKS) chunkLayer.invalidate(view);
+    });
+
+    private final GameSession session;
+
+    /**
+     * @param session session the level is played in
+     */
+    public Level(GameSession session) {
+        this.session = session;
+    }
+
     /**
      * Build platforms and add to root.
      * @param root scene root pane
+     * @param renderer how static platforms are drawn
      */
-    public void build(Pane root) throws IOException {
-        // compound of all visible platforms as Nodes for root
+    public void build(Pane root, WorldRenderer renderer) throws IOException {
+        build(new Pane[] {root}, renderer);
+    }
+
+    /**
+     * Build platforms once and show them in several views
+     * @param roots world pane of each view
+     * @param renderer how static platforms are drawn, always {@link WorldRenderer#CHUNKS} with more than one view
+     */
+    public void build(Pane[] roots, WorldRenderer renderer) throws IOException {
+        if (roots.length > 1) renderer = WorldRenderer.CHUNKS; // a node has one parent, chunks only paint it
+        this.renderer = renderer;
+
+        // compound of all static platforms as Nodes for the culled layer
         List<Node> nodes = new ArrayList<>();
 
         // load json
-        String json = Files.readString(Path.of("src/main/resources/map.json"));
-        JsonObject branch = JsonParser.parseString(json).getAsJsonObject();
+        LevelData data = LevelData.load(LevelData.MAP);
 
         // concrete
-        for (JsonElement elem : branch.getAsJsonArray("concrete")) {
-            JsonObject obj = elem.getAsJsonObject();
-
-            Concrete c = new Concrete( // add to list
-                obj.get("x").getAsInt(), obj.get("y").getAsInt(),
-                obj.get("width").getAsInt(), obj.get("height").getAsInt()
-            );
+        for (ConcreteData obj : data.getConcrete()) {
+            Concrete c = new Concrete(obj.x(), obj.y(), obj.width(), obj.height());
 
             nodes.add(c);
             platforms.add(c);
         }
 
         // blocks
-        for (JsonElement elem : branch.getAsJsonArray("blocks")) {
-            JsonObject obj = elem.getAsJsonObject();
-
-            Block b = new Block(
-                obj.get("x").getAsInt(), obj.get("y").getAsInt(),
-                BlockType.valueOf(obj.get("type").getAsString()),
-                obj.get("inverted").getAsBoolean()
-            );
+        for (BlockData obj : data.getBlocks()) {
+            Block b = new Block(obj.x(), obj.y(), obj.type(), obj.inverted());
 
             nodes.add(b);
             blocks.add(b);
@@ -65,49 +110,144 @@ public class Level {
         }
 
         // tiles
-        for (JsonElement elem : branch.getAsJsonArray("tiles")) {
-            JsonObject obj = elem.getAsJsonObject();
-
-            Tile t = new Tile(
-                obj.get("x").getAsInt(), obj.get("y").getAsInt(),
-                Clef.valueOf(obj.get("clef").getAsString()),
-                obj.get("note").getAsString()
-            );
+        List<Tile> tiles = new ArrayList<>();
+        for (TileData obj : data.getTiles()) {
+            Tile t = new Tile(obj.x(), obj.y(), obj.clef(), obj.note(), session);
 
             nodes.add(t);
+            tiles.add(t);
             platforms.add(t);
         }
 
         // clef markers (NOT VISIBLE)
-        if (branch.has("rooms") && branch.get("rooms").isJsonArray()) {
-            for (JsonElement elem : branch.getAsJsonArray("rooms")) {
-                JsonObject obj = elem.getAsJsonObject();
+        for (RoomData obj : data.getRooms()) {
+            markers.add(new ClefMarker(obj.x(), obj.y(), obj.clef()));
+        }
 
-                ClefMarker rb = new ClefMarker(
-                    obj.get("x").getAsInt(), obj.get("y").getAsInt(),
-                    Clef.valueOf(obj.get("type").getAsString())
-                );
+        // exits, reached through trigger volumes
+        for (ExitData obj : data.getExits()) {
+            Exit ex = new Exit(obj.x(), obj.y());
+
+            nodes.add(ex);
+            platforms.add(ex);
+        }
 
-                markers.add(rb);
+        // movers
+        for (MoverData obj : data.getMovers()) {
+            Mover m = new Mover(obj.x(), obj.y(), obj.width(), obj.height());
+
+            movers.add(m);
+            platforms.add(m);
+        }
+
+        // static platforms are attached by the culler or painted, movers above them stay and are only hidden
+        if (renderer == WorldRenderer.CHUNKS) for (Node n : nodes) chunkLayer.add(n);
+        for (Pane root : roots) {
+            List<Mover> shown = movers;
+            if (!viewMovers.isEmpty()) { // nodes of the first view are taken, copy the movers
+                shown = new ArrayList<>();
+                for (Mover m : movers) shown.add(new Mover(m.getX(), m.getY(), m.getWidth(), m.getHeight()));
             }
+            viewMovers.add(shown);
+
+            if (renderer == WorldRenderer.CHUNKS) {
+                ChunkLayer.View chunkView = chunkLayer.newView();
+                chunkViews.add(chunkView);
+                root.getChildren().add(chunkView);
+            } else {
+                for (Node n : nodes) culler.add(n);
+                culler.build();
+                root.getChildren().add(staticLayer);
+            }
+            root.getChildren().addAll(shown);
         }
+        for (Block b : blocks) animations.sync(b, b.getAnimation());
 
-        // exits
-        if (branch.has("exits") && branch.get("exits").isJsonArray()) {
-            for (JsonElement elem : branch.getAsJsonArray("exits")) {
-                JsonObject obj = elem.getAsJsonObject();
+        // collision, concrete merged into fewer equivalent rectangles
+        levelWorld = new LevelWorld(data);
+        CollisionWorld collisionWorld = levelWorld.getCollisionWorld();
+        for (int id = 0; id < collisionWorld.size(); id++) {
+            int entry = levelWorld.getEntry(id);
+            collisionOwners.add(switch (collisionWorld.getType(id)) {
+                case CollisionWorld.BLOCK -> blocks.get(entry);
+                case CollisionWorld.TILE -> tiles.get(entry);
+                case CollisionWorld.MOVER -> movers.get(entry);
+                default -> null; // compacted Concrete, see RectCompactorTest
+            });
+        }
+    }
 
-                Exit ex = new Exit(
-                    obj.get("x").getAsInt(), obj.get("y").getAsInt()
-                );
+    /**
+     * Show Block sprites for a number of beats, FX side
+     * @param beats total beats applied to the collision world
+     */
+    public void syncBlocks(int beats) {
+        if ((beats - blockBeats) % 2 != 0) {
+            for (Block b : blocks) {
+                b.toggle();
+                animations.sync(b, b.getAnimation()); // pulse in step with every other Block
+            }
+        }
+        blockBeats = beats;
+    }
 
-                nodes.add(ex);
-                platforms.add(ex);
+    /**
+     * Move mover sprites between their last two positions, FX side
+     * @param positions positions from {@link LevelWorld#copyMoverPositions(double[])}
+     * @param alpha fraction of a tick elapsed since the last tick, 0 to 1
+     */
+    public void renderMovers(double[] positions, double alpha) {
+        for (int i = 0; i < movers.size(); i++) {
+            double x = positions[i * 4 + 2] + (positions[i * 4] - positions[i * 4 + 2]) * alpha;
+            double y = positions[i * 4 + 3] + (positions[i * 4 + 1] - positions[i * 4 + 3]) * alpha;
+            for (List<Mover> shown : viewMovers) {
+                shown.get(i).setX(x);
+                shown.get(i).setY(y);
             }
         }
+    }
 
-        // add all to root
-        for (Node n : nodes) root.getChildren().add(n);
+    /**
+     * Keep only platforms near the camera in the scene graph or paint their chunks, FX side, after {@link #renderMovers}
+     * @param x camera left in world coordinates
+     * @param y camera top in world coordinates
+     * @param width view width
+     * @param height view height
+     */
+    public void cull(double x, double y, double width, double height) {
+        cull(0, x, y, width, height);
+    }
+
+    /**
+     * Keep only platforms near one view's camera in that view, FX side, after {@link #renderMovers}
+     * @param view index of the view in the built roots
+     * @param x camera left in world coordinates
+     * @param y camera top in world coordinates
+     * @param width view width
+     * @param height view height
+     */
+    public void cull(int view, double x, double y, double width, double height) {
+        if (renderer == WorldRenderer.CHUNKS) chunkViews.get(view).render(x, y, width, height);
+        else culler.update(x, y, width, height);
+
+        // movers are few and move, checked directly
+        double margin = kGameScreen.CULL_MARGIN;
+        for (Mover m : viewMovers.get(view)) {
+            m.setVisible(
+                m.getX() + m.getWidth() >= x - margin && m.getX() <= x + width + margin &&
+                m.getY() + m.getHeight() >= y - margin && m.getY() <= y + height + margin
+            );
+        }
+    }
+
+    /** Get the clock animating this level's sprites, ticked by the game loop */
+    public AnimationClock getAnimations() {
+        return animations;
+    }
+
+    /** Get how static platforms are drawn */
+    public WorldRenderer getRenderer() {
+        return renderer;
     }
 
     /**
@@ -126,6 +266,23 @@ public class Level {
         return platforms;
     }
 
+    /**
+     * Get collision geometry and movers of all platforms
+     * @return level world
+     */
+    public LevelWorld getWorld() {
+        return levelWorld;
+    }
+
+    /**
+     * Get the platform owning a collision id
+     * @param id collision world id
+     * @return owning platform, or null for compacted Concrete
+     */
+    public Platform getCollisionOwner(int id) {
+        return collisionOwners.get(id);
+    }
+
     /** Get room markers list. */
     public List<ClefMarker> getMarkers() {
         return markers;
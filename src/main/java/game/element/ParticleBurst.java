@@ -0,0 +1,66 @@
+package game.element;
+
+import game.Constants.kParticles;
+import javafx.scene.paint.Color;
+
+/** Enum of particle effects, with how many particles they spawn and how those move */
+public enum ParticleBurst {
+    /** A Tile starting its note, sprays up off the tile */
+    TILE(kParticles.TILE_COUNT, kParticles.TILE_SPEED, kParticles.TILE_SPREAD, kParticles.TILE_LIFE, kParticles.TILE_SIZE, kParticles.TILE_COLOR, true, true),
+    /** The player dying */
+    DEATH(kParticles.DEATH_COUNT, kParticles.DEATH_SPEED, kParticles.DEATH_SPREAD, kParticles.DEATH_LIFE, kParticles.DEATH_SIZE, kParticles.DEATH_COLOR, true, true),
+    /** A key being collected, drawn over its HUD slot */
+    KEY(kParticles.KEY_COUNT, kParticles.KEY_SPEED, kParticles.KEY_SPREAD, kParticles.KEY_LIFE, kParticles.KEY_SIZE, kParticles.KEY_COLOR, false, false);
+
+    private final int count;
+    private final double speed;
+    private final double spread; // radians of directions around straight up
+    private final double life;
+    private final double size;
+    private final Color color;
+    private final boolean gravity;
+    private final boolean world; // positioned in world coordinates, else in view coordinates
+
+    ParticleBurst(int count, double speed, double spread, double life, double size, String color, boolean gravity, boolean world) {
+        this.count = count;
+        this.speed = speed;
+        this.spread = spread;
+        this.life = life;
+        this.size = size;
+        this.color = Color.web(color);
+        this.gravity = gravity;
+        this.world = world;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public double getSpread() {
+        return spread;
+    }
+
+    public double getLife() {
+        return life;
+    }
+
+    public double getSize() {
+        return size;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public boolean hasGravity() {
+        return gravity;
+    }
+
+    public boolean isWorld() {
+        return world;
+    }
+}
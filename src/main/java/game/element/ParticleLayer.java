@@ -0,0 +1,154 @@
+package game.element;
+
+import game.Constants.kParticles;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+import java.util.SplittableRandom;
+
+/**
+ * Short particle bursts, like tile hits and deaths, stepped once per pulse and drawn by any number of {@link View}s.
+ * Particles live in preallocated arrays of fixed capacity, so bursts create no nodes or objects.
+ * A burst arriving when the arrays are full spawns only as many particles as there are free slots.
+ * World bursts go into one layer shared by every split screen camera; each view keeps its own layer for view bursts.
+ */
+public class ParticleLayer {
+    private static final ParticleBurst[] BURSTS = ParticleBurst.values();
+
+    // particle state, live particles in [0, count)
+    private final double[] x = new double[kParticles.CAPACITY];
+    private final double[] y = new double[kParticles.CAPACITY];
+    private final double[] vx = new double[kParticles.CAPACITY];
+    private final double[] vy = new double[kParticles.CAPACITY];
+    private final double[] age = new double[kParticles.CAPACITY];
+    private final byte[] burst = new byte[kParticles.CAPACITY]; // ParticleBurst ordinal
+    private int count = 0;
+
+    private final SplittableRandom random = new SplittableRandom();
+    private long lastStep = 0;
+
+    /** Screen sized canvas drawing a shared layer through one camera, over its own layer of view bursts */
+    public class View extends Canvas {
+        private final ParticleLayer own = new ParticleLayer(); // bursts in view coordinates, only this view shows them
+        private boolean drawn = false; // whether the canvas holds particles
+
+        private View(double width, double height) {
+            super(width, height);
+            setMouseTransparent(true);
+        }
+
+        /**
+         * Spawn a burst only this view shows
+         * @param type effect to spawn
+         * @param px x of the burst in view coordinates
+         * @param py y of the burst
+         */
+        public void emit(ParticleBurst type, double px, double py) {
+            own.emit(type, px, py);
+        }
+
+        /**
+         * Step this view's own bursts and draw them over the shared ones, after the shared layer was stepped
+         * @param cameraX view left in world coordinates
+         * @param cameraY view top in world coordinates
+         */
+        public void render(double cameraX, double cameraY) {
+            own.step();
+            if (count == 0 && own.count == 0 && !drawn) return; // nothing shown, nothing to clear
+
+            GraphicsContext gc = getGraphicsContext2D();
+            gc.clearRect(0, 0, getWidth(), getHeight());
+            draw(gc, getWidth(), getHeight(), cameraX, cameraY);
+            own.draw(gc, getWidth(), getHeight(), cameraX, cameraY);
+
+            drawn = count > 0 || own.count > 0;
+        }
+    }
+
+    /**
+     * Create a canvas drawing this layer
+     * @param width view width
+     * @param height view height
+     */
+    public View newView(double width, double height) {
+        return new View(width, height);
+    }
+
+    /**
+     * Spawn a burst
+     * @param type effect to spawn
+     * @param px x of the burst, in world coordinates for world bursts, else in view coordinates
+     * @param py y of the burst
+     */
+    public void emit(ParticleBurst type, double px, double py) {
+        int n = Math.min(type.getCount(), kParticles.CAPACITY - count); // cut short when full
+
+        for (int i = 0; i < n; i++) {
+            double angle = -Math.PI / 2 + (random.nextDouble() - 0.5) * type.getSpread(); // around straight up
+            double speed = type.getSpeed() * (0.5 + random.nextDouble() * 0.5);
+
+            x[count] = px;
+            y[count] = py;
+            vx[count] = Math.cos(angle) * speed;
+            vy[count] = Math.sin(angle) * speed;
+            age[count] = random.nextDouble() * type.getLife() * 0.25; // stagger fading
+            burst[count] = (byte) type.ordinal();
+            count++;
+        }
+    }
+
+    /** Move particles by the time since the last call, once per pulse */
+    public void step() {
+        long now = System.nanoTime();
+        double dt = lastStep == 0 ? 0 : Math.min(kParticles.MAX_STEP, (now - lastStep) / 1e9); // no jump after a stall
+        lastStep = now;
+
+        for (int i = 0; i < count; i++) {
+            ParticleBurst type = BURSTS[burst[i]];
+            age[i] += dt;
+
+            if (age[i] >= type.getLife()) { // dead, move the last particle into its slot
+                count--;
+                x[i] = x[count];
+                y[i] = y[count];
+                vx[i] = vx[count];
+                vy[i] = vy[count];
+                age[i] = age[count];
+                burst[i] = burst[count];
+                i--;
+                continue;
+            }
+
+            if (type.hasGravity()) vy[i] += kParticles.GRAVITY * dt;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+        }
+    }
+
+    /** Get number of live particles */
+    public int getCount() {
+        return count;
+    }
+
+    /** Draw live particles, world bursts offset by the camera */
+    private void draw(GraphicsContext gc, double width, double height, double cameraX, double cameraY) {
+        if (count == 0) return;
+
+        for (ParticleBurst type : BURSTS) { // one fill per kind
+            gc.setFill(type.getColor());
+            double ox = type.isWorld() ? cameraX : 0, oy = type.isWorld() ? cameraY : 0;
+            double half = type.getSize() / 2;
+
+            for (int i = 0; i < count; i++) {
+                if (burst[i] != type.ordinal()) continue;
+
+                double sx = x[i] - ox - half, sy = y[i] - oy - half;
+                if (sx > width || sy > height || sx + type.getSize() < 0 || sy + type.getSize() < 0) continue; // off screen
+
+                gc.setGlobalAlpha(1.0 - age[i] / type.getLife()); // fade out
+                gc.fillRect(sx, sy, type.getSize(), type.getSize());
+            }
+        }
+        gc.setGlobalAlpha(1.0);
+    }
+}
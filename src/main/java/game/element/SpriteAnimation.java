@@ -0,0 +1,73 @@
+package game.element;
+
+import game.element.SpriteAtlas.Sprite;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frames of an animation, taken from the sprite atlas. A sheet named {@code base} is the sprites
+ * {@code base_0.png}, {@code base_1.png} and so on, or {@code base.png} alone for a still.
+ * Animations are shared, every sprite asking for the same sheet at the same rate gets the same instance.
+ */
+public final class SpriteAnimation {
+    private static final Map<String, SpriteAnimation> animations = new HashMap<>();
+
+    private final Sprite[] frames;
+    private final double frameTime; // seconds per frame
+    private final boolean loop;
+
+    private SpriteAnimation(Sprite[] frames, double fps, boolean loop) {
+        this.frames = frames;
+        this.frameTime = 1.0 / fps;
+        this.loop = loop;
+    }
+
+    /**
+     * Get an animation, FX thread only
+     * @param fps frames per second
+     * @param loop whether to restart after the last frame, else hold it
+     * @param bases sheets to try in order, i.e. misc/player_run_r then misc/player_r
+     * @return animation of the first sheet that exists, the last sheet's missing sprite if none does
+     */
+    public static SpriteAnimation get(double fps, boolean loop, String... bases) {
+        return animations.computeIfAbsent(String.join(",", bases) + "@" + fps + (loop ? "" : "!"), k -> {
+            for (String base : bases) {
+                List<Sprite> frames = new ArrayList<>();
+                for (Sprite s = SpriteAtlas.get(base + "_0.png"); s.image() != null; s = SpriteAtlas.get(base + "_" + frames.size() + ".png")) {
+                    frames.add(s);
+                }
+                if (frames.isEmpty() && SpriteAtlas.get(base + ".png").image() != null) frames.add(SpriteAtlas.get(base + ".png"));
+
+                if (!frames.isEmpty()) return new SpriteAnimation(frames.toArray(new Sprite[0]), fps, loop);
+            }
+            return new SpriteAnimation(new Sprite[] {SpriteAtlas.get(bases[bases.length - 1] + ".png")}, fps, loop);
+        });
+    }
+
+    /**
+     * Get the frame index at a time
+     * @param time seconds since the animation started
+     */
+    public int frameAt(double time) {
+        int i = (int) Math.floor(Math.max(0, time) / frameTime);
+        return loop ? i % frames.length : Math.min(i, frames.length - 1);
+    }
+
+    /** Get a frame */
+    public Sprite getFrame(int index) {
+        return frames[index];
+    }
+
+    /** Get number of frames */
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /** Whether the frame never changes after a time */
+    public boolean isDone(double time) {
+        return frames.length == 1 || (!loop && time >= frames.length * frameTime);
+    }
+}
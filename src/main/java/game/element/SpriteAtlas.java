@@ -0,0 +1,96 @@
+package game.element;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import game.AssetManager;
+import game.Constants.kAtlas;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sprites packed into a few shared atlas pages by {@link game.tools.AtlasPacker}. A lookup returns the page and the
+ * sprite's viewport in it, so every node showing a packed sprite shares one texture per page.
+ * When the atlas was not built, or a sprite is not in it, the sprite loads from its own file instead.
+ * Pages and unpacked sprites are decoded through the {@link AssetManager}.
+ */
+public final class SpriteAtlas {
+    /**
+     * A sprite to show
+     * @param image atlas page or the sprite's own image
+     * @param viewport area of the sprite in the image, null for the whole image
+     */
+    public record Sprite(Image image, Rectangle2D viewport) {
+        /** Show this sprite in an ImageView */
+        public void applyTo(ImageView view) {
+            view.setImage(image);
+            view.setViewport(viewport);
+        }
+    }
+
+    private static final Map<String, Sprite> sprites = new HashMap<>();
+    private static JsonObject index = null; // sprites of the atlas, empty if not built
+    private static String[] pagePaths;
+    private static Image[] pages; // taken from the AssetManager on first use, then held so a page is never decoded twice
+
+    private SpriteAtlas() {}
+
+    /**
+     * Look up a sprite
+     * @param name path below the sprites folder, i.e. blocks/block_active_20x12.png
+     * @return sprite, with a null image if it does not exist
+     */
+    public static synchronized Sprite get(String name) {
+        if (index == null) load();
+
+        return sprites.computeIfAbsent(name, n -> {
+            if (index.has(n)) {
+                JsonObject s = index.getAsJsonObject(n);
+                int page = s.get("page").getAsInt();
+                if (pages[page] == null) pages[page] = AssetManager.image(pagePaths[page]);
+
+                return new Sprite(
+                    pages[page],
+                    new Rectangle2D(s.get("x").getAsInt(), s.get("y").getAsInt(), s.get("width").getAsInt(), s.get("height").getAsInt())
+                );
+            }
+
+            return new Sprite(AssetManager.image(kAtlas.SPRITES + n), null); // not packed
+        });
+    }
+
+    /** Get resource paths of the atlas pages, none if not built */
+    public static synchronized List<String> getPagePaths() {
+        if (index == null) load();
+        return List.of(pagePaths);
+    }
+
+    /** Read the index */
+    private static void load() {
+        index = new JsonObject();
+        pagePaths = new String[0];
+        pages = new Image[0];
+
+        try (InputStream f = SpriteAtlas.class.getResourceAsStream(kAtlas.INDEX)) {
+            if (f == null) return; // not built, every sprite from its own file
+
+            JsonObject root = JsonParser.parseString(new String(f.readAllBytes(), StandardCharsets.UTF_8)).getAsJsonObject();
+            JsonArray names = root.getAsJsonArray("pages");
+            String[] paths = new String[names.size()];
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = kAtlas.INDEX.substring(0, kAtlas.INDEX.lastIndexOf('/') + 1) + names.get(i).getAsString();
+            }
+
+            pagePaths = paths;
+            pages = new Image[paths.length];
+            index = root.getAsJsonObject("sprites");
+        } catch (Exception ignored) {}
+    }
+}
@@ -1,8 +1,9 @@
 package game.element;
 
-import game.GameManager;
+import game.AssetManager;
+import game.GameSession;
+import game.element.SpriteAtlas.Sprite;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.media.AudioClip;
@@ -10,9 +11,9 @@ import javafx.scene.media.AudioClip;
 /** A button with dynamic sprites for mouse hover and click states */
 public class SpriteButton extends Button {
     // graphics
-    private Image nor;
-    private Image sel;
-    private Image act;
+    private Sprite nor;
+    private Sprite sel;
+    private Sprite act;
 
     private ImageView graphic;
 
@@ -25,46 +26,44 @@ public class SpriteButton extends Button {
      * @param name The button name, used to determine the sprite file
      * @param action On-click action
      * @param light Whether the button is light
+     * @param session session whose sfx volume the click plays at
      */
     public SpriteButton(
         double x, double y,
         String name, Runnable action,
-        boolean light
+        boolean light,
+        GameSession session
     ) {
         super();
 
         // create graphics
         graphic = new ImageView();
 
-        nor = new Image(getClass().getResourceAsStream(
-            light ? "/sprites/buttons/" + name + "_LIGHT_n.png" : "/sprites/buttons/" + name + "_n.png"
-        ));
-        sel = new Image(getClass().getResourceAsStream("/sprites/buttons/" + name + "_s.png"));
-        act = new Image(getClass().getResourceAsStream("/sprites/buttons/" + name + "_a.png"));
+        nor = SpriteAtlas.get(light ? "buttons/" + name + "_LIGHT_n.png" : "buttons/" + name + "_n.png");
+        sel = SpriteAtlas.get("buttons/" + name + "_s.png");
+        act = SpriteAtlas.get("buttons/" + name + "_a.png");
 
-        graphic.setImage(nor); // start with normal state
+        nor.applyTo(graphic); // start with normal state
 
         setGraphic(graphic);
         setStyle("-fx-background-color: transparent; -fx-padding: 0;");
         relocate(x, y);
 
         // sfx
-        sfxClick = new AudioClip(
-            getClass().getResource("/sfx/click.wav").toString()
-        );
+        sfxClick = AssetManager.clip("/sfx/click.wav");
 
         // event handlers
-        addEventHandler(MouseEvent.MOUSE_ENTERED, event -> graphic.setImage(sel));
-        addEventHandler(MouseEvent.MOUSE_EXITED, event -> graphic.setImage(nor));
-        addEventHandler(MouseEvent.MOUSE_PRESSED, event -> graphic.setImage(act));
+        addEventHandler(MouseEvent.MOUSE_ENTERED, event -> sel.applyTo(graphic));
+        addEventHandler(MouseEvent.MOUSE_EXITED, event -> nor.applyTo(graphic));
+        addEventHandler(MouseEvent.MOUSE_PRESSED, event -> act.applyTo(graphic));
         addEventHandler(MouseEvent.MOUSE_RELEASED, event -> {
             if (contains(event.getX(), event.getY())) { // is mouse inside button
-                graphic.setImage(sel);
-                sfxClick.play(GameManager.getSfxVolume());
+                sel.applyTo(graphic);
+                if (sfxClick != null) sfxClick.play(session.getSfxVolume());
 
                 action.run();
             } else {
-                graphic.setImage(nor);
+                nor.applyTo(graphic);
             }
         });
     }
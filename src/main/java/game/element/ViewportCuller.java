@@ -0,0 +1,120 @@
+package game.element;
+
+import game.physics.SpatialHash;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps only the static nodes near the camera attached to a layer, so the scene graph stays the size of the view
+ * however large the map is. Nodes are indexed once in a spatial hash; each frame the view plus a margin is queried
+ * and only the difference to the attached set is applied, which is nothing unless the view crossed a grid cell.
+ * Attached nodes keep the order they were added in.
+ */
+public class ViewportCuller {
+    private final Group layer;
+    private final SpatialHash hash;
+    private final double margin;
+
+    private final List<Node> nodes = new ArrayList<>(); // index is hash id
+
+    // attached nodes, ascending ids matching the layer's children
+    private int shownCount = 0;
+    private int[] shown = new int[0];
+    private boolean[] attached = new boolean[0];
+    private boolean[] wanted = new boolean[0]; // scratch, ids of the current query
+
+    // grid cells of the last applied query, to skip frames that did not move to another cell
+    private int lastX0 = Integer.MIN_VALUE;
+    private int lastY0, lastX1, lastY1;
+
+    /**
+     * @param layer group the nodes are attached to, owned by this culler
+     * @param cellSize side length of one grid cell
+     * @param margin distance beyond the view that nodes stay attached
+     */
+    public ViewportCuller(Group layer, double cellSize, double margin) {
+        this.layer = layer;
+        this.margin = margin;
+        hash = new SpatialHash(cellSize);
+    }
+
+    /** Add a node that never moves, indexed by its current bounds */
+    public void add(Node node) {
+        Bounds b = node.getBoundsInParent();
+        hash.insert(nodes.size(), b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY());
+        nodes.add(node);
+    }
+
+    /** Index all added nodes, call once after adding */
+    public void build() {
+        hash.build();
+        attached = new boolean[nodes.size()];
+        wanted = new boolean[nodes.size()];
+        shown = new int[nodes.size()];
+    }
+
+    /**
+     * Attach the nodes near a view and detach the rest
+     * @param x view left in layer coordinates
+     * @param y view top in layer coordinates
+     * @param width view width
+     * @param height view height
+     */
+    public void update(double x, double y, double width, double height) {
+        double minX = x - margin, minY = y - margin, maxX = x + width + margin, maxY = y + height + margin;
+
+        int x0 = cell(minX), y0 = cell(minY), x1 = cell(maxX), y1 = cell(maxY);
+        if (x0 == lastX0 && y0 == lastY0 && x1 == lastX1 && y1 == lastY1) return; // same cells, same nodes
+        lastX0 = x0;
+        lastY0 = y0;
+        lastX1 = x1;
+        lastY1 = y1;
+
+        int count = hash.query(minX, minY, maxX, maxY); // ascending ids
+        for (int i = 0; i < count; i++) wanted[hash.getResult(i)] = true;
+
+        // detach nodes that left, in one batch
+        Set<Node> leaving = new HashSet<>();
+        for (int i = 0; i < shownCount; i++) {
+            int id = shown[i];
+            if (wanted[id]) continue;
+
+            attached[id] = false;
+            leaving.add(nodes.get(id));
+        }
+        if (!leaving.isEmpty()) layer.getChildren().removeAll(leaving);
+
+        // attach nodes that entered at their place in id order, the layer now holds the ones that stayed
+        for (int i = 0; i < count; i++) {
+            int id = hash.getResult(i);
+            wanted[id] = false; // reset scratch
+
+            if (!attached[id]) {
+                attached[id] = true;
+                layer.getChildren().add(i, nodes.get(id));
+            }
+            shown[i] = id;
+        }
+        shownCount = count;
+    }
+
+    /** Get number of attached nodes */
+    public int getShownCount() {
+        return shownCount;
+    }
+
+    /** Get number of nodes */
+    public int size() {
+        return nodes.size();
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / hash.getCellSize());
+    }
+}
@@ -0,0 +1,25 @@
+package game.element;
+
+/** How the static platforms of a level are drawn, chosen at startup with {@code --renderer=nodes|chunks} */
+public enum WorldRenderer {
+    /** One node per platform, culled to the camera */
+    NODES,
+    /** Platforms painted into screen-sized image chunks, repainted only when their contents change */
+    CHUNKS;
+
+    /**
+     * Find the renderer named in launch arguments
+     * @param args raw arguments
+     * @return renderer, {@link #NODES} if none is named
+     */
+    public static WorldRenderer fromArgs(Iterable<String> args) {
+        for (String arg : args) {
+            if (arg.startsWith("--renderer=")) {
+                try {
+                    return valueOf(arg.substring("--renderer=".length()).toUpperCase());
+                } catch (Exception ignored) {}
+            }
+        }
+        return NODES;
+    }
+}
@@ -0,0 +1,348 @@
+package game.physics;
+
+import java.util.Arrays;
+
+/**
+ * Dynamic bounding volume tree for moving boxes.
+ * Leaves store boxes enlarged by a margin, so small moves only update the item's own box and
+ * the tree is only touched once an item leaves its enlarged box. Inserts pick the sibling with the
+ * lowest perimeter cost and the tree is kept balanced with rotations.
+ * Queries are not reentrant; the result buffer is shared and only valid until the next query.
+ */
+public class AabbTree {
+    private static final int NULL = -1;
+
+    private final double margin; // leaf enlargement on each side
+    private final double predict; // leaf enlargement along the displacement, as a multiple of it
+
+    // node pool, parent doubles as next pointer of the free list
+    private int capacity = 16;
+    private double[] minX = new double[capacity];
+    private double[] minY = new double[capacity];
+    private double[] maxX = new double[capacity];
+    private double[] maxY = new double[capacity];
+    private int[] parent = new int[capacity];
+    private int[] left = new int[capacity];
+    private int[] right = new int[capacity];
+    private int[] height = new int[capacity];
+    private int[] item = new int[capacity];
+
+    private int root = NULL;
+    private int freeList = NULL;
+    private int allocated = 0;
+
+    // query buffers
+    private int[] stack = new int[64];
+    private int[] results = new int[16];
+
+    /**
+     * Create an empty tree
+     * @param margin leaf enlargement on each side
+     * @param predict leaf enlargement along a move's displacement, as a multiple of it
+     */
+    public AabbTree(double margin, double predict) {
+        this.margin = margin;
+        this.predict = predict;
+    }
+
+    /**
+     * Add a box
+     * @param id item id returned by queries
+     * @return proxy used to move or remove the box
+     */
+    public int insert(int id, double minX, double minY, double maxX, double maxY) {
+        int leaf = allocate();
+        this.minX[leaf] = minX - margin;
+        this.minY[leaf] = minY - margin;
+        this.maxX[leaf] = maxX + margin;
+        this.maxY[leaf] = maxY + margin;
+        item[leaf] = id;
+        height[leaf] = 0;
+
+        insertLeaf(leaf);
+        return leaf;
+    }
+
+    /** Remove a box */
+    public void remove(int proxy) {
+        removeLeaf(proxy);
+        free(proxy);
+    }
+
+    /**
+     * Move a box, re-inserting it only when it left its enlarged box
+     * @param dx displacement since the last move, used to enlarge the box ahead of the motion
+     * @return true if the tree changed
+     */
+    public boolean move(int proxy, double minX, double minY, double maxX, double maxY, double dx, double dy) {
+        if (
+            this.minX[proxy] <= minX && this.minY[proxy] <= minY &&
+            this.maxX[proxy] >= maxX && this.maxY[proxy] >= maxY
+        ) return false; // still inside
+
+        removeLeaf(proxy);
+
+        double px = dx * predict, py = dy * predict;
+        this.minX[proxy] = minX - margin + Math.min(px, 0);
+        this.minY[proxy] = minY - margin + Math.min(py, 0);
+        this.maxX[proxy] = maxX + margin + Math.max(px, 0);
+        this.maxY[proxy] = maxY + margin + Math.max(py, 0);
+
+        insertLeaf(proxy);
+        return true;
+    }
+
+    /**
+     * Collect the ids of all items whose enlarged box touches the given box
+     * @return number of results, read through {@link #getResult(int)}
+     */
+    public int query(double minX, double minY, double maxX, double maxY) {
+        int count = 0;
+        if (root == NULL) return 0;
+
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (
+                this.maxX[node] < minX || this.maxY[node] < minY ||
+                this.minX[node] > maxX || this.minY[node] > maxY
+            ) continue;
+
+            if (left[node] == NULL) { // leaf
+                if (count == results.length) results = Arrays.copyOf(results, count * 2);
+                results[count++] = item[node];
+            } else {
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top++] = left[node];
+                stack[top++] = right[node];
+            }
+        }
+        return count;
+    }
+
+    /** Get a result of the last query */
+    public int getResult(int i) {
+        return results[i];
+    }
+
+    /** Height of the tree, 0 when empty or a single leaf */
+    public int getHeight() {
+        return root == NULL ? 0 : height[root];
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+
+        // descend to the cheapest sibling
+        int index = root;
+        while (left[index] != NULL) {
+            double area = perimeter(index);
+            double combined = unionPerimeter(index, leaf);
+
+            double cost = 2 * combined; // cost of pairing with this node
+            double inheritance = 2 * (combined - area); // minimum cost of pushing the leaf further down
+
+            double costLeft = childCost(left[index], leaf) + inheritance;
+            double costRight = childCost(right[index], leaf) + inheritance;
+
+            if (cost < costLeft && cost < costRight) break;
+            index = costLeft < costRight ? left[index] : right[index];
+        }
+        int sibling = index;
+
+        // new parent of sibling and leaf
+        int oldParent = parent[sibling];
+        int newParent = allocate();
+        parent[newParent] = oldParent;
+        item[newParent] = NULL;
+        setUnion(newParent, leaf, sibling);
+        height[newParent] = height[sibling] + 1;
+
+        if (oldParent != NULL) {
+            if (left[oldParent] == sibling) left[oldParent] = newParent;
+            else right[oldParent] = newParent;
+        } else {
+            root = newParent;
+        }
+        left[newParent] = sibling;
+        right[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refit(parent[leaf]);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+
+        int p = parent[leaf];
+        int grandParent = parent[p];
+        int sibling = left[p] == leaf ? right[p] : left[p];
+
+        if (grandParent != NULL) { // sibling takes the place of the parent
+            if (left[grandParent] == p) left[grandParent] = sibling;
+            else right[grandParent] = sibling;
+            parent[sibling] = grandParent;
+            free(p);
+
+            refit(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            free(p);
+        }
+    }
+
+    /** Walk up from a node, rebalancing and recomputing heights and boxes */
+    private void refit(int index) {
+        while (index != NULL) {
+            index = balance(index);
+
+            height[index] = 1 + Math.max(height[left[index]], height[right[index]]);
+            setUnion(index, left[index], right[index]);
+
+            index = parent[index];
+        }
+    }
+
+    /** Rotate a child up if the subtree at a is imbalanced, returns the new subtree root */
+    private int balance(int a) {
+        if (left[a] == NULL || height[a] < 2) return a;
+
+        int b = left[a];
+        int c = right[a];
+        int diff = height[c] - height[b];
+
+        if (diff > 1) { // rotate c up
+            int f = left[c];
+            int g = right[c];
+
+            left[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild(parent[c], a, c);
+
+            if (height[f] > height[g]) {
+                right[c] = f;
+                right[a] = g;
+                parent[g] = a;
+                setUnion(a, b, g);
+                setUnion(c, a, f);
+                height[a] = 1 + Math.max(height[b], height[g]);
+                height[c] = 1 + Math.max(height[a], height[f]);
+            } else {
+                right[c] = g;
+                right[a] = f;
+                parent[f] = a;
+                setUnion(a, b, f);
+                setUnion(c, a, g);
+                height[a] = 1 + Math.max(height[b], height[f]);
+                height[c] = 1 + Math.max(height[a], height[g]);
+            }
+            return c;
+        }
+
+        if (diff < -1) { // rotate b up
+            int d = left[b];
+            int e = right[b];
+
+            left[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild(parent[b], a, b);
+
+            if (height[d] > height[e]) {
+                right[b] = d;
+                left[a] = e;
+                parent[e] = a;
+                setUnion(a, c, e);
+                setUnion(b, a, d);
+                height[a] = 1 + Math.max(height[c], height[e]);
+                height[b] = 1 + Math.max(height[a], height[d]);
+            } else {
+                right[b] = e;
+                left[a] = d;
+                parent[d] = a;
+                setUnion(a, c, d);
+                setUnion(b, a, e);
+                height[a] = 1 + Math.max(height[c], height[d]);
+                height[b] = 1 + Math.max(height[a], height[e]);
+            }
+            return b;
+        }
+
+        return a;
+    }
+
+    /** Point a parent's child link from one node to another, or the root when there is no parent */
+    private void replaceChild(int p, int from, int to) {
+        if (p == NULL) root = to;
+        else if (left[p] == from) left[p] = to;
+        else right[p] = to;
+    }
+
+    /** Perimeter cost of placing a leaf below a child */
+    private double childCost(int child, int leaf) {
+        double combined = unionPerimeter(child, leaf);
+        return left[child] == NULL ? combined : combined - perimeter(child);
+    }
+
+    private double perimeter(int n) {
+        return 2 * ((maxX[n] - minX[n]) + (maxY[n] - minY[n]));
+    }
+
+    private double unionPerimeter(int a, int b) {
+        return 2 * (
+            (Math.max(maxX[a], maxX[b]) - Math.min(minX[a], minX[b])) +
+            (Math.max(maxY[a], maxY[b]) - Math.min(minY[a], minY[b]))
+        );
+    }
+
+    private void setUnion(int target, int a, int b) {
+        minX[target] = Math.min(minX[a], minX[b]);
+        minY[target] = Math.min(minY[a], minY[b]);
+        maxX[target] = Math.max(maxX[a], maxX[b]);
+        maxY[target] = Math.max(maxY[a], maxY[b]);
+    }
+
+    private int allocate() {
+        if (freeList == NULL) { // grow pool
+            if (allocated == capacity) {
+                capacity *= 2;
+                minX = Arrays.copyOf(minX, capacity);
+                minY = Arrays.copyOf(minY, capacity);
+                maxX = Arrays.copyOf(maxX, capacity);
+                maxY = Arrays.copyOf(maxY, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                height = Arrays.copyOf(height, capacity);
+                item = Arrays.copyOf(item, capacity);
+            }
+            freeList = allocated++;
+            parent[freeList] = NULL;
+        }
+
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        left[node] = NULL;
+        right[node] = NULL;
+        height[node] = 0;
+        return node;
+    }
+
+    private void free(int node) {
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+    }
+}
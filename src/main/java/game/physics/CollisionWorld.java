@@ -0,0 +1,191 @@
+package game.physics;
+
+import game.Constants.kMover;
+import game.Constants.kPhysics;
+
+import java.util.Arrays;
+
+/**
+ * Collision geometry of a level stored as flat primitive arrays, independent of any JavaFX node.
+ * Ids are assigned in insertion order.
+ * Static platforms live in a spatial hash built once, moving platforms in a separate {@link AabbTree}
+ * updated as they move, so movement never rebuilds the static broadphase.
+ */
+public class CollisionWorld {
+    /** Type tags */
+    public static final byte CONCRETE = 0;
+    public static final byte BLOCK = 1;
+    public static final byte TILE = 2;
+    public static final byte MOVER = 3;
+
+    // geometry and state, index is platform id
+    private int count = 0;
+    private double[] minX = new double[64];
+    private double[] minY = new double[64];
+    private double[] maxX = new double[64];
+    private double[] maxY = new double[64];
+    private byte[] type = new byte[64];
+    private byte[] active = new byte[64]; // 1 when collidable, only ever 0 for inactive Blocks
+    private double[] moveX = new double[64]; // displacement of the last move, only non-zero for movers
+    private double[] moveY = new double[64];
+    private int[] proxy = new int[64]; // tree proxy of movers
+
+    // ids of all blocks for toggling
+    private int blockCount = 0;
+    private int[] blockIds = new int[16];
+
+    private final SpatialHash hash = new SpatialHash(kPhysics.HASH_CELL_SIZE);
+    private final AabbTree movers = new AabbTree(kMover.FAT_MARGIN, kMover.FAT_PREDICT);
+
+    // merged hash and tree results of the last query
+    private int candidateCount = 0;
+    private int[] candidates = new int[64];
+
+    /**
+     * Add a static platform rectangle
+     * @param type type tag
+     * @param active whether the platform starts collidable
+     * @return id of the new platform
+     */
+    public int add(double x, double y, double width, double height, byte type, boolean active) {
+        int id = allocate(x, y, width, height, type, active);
+
+        if (type == BLOCK) {
+            if (blockCount == blockIds.length) blockIds = Arrays.copyOf(blockIds, blockCount * 2);
+            blockIds[blockCount++] = id;
+        }
+
+        hash.insert(id, minX[id], minY[id], maxX[id], maxY[id]);
+        return id;
+    }
+
+    /**
+     * Add a moving platform rectangle, may be called after {@link #build()}
+     * @return id of the new platform
+     */
+    public int addMover(double x, double y, double width, double height) {
+        int id = allocate(x, y, width, height, MOVER, true);
+        proxy[id] = movers.insert(id, minX[id], minY[id], maxX[id], maxY[id]);
+        return id;
+    }
+
+    /** Move a moving platform so its top left corner is at a position */
+    public void moveTo(int id, double x, double y) {
+        double dx = x - minX[id];
+        double dy = y - minY[id];
+
+        moveX[id] = dx;
+        moveY[id] = dy;
+        maxX[id] += dx;
+        maxY[id] += dy;
+        minX[id] = x;
+        minY[id] = y;
+
+        movers.move(proxy[id], minX[id], minY[id], maxX[id], maxY[id], dx, dy);
+    }
+
+    private int allocate(double x, double y, double width, double height, byte type, boolean active) {
+        if (count == minX.length) { // grow
+            int cap = count * 2;
+            minX = Arrays.copyOf(minX, cap);
+            minY = Arrays.copyOf(minY, cap);
+            maxX = Arrays.copyOf(maxX, cap);
+            maxY = Arrays.copyOf(maxY, cap);
+            this.type = Arrays.copyOf(this.type, cap);
+            this.active = Arrays.copyOf(this.active, cap);
+            moveX = Arrays.copyOf(moveX, cap);
+            moveY = Arrays.copyOf(moveY, cap);
+            proxy = Arrays.copyOf(proxy, cap);
+        }
+
+        int id = count++;
+        minX[id] = x;
+        minY[id] = y;
+        maxX[id] = x + width;
+        maxY[id] = y + height;
+        this.type[id] = type;
+        this.active[id] = (byte) (active ? 1 : 0);
+        return id;
+    }
+
+    /** Finish adding platforms and build the broadphase */
+    public void build() {
+        hash.build();
+    }
+
+    /** Flip the active flag of one Block */
+    public void toggle(int id) {
+        active[id] ^= 1;
+    }
+
+    /** Flip the active flag of every Block */
+    public void toggleBlocks() {
+        for (int i = 0; i < blockCount; i++) active[blockIds[i]] ^= 1;
+    }
+
+    /**
+     * Find platforms near a box, read ids through {@link #getCandidate(int)}
+     * @return number of candidates
+     */
+    public int query(double minX, double minY, double maxX, double maxY) {
+        int fromHash = hash.query(minX, minY, maxX, maxY);
+        int fromTree = movers.query(minX, minY, maxX, maxY);
+
+        candidateCount = fromHash + fromTree;
+        if (candidateCount > candidates.length) candidates = new int[Math.max(candidateCount, candidates.length * 2)];
+        for (int i = 0; i < fromHash; i++) candidates[i] = hash.getResult(i);
+        for (int i = 0; i < fromTree; i++) candidates[fromHash + i] = movers.getResult(i);
+
+        if (fromTree > 0) Arrays.sort(candidates, 0, candidateCount); // keep ascending id order
+        return candidateCount;
+    }
+
+    /** Get a candidate id of the last query */
+    public int getCandidate(int i) {
+        return candidates[i];
+    }
+
+    /** Whether a platform intersects a box, touching edges included */
+    public boolean overlaps(int id, double minX, double minY, double maxX, double maxY) {
+        return this.maxX[id] >= minX && this.maxY[id] >= minY && this.minX[id] <= maxX && this.minY[id] <= maxY;
+    }
+
+    /** Get number of platforms */
+    public int size() {
+        return count;
+    }
+
+    public double getMinX(int id) {
+        return minX[id];
+    }
+
+    public double getMinY(int id) {
+        return minY[id];
+    }
+
+    public double getMaxX(int id) {
+        return maxX[id];
+    }
+
+    public double getMaxY(int id) {
+        return maxY[id];
+    }
+
+    /** Displacement of a moving platform during its last move, 0 for static platforms */
+    public double getMoveX(int id) {
+        return moveX[id];
+    }
+
+    public double getMoveY(int id) {
+        return moveY[id];
+    }
+
+    public byte getType(int id) {
+        return type[id];
+    }
+
+    /** Whether a platform currently collides */
+    public boolean isActive(int id) {
+        return active[id] != 0;
+    }
+}
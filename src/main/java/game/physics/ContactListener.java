@@ -0,0 +1,27 @@
+package game.physics;
+
+/** Receives contact changes between a body and collision world platforms */
+public interface ContactListener {
+    /**
+     * Called when a platform is touched that was not touched during the previous step
+     * @param id collision world id
+     * @param type type tag of the platform
+     * @param landed whether the body landed on top of the platform this step
+     */
+    default void contactEntered(int id, byte type, boolean landed) {}
+
+    /**
+     * Called when a platform is still touched since the previous step
+     * @param id collision world id
+     * @param type type tag of the platform
+     * @param landed whether the body landed on top of the platform this step
+     */
+    default void contactStayed(int id, byte type, boolean landed) {}
+
+    /**
+     * Called when a platform touched during the previous step is no longer touched
+     * @param id collision world id
+     * @param type type tag of the platform
+     */
+    default void contactExited(int id, byte type) {}
+}
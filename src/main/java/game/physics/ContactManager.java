@@ -0,0 +1,105 @@
+package game.physics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the set of platforms a body touches between steps and reports enter, stay and exit events.
+ * Work per step grows with the number of contacts, not with the size of the world.
+ */
+public class ContactManager {
+    private final List<ContactListener> listeners = new ArrayList<>();
+
+    // contacts of the current and previous step, and whether each was landed on
+    private int count = 0;
+    private int[] ids = new int[8];
+    private boolean[] landed = new boolean[8];
+
+    private int prevCount = 0;
+    private int[] prevIds = new int[8];
+    private boolean[] prevLanded = new boolean[8];
+
+    /** Subscribe to contact events */
+    public void addListener(ContactListener listener) {
+        listeners.add(listener);
+    }
+
+    /** Start collecting the contacts of a new step */
+    public void begin() {
+        // swap buffers, current becomes previous
+        int[] tIds = prevIds;
+        prevIds = ids;
+        ids = tIds;
+
+        boolean[] tLanded = prevLanded;
+        prevLanded = landed;
+        landed = tLanded;
+
+        prevCount = count;
+        count = 0;
+    }
+
+    /**
+     * Record a touched platform, duplicates are merged
+     * @param id collision world id
+     * @param landedOn whether the body landed on top of it
+     */
+    public void add(int id, boolean landedOn) {
+        int i = indexOf(ids, count, id);
+        if (i >= 0) {
+            landed[i] |= landedOn;
+            return;
+        }
+
+        if (count == ids.length) { // grow
+            ids = Arrays.copyOf(ids, count * 2);
+            landed = Arrays.copyOf(landed, count * 2);
+        }
+        ids[count] = id;
+        landed[count] = landedOn;
+        count++;
+    }
+
+    /**
+     * Finish the step and report changes against the previous step
+     * @param world world the ids belong to
+     */
+    public void end(CollisionWorld world) {
+        for (int i = 0; i < count; i++) {
+            boolean stayed = indexOf(prevIds, prevCount, ids[i]) >= 0;
+            for (ContactListener l : listeners) {
+                if (stayed) l.contactStayed(ids[i], world.getType(ids[i]), landed[i]);
+                else l.contactEntered(ids[i], world.getType(ids[i]), landed[i]);
+            }
+        }
+
+        for (int i = 0; i < prevCount; i++) {
+            if (indexOf(ids, count, prevIds[i]) >= 0) continue;
+            for (ContactListener l : listeners) l.contactExited(prevIds[i], world.getType(prevIds[i]));
+        }
+    }
+
+    /** Number of current contacts */
+    public int getCount() {
+        return count;
+    }
+
+    /** Get id of a current contact */
+    public int getId(int i) {
+        return ids[i];
+    }
+
+    /** Whether the body landed on a current contact */
+    public boolean isLanded(int i) {
+        return landed[i];
+    }
+
+    /** Linear search, contact sets only hold a handful of platforms */
+    private static int indexOf(int[] array, int length, int id) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] == id) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,299 @@
+package game.physics;
+
+import game.Constants.kLevel;
+import game.Constants.kPhysics;
+import game.Constants.kPlayer;
+
+/**
+ * Deterministic player physics on integer subpixel positions, advanced in whole ticks of 1 / TICK_RATE seconds.
+ * Positions are in 1 / {@link #ONE} px and velocities in subpixels per tick, so the same inputs and Block toggles
+ * give bit identical trajectories on any JVM. Follows {@link PlayerBody} step for step, with platform edges
+ * and mover displacements rounded to the nearest subpixel.
+ */
+public class FixedPlayerBody implements PlayerPhysics {
+    /** Subpixels per pixel */
+    public static final int ONE = 1 << kPhysics.FIXED_SHIFT;
+
+    // tuning in subpixels and ticks
+    private static final int WIDTH = kPlayer.WIDTH * ONE;
+    private static final int HEIGHT = kPlayer.HEIGHT * ONE;
+    private static final int VEL_MOVE = toSub(kPlayer.VEL_MOVE / kPhysics.TICK_RATE);
+    private static final int VEL_JUMP = toSub(kPlayer.VEL_JUMP / kPhysics.TICK_RATE);
+    private static final int GRAVITY = toSub(kPlayer.GRAVITY / ((double) kPhysics.TICK_RATE * kPhysics.TICK_RATE));
+    private static final int COYOTE_TICKS = (int) Math.round(kPlayer.COYOTE_TIME * kPhysics.TICK_RATE);
+    private static final int MARGIN = toSub(kPlayer.COLLISION_MARGIN);
+
+    // position is the top left corner, in subpixels
+    private int x;
+    private int y;
+    private int prevX; // position before the last step, for render interpolation
+    private int prevY;
+    private int vx = 0; // subpixels per tick
+    private int vy = 0;
+    private int coyoteTicks = 0;
+
+    private int deaths = 0;
+
+    private boolean died = false;
+
+    private final ContactManager contacts = new ContactManager(); // platforms touched, kept between steps
+
+    /**
+     * Create a body
+     * @param x start x in px
+     * @param y start y in px
+     */
+    public FixedPlayerBody(int x, int y) {
+        this.x = prevX = x * ONE;
+        this.y = prevY = y * ONE;
+    }
+
+    /** Round px to the nearest subpixel */
+    private static int toSub(double px) {
+        return (int) Math.round(px * ONE);
+    }
+
+    @Override
+    public double getX() {
+        return x / (double) ONE;
+    }
+
+    @Override
+    public double getY() {
+        return y / (double) ONE;
+    }
+
+    @Override
+    public double getPrevX() {
+        return prevX / (double) ONE;
+    }
+
+    @Override
+    public double getPrevY() {
+        return prevY / (double) ONE;
+    }
+
+    /** Get x in subpixels */
+    public int getSubX() {
+        return x;
+    }
+
+    /** Get y in subpixels */
+    public int getSubY() {
+        return y;
+    }
+
+    @Override
+    public int getDeaths() {
+        return deaths;
+    }
+
+    @Override
+    public void setDeaths(int deaths) {
+        this.deaths = deaths;
+    }
+
+    @Override
+    public void kill() {
+        // respawn, without interpolating across the map
+        x = prevX = kLevel.SPAWNPOINT[0] * ONE;
+        y = prevY = kLevel.SPAWNPOINT[1] * ONE;
+
+        // reset speed
+        vx = vy = 0;
+
+        // counting
+        died = true;
+        deaths++;
+    }
+
+    @Override
+    public boolean hasDied() {
+        return died;
+    }
+
+    @Override
+    public void addContactListener(ContactListener listener) {
+        contacts.addListener(listener);
+    }
+
+    /** Advance by exactly one tick, dt is ignored */
+    @Override
+    public void step(double dt, boolean left, boolean right, boolean jump, CollisionWorld world) {
+        step(left, right, jump, world);
+    }
+
+    /**
+     * Advance physics by one tick
+     * @param left left held
+     * @param right right held
+     * @param jump jump held
+     * @param world collision world
+     */
+    public void step(boolean left, boolean right, boolean jump, CollisionWorld world) {
+        // init
+        died = false;
+
+        // carried along by a mover landed on during the last step
+        int carryX = 0, carryY = 0;
+        for (int i = 0; i < contacts.getCount(); i++) {
+            int p = contacts.getId(i);
+            if (contacts.isLanded(i) && world.getType(p) == CollisionWorld.MOVER) {
+                carryX = toSub(world.getMoveX(p));
+                carryY = toSub(world.getMoveY(p));
+                break;
+            }
+        }
+
+        contacts.begin();
+
+        boolean onGround = false;
+
+        // velocities
+        if (left && !right) vx = -VEL_MOVE;
+        else if (right && !left) vx = VEL_MOVE;
+        else vx = 0;
+        vy += GRAVITY; // y vel via gravity
+
+        // previous values (current)
+        prevX = x;
+        prevY = y; // also means previous top coordinate
+        int prevBottom = prevY + HEIGHT;
+
+        int dx = vx + carryX;
+        int dy = vy + carryY;
+
+        // broadphase over the swept box, padded by a pixel for edge rounding
+        int candidates = world.query(
+            Math.min(prevX, prevX + dx) / (double) ONE - 1, Math.min(prevY, prevY + dy) / (double) ONE - 1,
+            (Math.max(prevX, prevX + dx) + WIDTH) / (double) ONE + 1, (Math.max(prevY, prevY + dy) + HEIGHT) / (double) ONE + 1
+        );
+
+        // continuous collision, stop each axis at its nearest contact
+        x = prevX + dx;
+        int hitX = sweepX(world, candidates, dx);
+        if (hitX >= 0) x = dx > 0 ? toSub(world.getMinX(hitX)) - WIDTH : toSub(world.getMaxX(hitX));
+
+        y = prevY + dy;
+        int hitY = sweepY(world, candidates, dy);
+        if (hitY >= 0) y = dy > 0 ? toSub(world.getMinY(hitY)) - HEIGHT : toSub(world.getMaxY(hitY));
+
+        // x-axis collision processing
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (!world.isActive(p) || !overlaps(world, p)) continue; // skip inactive blocks
+
+            if ( // either y-collision case already to be solved
+                prevBottom <= toSub(world.getMinY(p)) + MARGIN ||
+                prevY >= toSub(world.getMaxY(p)) - MARGIN
+            ) continue;
+
+            if (vx > 0) x = toSub(world.getMinX(p)) - WIDTH; // player right + platform left
+            else if (vx < 0) x = toSub(world.getMaxX(p)); // player left + platform right
+            else x = prevX;
+            vx = 0;
+        }
+
+        // y-axis collision processing
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (!world.isActive(p) || !overlaps(world, p)) continue; // skip inactive blocks
+
+            if (prevBottom <= toSub(world.getMinY(p)) + MARGIN) { // player bottom + platform top
+                y = toSub(world.getMinY(p)) - HEIGHT;
+
+                vy = 0;
+                onGround = true;
+
+                contacts.add(p, true); // landed on top
+            } else if (prevY >= toSub(world.getMaxY(p)) - MARGIN) { // player top + platform bottom
+                y = toSub(world.getMaxY(p));
+
+                vy = 0;
+            }
+        }
+
+        // remaining contacts at the resolved position
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (world.isActive(p) && overlaps(world, p)) contacts.add(p, false);
+        }
+
+        // coyote timer processing
+        if (onGround) coyoteTicks = COYOTE_TICKS; // reset on ground
+        else coyoteTicks = Math.max(0, coyoteTicks - 1); // count down until min of 0
+
+        // process jump
+        if (
+            jump &&
+            (onGround || coyoteTicks > 0) // allow when on ground or within coyote window
+        ) {
+            vy = VEL_JUMP; // override previous y vel
+            coyoteTicks = 0; // consume coyote time
+        }
+
+        contacts.end(world); // report contact changes
+    }
+
+    /** Whether a platform intersects the body at its current position, touching edges included */
+    private boolean overlaps(CollisionWorld world, int p) {
+        return toSub(world.getMaxX(p)) >= x && toSub(world.getMaxY(p)) >= y &&
+            toSub(world.getMinX(p)) <= x + WIDTH && toSub(world.getMinY(p)) <= y + HEIGHT;
+    }
+
+    /**
+     * Find the nearest solid platform hit when moving horizontally from the previous position,
+     * skipping those left to the y-axis pass by the collision margin
+     * @return platform id, or -1 if none
+     */
+    private int sweepX(CollisionWorld world, int candidates, int dx) {
+        if (dx == 0) return -1;
+
+        int hit = -1;
+        int nearest = Integer.MAX_VALUE;
+
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (!world.isActive(p)) continue; // skip inactive blocks
+            if (
+                prevY + HEIGHT <= toSub(world.getMinY(p)) + MARGIN ||
+                prevY >= toSub(world.getMaxY(p)) - MARGIN
+            ) continue;
+
+            int gap = dx > 0 ? toSub(world.getMinX(p)) - (prevX + WIDTH) : prevX - toSub(world.getMaxX(p));
+            if (gap < 0 || gap > Math.abs(dx)) continue; // already overlapping, or out of reach
+
+            if (gap < nearest) {
+                nearest = gap;
+                hit = p;
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * Find the nearest solid platform hit when moving vertically from the previous y at the resolved x
+     * @return platform id, or -1 if none
+     */
+    private int sweepY(CollisionWorld world, int candidates, int dy) {
+        if (dy == 0) return -1;
+
+        int hit = -1;
+        int nearest = Integer.MAX_VALUE;
+
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (!world.isActive(p)) continue; // skip inactive blocks
+            if (x >= toSub(world.getMaxX(p)) || x + WIDTH <= toSub(world.getMinX(p))) continue; // grazing or apart
+
+            int gap = dy > 0 ? toSub(world.getMinY(p)) - (prevY + HEIGHT) : prevY - toSub(world.getMaxY(p));
+            if (gap < 0 || gap > Math.abs(dy)) continue; // already overlapping, or out of reach
+
+            if (gap < nearest) {
+                nearest = gap;
+                hit = p;
+            }
+        }
+        return hit;
+    }
+}
@@ -0,0 +1,197 @@
+package game.physics;
+
+import java.util.Arrays;
+
+/**
+ * Drives moving platforms around looping waypoint paths, either continuously at a fixed speed
+ * or one waypoint per beat. Positions depend only on elapsed time and the beat count,
+ * so they never drift and can be computed for any moment directly.
+ */
+public class MoverSystem {
+    // per mover, index is mover index
+    private int count = 0;
+    private int[] ids = new int[8]; // collision world id
+    private int[] pathStart = new int[8]; // first waypoint in points
+    private int[] pathLength = new int[8]; // number of waypoints
+    private double[] speed = new double[8]; // px/s, 0 for beat movers
+    private double[] glide = new double[8]; // seconds to reach the next waypoint, beat movers only
+    private double[] loop = new double[8]; // length of the closed path, path movers only
+    private double[] x = new double[8];
+    private double[] y = new double[8];
+    private double[] prevX = new double[8]; // position before the last update, for render interpolation
+    private double[] prevY = new double[8];
+    private boolean[] asleep = new boolean[8]; // skipped by updates
+    private boolean[] woken = new boolean[8]; // placed without interpolating on the next update
+
+    // waypoints of all movers, flat x, y
+    private int pointCount = 0;
+    private double[] points = new double[32];
+
+    private double time = 0.0; // seconds since start
+    private int beats = 0;
+    private double lastBeat = 0.0; // time of the last beat
+
+    /**
+     * Add a mover travelling its path at a constant speed, returning to the first waypoint after the last
+     * @param id collision world id of the platform
+     * @param waypoints flat x, y of top left corner positions, the first being the start
+     * @param speed px/s
+     * @return mover index
+     */
+    public int addPath(int id, double[] waypoints, double speed) {
+        int i = add(id, waypoints);
+        this.speed[i] = speed;
+
+        double length = 0;
+        for (int k = 0; k < pathLength[i]; k++) length += segment(i, k);
+        loop[i] = length;
+        return i;
+    }
+
+    /**
+     * Add a mover that heads to its next waypoint on every beat
+     * @param id collision world id of the platform
+     * @param waypoints flat x, y of top left corner positions, the first being the start
+     * @param glide seconds to reach the next waypoint
+     * @return mover index
+     */
+    public int addBeat(int id, double[] waypoints, double glide) {
+        int i = add(id, waypoints);
+        this.glide[i] = glide;
+        return i;
+    }
+
+    private int add(int id, double[] waypoints) {
+        if (count == ids.length) { // grow
+            int cap = count * 2;
+            ids = Arrays.copyOf(ids, cap);
+            pathStart = Arrays.copyOf(pathStart, cap);
+            pathLength = Arrays.copyOf(pathLength, cap);
+            speed = Arrays.copyOf(speed, cap);
+            glide = Arrays.copyOf(glide, cap);
+            loop = Arrays.copyOf(loop, cap);
+            x = Arrays.copyOf(x, cap);
+            y = Arrays.copyOf(y, cap);
+            prevX = Arrays.copyOf(prevX, cap);
+            prevY = Arrays.copyOf(prevY, cap);
+            asleep = Arrays.copyOf(asleep, cap);
+            woken = Arrays.copyOf(woken, cap);
+        }
+        if ((pointCount + waypoints.length / 2) * 2 > points.length) {
+            points = Arrays.copyOf(points, Math.max(points.length * 2, (pointCount + waypoints.length / 2) * 2));
+        }
+
+        int i = count++;
+        ids[i] = id;
+        pathStart[i] = pointCount;
+        pathLength[i] = waypoints.length / 2;
+        System.arraycopy(waypoints, 0, points, pointCount * 2, waypoints.length);
+        pointCount += pathLength[i];
+
+        x[i] = prevX[i] = waypoints[0];
+        y[i] = prevY[i] = waypoints[1];
+        return i;
+    }
+
+    /** Send every beat mover towards its next waypoint */
+    public void beat() {
+        beats++;
+        lastBeat = time;
+    }
+
+    /**
+     * Stop or resume updating a mover. Positions only depend on time and beats,
+     * so a resumed mover jumps straight to where it would have been
+     * @param i mover index
+     * @param awake whether to update it
+     */
+    public void setAwake(int i, boolean awake) {
+        if (awake && asleep[i]) woken[i] = true;
+        asleep[i] = !awake;
+    }
+
+    /**
+     * Advance all awake movers and move their platforms
+     * @param dt delta time in seconds
+     * @param world collision world holding the platforms
+     */
+    public void update(double dt, CollisionWorld world) {
+        time += dt;
+
+        for (int i = 0; i < count; i++) {
+            if (asleep[i]) continue;
+
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+
+            if (speed[i] > 0) placeOnPath(i);
+            else placeOnBeat(i);
+
+            if (woken[i]) { // fast-forwarded, don't interpolate or carry across the gap
+                prevX[i] = x[i];
+                prevY[i] = y[i];
+                world.moveTo(ids[i], x[i], y[i]); // twice, so the recorded displacement is zero
+                woken[i] = false;
+            }
+
+            world.moveTo(ids[i], x[i], y[i]); // also records the displacement that carries riders
+        }
+    }
+
+    /** Place a path mover at the distance travelled so far */
+    private void placeOnPath(int i) {
+        if (loop[i] <= 0) return; // single waypoint
+
+        double d = (time * speed[i]) % loop[i];
+        for (int k = 0; k < pathLength[i]; k++) {
+            double len = segment(i, k);
+            if (d <= len || k == pathLength[i] - 1) {
+                lerp(i, k, (k + 1) % pathLength[i], len > 0 ? Math.min(d / len, 1) : 1);
+                return;
+            }
+            d -= len;
+        }
+    }
+
+    /** Place a beat mover between the waypoints of the last beat */
+    private void placeOnBeat(int i) {
+        if (beats == 0) return; // still at start
+
+        int n = pathLength[i];
+        double t = glide[i] > 0 ? Math.min((time - lastBeat) / glide[i], 1) : 1;
+        lerp(i, (beats - 1) % n, beats % n, t);
+    }
+
+    private void lerp(int i, int from, int to, double t) {
+        int a = (pathStart[i] + from) * 2, b = (pathStart[i] + to) * 2;
+        x[i] = points[a] + (points[b] - points[a]) * t;
+        y[i] = points[a + 1] + (points[b + 1] - points[a + 1]) * t;
+    }
+
+    /** Length of the segment from waypoint k to the next */
+    private double segment(int i, int k) {
+        int a = (pathStart[i] + k) * 2, b = (pathStart[i] + (k + 1) % pathLength[i]) * 2;
+        return Math.hypot(points[b] - points[a], points[b + 1] - points[a + 1]);
+    }
+
+    /** Get number of movers */
+    public int size() {
+        return count;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getPrevX(int i) {
+        return prevX[i];
+    }
+
+    public double getPrevY(int i) {
+        return prevY[i];
+    }
+}
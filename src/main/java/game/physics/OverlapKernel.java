@@ -0,0 +1,15 @@
+package game.physics;
+
+/** Tests one box against a run of boxes, like actors or platforms, stored as flat arrays, producing a bit mask of hits */
+public interface OverlapKernel {
+    /**
+     * Test a box against boxes from, inclusive, to to, exclusive, touching edges included
+     * @param mask receives bit (i &amp; 63) of word (i &gt;&gt; 6) for each overlapping box from + i, needs (to - from + 63) / 64 words
+     * @return number of overlapping boxes
+     */
+    int overlaps(
+        double[] minX, double[] minY, double[] maxX, double[] maxY, int from, int to,
+        double boxMinX, double boxMinY, double boxMaxX, double boxMaxY,
+        long[] mask
+    );
+}
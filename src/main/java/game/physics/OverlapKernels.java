@@ -0,0 +1,30 @@
+package game.physics;
+
+/**
+ * Picks the overlap kernel for this build and JVM, used by {@link game.actor.TouchSystem} to test the player against every actor.
+ * The vector kernel only exists in builds with the {@code vector} profile and needs the jdk.incubator.vector module
+ * at runtime; otherwise the scalar kernel is used.
+ */
+public final class OverlapKernels {
+    private static final OverlapKernel SCALAR = new ScalarOverlapKernel();
+    private static final OverlapKernel BEST = load();
+
+    private OverlapKernels() {}
+
+    /** Get the fastest available kernel */
+    public static OverlapKernel best() {
+        return BEST;
+    }
+
+    /** Get the scalar kernel */
+    public static OverlapKernel scalar() {
+        return SCALAR;
+    }
+
+    private static OverlapKernel load() {
+        try {
+            return (OverlapKernel) Class.forName("game.physics.VectorOverlapKernel").getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError ignored) {} // not built in, or module not added
+        return SCALAR;
+    }
+}
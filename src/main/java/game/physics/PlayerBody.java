@@ -0,0 +1,263 @@
+package game.physics;
+
+import game.Constants.kLevel;
+import game.Constants.kPlayer;
+
+/**
+ * Player physics state resolved against a {@link CollisionWorld}.
+ * Holds no JavaFX state, so it may be stepped on any thread.
+ * Standing on a moving platform carries the body by the platform's last move. Movers do not push,
+ * so one moving into the body from the side or below simply passes through it, and one rising faster than
+ * the collision margin per step leaves the body behind.
+ */
+public class PlayerBody implements PlayerPhysics {
+    // position is the top left corner
+    private double x;
+    private double y;
+    private double prevX; // position before the last step, for render interpolation
+    private double prevY;
+    private double vx = 0;
+    private double vy = 0;
+    private double coyoteTimer = 0.0;
+
+    private int deaths = 0;
+
+    private boolean died = false;
+
+    private final ContactManager contacts = new ContactManager(); // platforms touched, kept between steps
+
+    /**
+     * Create a body
+     * @param x start x
+     * @param y start y
+     */
+    public PlayerBody(double x, double y) {
+        this.x = prevX = x;
+        this.y = prevY = y;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getPrevX() {
+        return prevX;
+    }
+
+    public double getPrevY() {
+        return prevY;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public void setDeaths(int deaths) {
+        this.deaths = deaths;
+    }
+
+    /** Die now as if fallen off the map: respawn and count a death */
+    public void kill() {
+        // respawn, without interpolating across the map
+        x = prevX = kLevel.SPAWNPOINT[0];
+        y = prevY = kLevel.SPAWNPOINT[1];
+
+        // reset speed
+        vx = vy = 0;
+
+        // counting
+        died = true;
+        deaths++;
+    }
+
+    /** Whether the body died during the last step */
+    public boolean hasDied() {
+        return died;
+    }
+
+    /** Subscribe to enter, stay and exit events of touched platforms */
+    public void addContactListener(ContactListener listener) {
+        contacts.addListener(listener);
+    }
+
+    /**
+     * Advance physics by one step
+     * @param dt delta time in seconds
+     * @param left left held
+     * @param right right held
+     * @param jump jump held
+     * @param world collision world
+     */
+    public void step(double dt, boolean left, boolean right, boolean jump, CollisionWorld world) {
+        // init
+        died = false;
+
+        // carried along by a mover landed on during the last step
+        double carryX = 0, carryY = 0;
+        for (int i = 0; i < contacts.getCount(); i++) {
+            int p = contacts.getId(i);
+            if (contacts.isLanded(i) && world.getType(p) == CollisionWorld.MOVER) {
+                carryX = world.getMoveX(p);
+                carryY = world.getMoveY(p);
+                break;
+            }
+        }
+
+        contacts.begin();
+
+        boolean onGround = false;
+
+        // velocities
+        if (left && !right) vx = -kPlayer.VEL_MOVE;
+        else if (right && !left) vx = kPlayer.VEL_MOVE;
+        else vx = 0;
+        vy += kPlayer.GRAVITY * dt; // y vel via gravity
+
+        // previous values (current)
+        prevX = x;
+        prevY = y; // also means previous top coordinate
+        double prevBottom = prevY + kPlayer.HEIGHT;
+
+        // carry is part of the motion, so walls still stop a carried player
+        double dx = vx * dt + carryX;
+        double dy = vy * dt + carryY;
+
+        // broadphase, only platforms near the swept box from previous to tentative position
+        int candidates = world.query(
+            Math.min(prevX, prevX + dx), Math.min(prevY, prevY + dy),
+            Math.max(prevX, prevX + dx) + kPlayer.WIDTH, Math.max(prevY, prevY + dy) + kPlayer.HEIGHT
+        );
+
+        // continuous collision, stop each axis at its earliest contact so long steps cannot tunnel
+        x = prevX + dx;
+        int hitX = sweepX(world, candidates, dx);
+        if (hitX >= 0) x = dx > 0 ? world.getMinX(hitX) - kPlayer.WIDTH : world.getMaxX(hitX);
+
+        y = prevY + dy;
+        int hitY = sweepY(world, candidates, dy);
+        if (hitY >= 0) y = dy > 0 ? world.getMinY(hitY) - kPlayer.HEIGHT : world.getMaxY(hitY);
+
+        // contacts at the committed position, new positions to be processed below
+
+        // x-axis collision processing
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (!world.isActive(p)) continue; // skip inactive blocks
+
+            // if intersecting
+            if (world.overlaps(p, x, y, x + kPlayer.WIDTH, y + kPlayer.HEIGHT)) {
+                // ORIGINAL X-AXIS COLLISION BY Crowvic; y-axis if statements merged
+                if ( // either y-collision case already to be solved
+                    prevBottom <= world.getMinY(p) + kPlayer.COLLISION_MARGIN ||
+                    prevY >= world.getMaxY(p) - kPlayer.COLLISION_MARGIN
+                ) continue;
+
+                if (vx > 0) x = world.getMinX(p) - kPlayer.WIDTH; // player right + platform left
+                else if (vx < 0) x = world.getMaxX(p); // player left + platform right
+                else x = prevX;
+                vx = 0;
+            }
+        }
+
+        // y-axis collision processing
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (!world.isActive(p)) continue; // skip inactive blocks
+
+            // if intersecting
+            if (world.overlaps(p, x, y, x + kPlayer.WIDTH, y + kPlayer.HEIGHT)) {
+                // detection
+                if (prevBottom <= world.getMinY(p) + kPlayer.COLLISION_MARGIN) { // player bottom + platform top
+                    y = world.getMinY(p) - kPlayer.HEIGHT;
+
+                    vy = 0;
+                    onGround = true;
+
+                    contacts.add(p, true); // landed on top
+                } else if (prevY >= world.getMaxY(p) - kPlayer.COLLISION_MARGIN) { // player top + platform bottom
+                    y = world.getMaxY(p);
+
+                    vy = 0;
+                }
+            }
+        }
+
+        // remaining contacts at the resolved position
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (world.isActive(p) && world.overlaps(p, x, y, x + kPlayer.WIDTH, y + kPlayer.HEIGHT)) contacts.add(p, false);
+        }
+
+        // coyote timer processing
+        if (onGround) coyoteTimer = kPlayer.COYOTE_TIME; // reset on ground
+        else coyoteTimer = Math.max(0.0, coyoteTimer - dt); // count down until min of 0
+
+        // process jump
+        if (
+            jump &&
+            (onGround || coyoteTimer > 0.0) // allow when on ground or within coyote window
+        ) {
+            vy = kPlayer.VEL_JUMP; // override previous y vel
+            coyoteTimer = 0.0; // consume coyote time
+        }
+
+        contacts.end(world); // report contact changes
+    }
+
+    /**
+     * Find the first solid platform hit when moving horizontally from the previous position.
+     * Platforms left to the y-axis pass by the collision margin are ignored, so small ledges can still be stepped onto.
+     * @return platform id, or -1 if none
+     */
+    private int sweepX(CollisionWorld world, int candidates, double dx) {
+        int hit = -1;
+        double earliest = Sweep.NO_HIT;
+
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (!world.isActive(p)) continue; // skip inactive blocks
+            if (
+                prevY + kPlayer.HEIGHT <= world.getMinY(p) + kPlayer.COLLISION_MARGIN ||
+                prevY >= world.getMaxY(p) - kPlayer.COLLISION_MARGIN
+            ) continue;
+
+            double t = Sweep.timeOfImpact(
+                prevX, prevY, prevX + kPlayer.WIDTH, prevY + kPlayer.HEIGHT, dx, 0,
+                world.getMinX(p), world.getMinY(p), world.getMaxX(p), world.getMaxY(p)
+            );
+            if (t < earliest) {
+                earliest = t;
+                hit = p;
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * Find the first solid platform hit when moving vertically from the previous y at the resolved x
+     * @return platform id, or -1 if none
+     */
+    private int sweepY(CollisionWorld world, int candidates, double dy) {
+        int hit = -1;
+        double earliest = Sweep.NO_HIT;
+
+        for (int i = 0; i < candidates; i++) {
+            int p = world.getCandidate(i);
+            if (!world.isActive(p)) continue; // skip inactive blocks
+
+            double t = Sweep.timeOfImpact(
+                x, prevY, x + kPlayer.WIDTH, prevY + kPlayer.HEIGHT, 0, dy,
+                world.getMinX(p), world.getMinY(p), world.getMaxX(p), world.getMaxY(p)
+            );
+            if (t < earliest) {
+                earliest = t;
+                hit = p;
+            }
+        }
+        return hit;
+    }
+}
@@ -0,0 +1,35 @@
+package game.physics;
+
+/** Player physics that can be stepped against a {@link CollisionWorld}, either floating or fixed point */
+public interface PlayerPhysics {
+    /**
+     * Advance physics by one step
+     * @param dt delta time in seconds
+     * @param left left held
+     * @param right right held
+     * @param jump jump held
+     * @param world collision world
+     */
+    void step(double dt, boolean left, boolean right, boolean jump, CollisionWorld world);
+
+    /** Subscribe to enter, stay and exit events of touched platforms */
+    void addContactListener(ContactListener listener);
+
+    double getX();
+
+    double getY();
+
+    double getPrevX();
+
+    double getPrevY();
+
+    int getDeaths();
+
+    void setDeaths(int deaths);
+
+    /** Die now as if fallen off the map: respawn and count a death */
+    void kill();
+
+    /** Whether the body died during the last step or kill */
+    boolean hasDied();
+}
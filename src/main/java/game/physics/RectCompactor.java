@@ -0,0 +1,160 @@
+package game.physics;
+
+import game.Constants.kPhysics;
+
+import java.util.Arrays;
+
+/**
+ * Merges touching or overlapping static rectangles into fewer rectangles covering exactly the same area.
+ * Each connected group is rasterized on its own compressed edge grid and greedily re-covered
+ * with the widest, then tallest, rectangles.
+ */
+public final class RectCompactor {
+    private RectCompactor() {}
+
+    /**
+     * Compact rectangles.
+     * @param rects flat minX, minY, maxX, maxY per rectangle
+     * @return flat minX, minY, maxX, maxY per compacted rectangle
+     */
+    public static double[] compact(double[] rects) {
+        int n = rects.length / 4;
+
+        // group touching rectangles
+        SpatialHash hash = new SpatialHash(kPhysics.HASH_CELL_SIZE);
+        for (int i = 0; i < n; i++) hash.insert(i, rects[i * 4], rects[i * 4 + 1], rects[i * 4 + 2], rects[i * 4 + 3]);
+        hash.build();
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+
+        for (int i = 0; i < n; i++) {
+            int candidates = hash.query(rects[i * 4], rects[i * 4 + 1], rects[i * 4 + 2], rects[i * 4 + 3]);
+            for (int c = 0; c < candidates; c++) {
+                int j = hash.getResult(c);
+                if (j <= i || degenerate(rects, i) || degenerate(rects, j)) continue; // lines and points stay as they are
+                if (touches(rects, i, j)) parent[find(parent, i)] = find(parent, j);
+            }
+        }
+
+        // members of each group, sorted so each group is contiguous
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(find(parent, a), find(parent, b)));
+
+        double[] out = new double[rects.length];
+        int outCount = 0;
+
+        int start = 0;
+        while (start < n) {
+            int end = start;
+            int root = find(parent, order[start]);
+            while (end < n && find(parent, order[end]) == root) end++;
+
+            int[] group = new int[end - start];
+            for (int k = start; k < end; k++) group[k - start] = order[k];
+
+            double[] merged = group.length == 1 ? null : mergeGroup(rects, group);
+            if (merged == null || merged.length >= group.length * 4) { // no gain, keep originals
+                for (int i : group) {
+                    System.arraycopy(rects, i * 4, out, outCount * 4, 4);
+                    outCount++;
+                }
+            } else {
+                System.arraycopy(merged, 0, out, outCount * 4, merged.length);
+                outCount += merged.length / 4;
+            }
+
+            start = end;
+        }
+
+        return Arrays.copyOf(out, outCount * 4);
+    }
+
+    /** Rasterize one group on its edge grid and re-cover it greedily, or null if the grid is too large */
+    private static double[] mergeGroup(double[] rects, int[] group) {
+        double[] xs = edges(rects, group, 0);
+        double[] ys = edges(rects, group, 1);
+        int cols = xs.length - 1;
+        int rows = ys.length - 1;
+        if ((long) cols * rows > kPhysics.COMPACT_MAX_CELLS) return null;
+
+        // mark covered cells
+        boolean[] covered = new boolean[cols * rows];
+        for (int i : group) {
+            int c0 = Arrays.binarySearch(xs, rects[i * 4]), c1 = Arrays.binarySearch(xs, rects[i * 4 + 2]);
+            int r0 = Arrays.binarySearch(ys, rects[i * 4 + 1]), r1 = Arrays.binarySearch(ys, rects[i * 4 + 3]);
+            for (int r = r0; r < r1; r++) Arrays.fill(covered, r * cols + c0, r * cols + c1, true);
+        }
+
+        // greedy cover, widest run first then extended downwards
+        boolean[] used = new boolean[cols * rows];
+        double[] out = new double[group.length * 4];
+        int count = 0;
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (!covered[r * cols + c] || used[r * cols + c]) continue;
+
+                int c1 = c;
+                while (c1 < cols && covered[r * cols + c1] && !used[r * cols + c1]) c1++;
+
+                int r1 = r + 1;
+                while (r1 < rows && runFree(covered, used, r1 * cols + c, r1 * cols + c1)) r1++;
+
+                for (int rr = r; rr < r1; rr++) Arrays.fill(used, rr * cols + c, rr * cols + c1, true);
+
+                if (count * 4 == out.length) return null; // worse than the input
+                out[count * 4] = xs[c];
+                out[count * 4 + 1] = ys[r];
+                out[count * 4 + 2] = xs[c1];
+                out[count * 4 + 3] = ys[r1];
+                count++;
+            }
+        }
+
+        return Arrays.copyOf(out, count * 4);
+    }
+
+    /** Sorted unique edges of a group along an axis, 0 for x and 1 for y */
+    private static double[] edges(double[] rects, int[] group, int axis) {
+        double[] e = new double[group.length * 2];
+        for (int k = 0; k < group.length; k++) {
+            e[k * 2] = rects[group[k] * 4 + axis];
+            e[k * 2 + 1] = rects[group[k] * 4 + 2 + axis];
+        }
+        Arrays.sort(e);
+
+        int unique = 0;
+        for (int k = 0; k < e.length; k++) {
+            if (k == 0 || e[k] != e[unique - 1]) e[unique++] = e[k];
+        }
+        return Arrays.copyOf(e, unique);
+    }
+
+    private static boolean runFree(boolean[] covered, boolean[] used, int from, int to) {
+        for (int k = from; k < to; k++) {
+            if (!covered[k] || used[k]) return false;
+        }
+        return true;
+    }
+
+    /** Whether two rectangles overlap or share an edge segment, corners alone do not count */
+    private static boolean touches(double[] r, int i, int j) {
+        double ox = Math.min(r[i * 4 + 2], r[j * 4 + 2]) - Math.max(r[i * 4], r[j * 4]);
+        double oy = Math.min(r[i * 4 + 3], r[j * 4 + 3]) - Math.max(r[i * 4 + 1], r[j * 4 + 1]);
+        return ox >= 0 && oy >= 0 && (ox > 0 || oy > 0);
+    }
+
+    private static boolean degenerate(double[] r, int i) {
+        return r[i * 4 + 2] <= r[i * 4] || r[i * 4 + 3] <= r[i * 4 + 1];
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; // path halving
+            i = parent[i];
+        }
+        return i;
+    }
+}
@@ -0,0 +1,25 @@
+package game.physics;
+
+/** Overlap kernel testing one platform at a time, always available */
+public class ScalarOverlapKernel implements OverlapKernel {
+    @Override
+    public int overlaps(
+        double[] minX, double[] minY, double[] maxX, double[] maxY, int from, int to,
+        double boxMinX, double boxMinY, double boxMaxX, double boxMaxY,
+        long[] mask
+    ) {
+        int hits = 0;
+        for (int start = from, w = 0; start < to; start += 64, w++) { // one mask word at a time
+            long word = 0;
+            int end = Math.min(to, start + 64);
+            for (int p = start; p < end; p++) {
+                // no branches, hits are rare and scattered so a branch per box is mostly mispredicted
+                boolean hit = maxX[p] >= boxMinX & maxY[p] >= boxMinY & minX[p] <= boxMaxX & minY[p] <= boxMaxY;
+                word |= (hit ? 1L : 0L) << (p - start);
+            }
+            mask[w] = word;
+            hits += Long.bitCount(word);
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,152 @@
+package game.physics;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform-grid spatial hash over integer ids with axis-aligned bounds.
+ * Entries are inserted once, then {@link #build()} packs them into flat bucket arrays
+ * so that queries never allocate. Queries are not reentrant; the result buffer is
+ * shared and only valid until the next query.
+ */
+public class SpatialHash {
+    private final double cellSize;
+
+    // pending entries, only used until build
+    private int pendingCount = 0;
+    private int[] pendingIds = new int[64];
+    private double[] pendingBounds = new double[64 * 4]; // minX, minY, maxX, maxY per entry
+
+    // packed buckets, bucket b holds items[bucketStart[b]] until items[bucketStart[b + 1]]
+    private int bucketMask = 0;
+    private int[] bucketStart = new int[1];
+    private int[] items = new int[0];
+
+    // query results and de-duplication stamps indexed by id
+    private int[] results = new int[64];
+    private int[] stamps = new int[0];
+    private int stamp = 0;
+
+    /**
+     * Create an empty spatial hash
+     * @param cellSize side length of one grid cell
+     */
+    public SpatialHash(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Add an entry, only visible to queries after the next {@link #build()}.
+     * @param id non-negative id returned by queries
+     */
+    public void insert(int id, double minX, double minY, double maxX, double maxY) {
+        if (pendingCount == pendingIds.length) { // grow
+            pendingIds = Arrays.copyOf(pendingIds, pendingCount * 2);
+            pendingBounds = Arrays.copyOf(pendingBounds, pendingCount * 8);
+        }
+
+        pendingIds[pendingCount] = id;
+        pendingBounds[pendingCount * 4] = minX;
+        pendingBounds[pendingCount * 4 + 1] = minY;
+        pendingBounds[pendingCount * 4 + 2] = maxX;
+        pendingBounds[pendingCount * 4 + 3] = maxY;
+        pendingCount++;
+    }
+
+    /** Pack all inserted entries into buckets. */
+    public void build() {
+        // count cell entries to size the bucket table
+        int cellEntries = 0;
+        int maxId = -1;
+        for (int i = 0; i < pendingCount; i++) {
+            cellEntries += cellSpan(i);
+            maxId = Math.max(maxId, pendingIds[i]);
+        }
+
+        int buckets = Integer.highestOneBit(Math.max(16, cellEntries) - 1) << 1; // power of two at least entries
+        bucketMask = buckets - 1;
+        bucketStart = new int[buckets + 1];
+        items = new int[cellEntries];
+
+        // first pass, bucket sizes
+        for (int i = 0; i < pendingCount; i++) {
+            forEachCell(i, (b) -> bucketStart[b + 1]++);
+        }
+        for (int b = 0; b < buckets; b++) bucketStart[b + 1] += bucketStart[b]; // prefix sums
+
+        // second pass, fill
+        int[] fill = Arrays.copyOf(bucketStart, buckets);
+        for (int i = 0; i < pendingCount; i++) {
+            int id = pendingIds[i];
+            forEachCell(i, (b) -> items[fill[b]++] = id);
+        }
+
+        stamps = new int[maxId + 1];
+        stamp = 0;
+    }
+
+    /**
+     * Collect the ids of all entries whose cells touch the given box. Results are
+     * unique and sorted ascending, so callers see entries in insertion id order.
+     * @return number of results, read through {@link #getResult(int)}
+     */
+    public int query(double minX, double minY, double maxX, double maxY) {
+        if (++stamp == 0) { // stamp overflow, clear
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+
+        int count = 0;
+        int cx0 = cell(minX), cx1 = cell(maxX);
+        int cy0 = cell(minY), cy1 = cell(maxY);
+
+        for (int cx = cx0; cx <= cx1; cx++) {
+            for (int cy = cy0; cy <= cy1; cy++) {
+                int b = bucket(cx, cy);
+                for (int k = bucketStart[b]; k < bucketStart[b + 1]; k++) {
+                    int id = items[k];
+                    if (stamps[id] == stamp) continue; // already collected
+
+                    stamps[id] = stamp;
+                    if (count == results.length) results = Arrays.copyOf(results, count * 2);
+                    results[count++] = id;
+                }
+            }
+        }
+
+        Arrays.sort(results, 0, count);
+        return count;
+    }
+
+    /** Get a result of the last query */
+    public int getResult(int i) {
+        return results[i];
+    }
+
+    /** Get grid cell size */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+    }
+
+    private int cellSpan(int i) {
+        return (cell(pendingBounds[i * 4 + 2]) - cell(pendingBounds[i * 4]) + 1) *
+            (cell(pendingBounds[i * 4 + 3]) - cell(pendingBounds[i * 4 + 1]) + 1);
+    }
+
+    private void forEachCell(int i, IntConsumer action) {
+        int cx0 = cell(pendingBounds[i * 4]), cx1 = cell(pendingBounds[i * 4 + 2]);
+        int cy0 = cell(pendingBounds[i * 4 + 1]), cy1 = cell(pendingBounds[i * 4 + 3]);
+
+        for (int cx = cx0; cx <= cx1; cx++) {
+            for (int cy = cy0; cy <= cy1; cy++) action.accept(bucket(cx, cy));
+        }
+    }
+}
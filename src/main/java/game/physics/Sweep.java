@@ -0,0 +1,54 @@
+package game.physics;
+
+/** Swept axis-aligned box tests for continuous collision */
+public final class Sweep {
+    /** Returned when a moving box never hits the target within its motion */
+    public static final double NO_HIT = Double.POSITIVE_INFINITY;
+
+    private Sweep() {}
+
+    /**
+     * Find when a box moving by (dx, dy) first touches a static target box.
+     * Boxes that only graze along an edge, or that already overlap at the start, do not count as hits.
+     * @return time of impact as a fraction of the motion from 0 to 1, or {@link #NO_HIT}
+     */
+    public static double timeOfImpact(
+        double minX, double minY, double maxX, double maxY,
+        double dx, double dy,
+        double tMinX, double tMinY, double tMaxX, double tMaxY
+    ) {
+        // entry and exit times along x
+        double entryX, exitX;
+        if (dx > 0) {
+            entryX = (tMinX - maxX) / dx;
+            exitX = (tMaxX - minX) / dx;
+        } else if (dx < 0) {
+            entryX = (tMaxX - minX) / dx;
+            exitX = (tMinX - maxX) / dx;
+        } else {
+            if (maxX <= tMinX || minX >= tMaxX) return NO_HIT; // never overlapping on x
+            entryX = Double.NEGATIVE_INFINITY;
+            exitX = Double.POSITIVE_INFINITY;
+        }
+
+        // entry and exit times along y
+        double entryY, exitY;
+        if (dy > 0) {
+            entryY = (tMinY - maxY) / dy;
+            exitY = (tMaxY - minY) / dy;
+        } else if (dy < 0) {
+            entryY = (tMaxY - minY) / dy;
+            exitY = (tMinY - maxY) / dy;
+        } else {
+            if (maxY <= tMinY || minY >= tMaxY) return NO_HIT; // never overlapping on y
+            entryY = Double.NEGATIVE_INFINITY;
+            exitY = Double.POSITIVE_INFINITY;
+        }
+
+        double entry = Math.max(entryX, entryY);
+        double exit = Math.min(exitX, exitY);
+
+        if (entry >= exit || entry < 0 || entry > 1) return NO_HIT; // grazing, already overlapping, or too far
+        return entry;
+    }
+}
@@ -1,6 +1,6 @@
 package game.platform;
 
-import javafx.scene.image.Image;
+import game.element.SpriteAtlas.Sprite;
 import javafx.scene.image.ImageView;
 
 /** Non-instantiable class for Image-based static size platform */
@@ -9,13 +9,14 @@ public abstract class SpritePlatform extends ImageView implements Platform {
      * Construct a SpritePlat
      * @param x x position
      * @param y y position
-     * @param image The sprite image to use
+     * @param sprite The sprite to use, null for none yet
      */
     public SpritePlatform(
         double x, double y,
-        Image image
+        Sprite sprite
     ) {
-        super(image);
+        super();
+        if (sprite != null) sprite.applyTo(this);
 
         // position
         setX(x);
@@ -1,21 +1,39 @@
 package game.platform.types;
 
+import game.element.SpriteAnimation;
 import game.platform.SpritePlatform;
+import game.Constants.kAnimation;
 import game.Constants.kBlock;
-import javafx.scene.image.Image;
-
-import java.io.InputStream;
 
 /** A music-based pulsing sprite platform */
 public class Block extends SpritePlatform {
     /** Enum of block types */
     public enum BlockType {
-        STUB, SHORT, LONG, VERTICAL
+        STUB(kBlock.STUB_WIDTH, kBlock.STUB_HEIGHT),
+        SHORT(kBlock.SHORT_WIDTH, kBlock.SHORT_HEIGHT),
+        LONG(kBlock.LONG_WIDTH, kBlock.LONG_HEIGHT),
+        VERTICAL(kBlock.VERTICAL_WIDTH, kBlock.VERTICAL_HEIGHT);
+
+        private final double width;
+        private final double height;
+
+        BlockType(double width, double height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        public double getWidth() {
+            return width;
+        }
+
+        public double getHeight() {
+            return height;
+        }
     }
 
-    // sprites
-    private Image spriteActive;
-    private Image spriteInactive;
+    // sprites, pulsing sheets or stills
+    private final SpriteAnimation animActive;
+    private final SpriteAnimation animInactive;
 
     // dimensions
     private double w;
@@ -29,58 +47,16 @@ public class Block extends SpritePlatform {
         BlockType type,
         boolean inverted // if inactive on start
     ) {
-        super(x, y, null); // start with null image
-
-        // automatic block type processing
-        switch (type) {
-            case STUB -> {
-                try (
-                    InputStream fActive = Block.class.getResourceAsStream("/sprites/blocks/block_active_20x12.png");
-                    InputStream fInactive = Block.class.getResourceAsStream("/sprites/blocks/block_inactive_20x12.png")
-                ) {
-                    spriteActive = new Image(fActive);
-                    spriteInactive = new Image(fInactive);
-                    w = kBlock.STUB_WIDTH;
-                    h = kBlock.STUB_HEIGHT;
-                } catch (Exception ignored) {}
-            }
-            case SHORT -> {
-                try (
-                    InputStream fActive = Block.class.getResourceAsStream("/sprites/blocks/block_active_80x20.png");
-                    InputStream fInactive = Block.class.getResourceAsStream("/sprites/blocks/block_inactive_80x20.png")
-                ) {
-                    spriteActive = new Image(fActive);
-                    spriteInactive = new Image(fInactive);
-                    w = kBlock.SHORT_WIDTH;
-                    h = kBlock.SHORT_HEIGHT;
-                } catch (Exception ignored) {}
-            }
-            case LONG -> {
-                try (
-                    InputStream fActive = Block.class.getResourceAsStream("/sprites/blocks/block_active_160x20.png");
-                    InputStream fInactive = Block.class.getResourceAsStream("/sprites/blocks/block_inactive_160x20.png")
-                ) {
-                    spriteActive = new Image(fActive);
-                    spriteInactive = new Image(fInactive);
-                    w = kBlock.LONG_WIDTH;
-                    h = kBlock.LONG_HEIGHT;
-                } catch (Exception ignored) {}
-            }
-            case VERTICAL -> {
-                try (
-                    InputStream fActive = Block.class.getResourceAsStream("/sprites/blocks/block_active_20x200.png");
-                    InputStream fInactive = Block.class.getResourceAsStream("/sprites/blocks/block_inactive_20x200.png")
-                ) {
-                    spriteActive = new Image(fActive);
-                    spriteInactive = new Image(fInactive);
-                    w = kBlock.VERTICAL_WIDTH;
-                    h = kBlock.VERTICAL_HEIGHT;
-                } catch (Exception ignored) {}
-            }
-        }
-        setImage(
-            inverted ? spriteInactive : spriteActive
-        );
+        super(x, y, null); // sprite set once the type is known
+
+        // sprite by block size, i.e. block_active_20x12.png
+        String size = (int) type.getWidth() + "x" + (int) type.getHeight();
+        animActive = SpriteAnimation.get(kAnimation.BLOCK_PULSE_FPS, true, "blocks/block_active_" + size);
+        animInactive = SpriteAnimation.get(kAnimation.BLOCK_PULSE_FPS, true, "blocks/block_inactive_" + size);
+        w = type.getWidth();
+        h = type.getHeight();
+
+        (inverted ? animInactive : animActive).getFrame(0).applyTo(this);
 
         active = !inverted;
     }
@@ -99,9 +75,12 @@ public class Block extends SpritePlatform {
     public void toggle() {
         active = !active;
 
-        setImage( // swap sprite
-            active ? spriteActive : spriteInactive
-        );
+        getAnimation().getFrame(0).applyTo(this); // swap sprite, an AnimationClock moves it on from here
+    }
+
+    /** Get the animation of the current state */
+    public SpriteAnimation getAnimation() {
+        return active ? animActive : animInactive;
     }
 
     /** Get current state */
@@ -0,0 +1,22 @@
+package game.platform.types;
+
+import game.platform.RectPlatform;
+import game.Constants.kMover;
+import javafx.scene.paint.Color;
+
+/** A rect platform moved along a path, geometry is driven by the level's MoverSystem */
+public class Mover extends RectPlatform {
+    public Mover(
+        double x, double y,
+        double width, double height
+    ) {
+        super(
+            x, y,
+            width, height,
+            Color.web(kMover.COLOR)
+        );
+
+        setArcWidth(kMover.CORNER_RADIUS * 2);
+        setArcHeight(kMover.CORNER_RADIUS * 2);
+    }
+}
@@ -1,10 +1,14 @@
 package game.platform.types;
 
+import game.AssetManager;
+import game.Constants.kAnimation;
+import game.Constants.kAssets;
 import game.Constants.kTile;
-import game.GameManager;
+import game.GameSession;
 import game.element.Clef;
+import game.element.SpriteAnimation;
+import game.element.SpriteAtlas;
 import game.platform.SpritePlatform;
-import javafx.scene.image.Image;
 import javafx.scene.media.AudioClip;
 
 /** A special sprite platform that plays a note upon collision */
@@ -13,6 +17,8 @@ public class Tile extends SpritePlatform {
     private final Clef clef;
     private final String note;
     private final AudioClip sound;
+    private final SpriteAnimation press; // played when the note starts, ends on the resting look
+    private final GameSession session; // sfx volume
 
     private boolean on = false; // whether the Tile is triggered
 
@@ -22,23 +28,29 @@ public class Tile extends SpritePlatform {
      * @param y y position
      * @param clef The clef of note to use
      * @param note Lowercase fully-qualified two-character note identifier, i.e. a3
+     * @param session session whose sfx volume the note plays at
      */
     public Tile(
         double x, double y,
-        Clef clef, String note
+        Clef clef, String note,
+        GameSession session
     ) {
         super(
             x, y,
-            new Image(Tile.class.getResourceAsStream("/sprites/tiles/tile_" + note.charAt(0) + ".png"))
+            SpriteAtlas.get("tiles/tile_" + note.charAt(0) + ".png")
         );
 
         this.clef = clef;
         this.note = note;
+        this.session = session;
 
-        sound = new AudioClip(
-            getClass().getResource(
-                "/sfx/notes/" + clef.name().toLowerCase() + "_" + note + ".wav"
-            ).toString()
+        press = SpriteAnimation.get(
+            kAnimation.TILE_PRESS_FPS, false,
+            "tiles/tile_" + note.charAt(0) + "_press", "tiles/tile_" + note.charAt(0)
+        );
+
+        sound = AssetManager.clip( // shared by all tiles of the note
+            kAssets.NOTES + clef.name().toLowerCase() + "_" + note + ".wav"
         );
     }
 
@@ -56,10 +68,15 @@ public class Tile extends SpritePlatform {
     public void trigger() { // RESTORED; BY SpaceCat321
         if (!on) { // no dupe check
             on = true;
-            sound.play(GameManager.getSfxVolume());
+            if (sound != null) sound.play(session.getSfxVolume());
         }
     }
 
+    /** Get the animation played when the note starts */
+    public SpriteAnimation getPressAnimation() {
+        return press;
+    }
+
     /** Call when Tile should end being triggered */
     public void release() { // RESTORED; BY SpaceCat321
         on = false;
@@ -1,11 +1,14 @@
 package game.screen;
 
-import game.GameManager;
+import game.AssetManager;
+import game.GameSession;
 import game.ScreenManager;
 import game.Constants.kWindow;
 import game.Constants.kEndScreen;
 import game.Constants.kUI;
+import game.element.SpriteAtlas;
 import game.element.SpriteButton;
+import javafx.animation.FadeTransition;
 import javafx.scene.Parent;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -13,33 +16,42 @@ import javafx.scene.layout.Pane;
 import javafx.scene.media.AudioClip;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import javafx.util.Duration;
 
 /** Simple end-game screen shown when player reaches a door. */
 public class EndScreen implements Screen {
     private final Pane root = new Pane();
+    private final GameSession session;
 
     private ImageView bg;
+    private final FadeTransition bgFade;
     private Text values; // numbers next to labels
 
     private AudioClip sfxComplete;
 
-    public EndScreen(ScreenManager manager, double width, double height) {
+    public EndScreen(ScreenManager manager, GameSession session, double width, double height) {
+        this.session = session;
         root.setPrefSize(width, height);
 
         // bg
         bg = new ImageView();
+        bg.setFitWidth(width); // supplied at reduced resolution
+        bg.setFitHeight(height);
+        bg.setSmooth(true);
         root.getChildren().add(bg);
+
+        bgFade = new FadeTransition(Duration.millis(kEndScreen.BG_FADE_MILLIS), bg);
+        bgFade.setFromValue(0.0);
+        bgFade.setToValue(1.0);
         root.getChildren().add(new Rectangle( // shaded overlay
             kWindow.WIDTH, kWindow.HEIGHT,
             Color.web(kUI.CUSTOM_BLACK + kEndScreen.BG_OVERLAY_OPACITY)
         ));
 
         // fine
-        ImageView fine = new ImageView(new Image(
-            getClass().getResourceAsStream("/sprites/misc/fine.png")
-        ));
+        ImageView fine = new ImageView();
+        SpriteAtlas.get("misc/fine.png").applyTo(fine);
         fine.setX(kEndScreen.FINE_POS[0]);
         fine.setY(kEndScreen.FINE_POS[1]);
         root.getChildren().add(fine);
@@ -50,20 +62,14 @@ public class EndScreen implements Screen {
             kEndScreen.TEXT_LABEL_POS[1],
             "    deaths\n        time\n\nbest time"
         );
-        labels.setFont(Font.loadFont(
-            getClass().getResourceAsStream("/fonts/Nepomuk-Regular.otf"),
-            kEndScreen.TEXT_SIZE
-        ));
+        labels.setFont(AssetManager.font("/fonts/Nepomuk-Regular.otf", kEndScreen.TEXT_SIZE));
         labels.setFill(Color.web(kUI.LIGHT));
         root.getChildren().add(labels);
 
         values = new Text();
         values.setX(kEndScreen.TEXT_VALUES_POS[0]);
         values.setY(kEndScreen.TEXT_VALUES_POS[1]);
-        values.setFont(Font.loadFont(
-            getClass().getResourceAsStream("/fonts/Nepomuk-Regular.otf"),
-            kEndScreen.TEXT_SIZE
-        ));
+        values.setFont(AssetManager.font("/fonts/Nepomuk-Regular.otf", kEndScreen.TEXT_SIZE));
         values.setFill(Color.web(kUI.ACCENT_LIGHT));
         root.getChildren().add(values);
 
@@ -73,20 +79,20 @@ public class EndScreen implements Screen {
             kEndScreen.BUTTON_PLAYAGAIN_POS[1],
             "playagain",
             () -> manager.switchTo(ScreenType.GAME),
-            true
+            true,
+            session
         ));
         root.getChildren().add(new SpriteButton( // menu
             kEndScreen.BUTTON_MENU_POS[0],
             kEndScreen.BUTTON_MENU_POS[1],
             "menu",
             () -> manager.switchTo(ScreenType.HOME),
-            true
+            true,
+            session
         ));
 
         // sfx
-        sfxComplete = new AudioClip(
-            getClass().getResource("/sfx/complete.wav").toString()
-        );
+        sfxComplete = AssetManager.clip("/sfx/complete.wav");
     }
 
     @Override
@@ -96,18 +102,23 @@ public class EndScreen implements Screen {
 
     @Override
     public void onEnter() {
+        // hide the last background until the new one is ready
+        bgFade.stop();
+        bg.setImage(null);
+        bg.setOpacity(0.0);
+
         // update text values
         values.setText(
             String.format(
                 "%d\n%d:%02d\n\n%d:%02d",
-                GameManager.getDeaths(),
-                GameManager.getCurrentTime() / 60, GameManager.getCurrentTime() % 60,
-                GameManager.getBestTime() / 60, GameManager.getBestTime() % 60
+                session.getDeaths(),
+                session.getCurrentTime() / 60, session.getCurrentTime() % 60,
+                session.getBestTime() / 60, session.getBestTime() % 60
             )
         );
 
         // play sound
-        sfxComplete.play(GameManager.getSfxVolume());
+        if (sfxComplete != null) sfxComplete.play(session.getSfxVolume());
 
         root.requestFocus();
     }
@@ -115,5 +126,6 @@ public class EndScreen implements Screen {
     @Override
     public void supplyBackground(Image image) {
         bg.setImage(image);
+        bgFade.playFromStart();
     }
 }
@@ -0,0 +1,63 @@
+package game.screen;
+
+import java.util.Arrays;
+
+/**
+ * Pulse intervals and time spent copying snapshots into nodes during one level, summarized when it ends
+ * so world renderers can be compared. Keeps the latest frames only.
+ */
+class FrameTimes {
+    private static final int CAPACITY = 1 << 16; // about 18 minutes at 60 fps
+
+    private final long[] intervals = new long[CAPACITY];
+    private final long[] updates = new long[CAPACITY];
+    private int count = 0;
+    private long lastPulse = 0;
+
+    /**
+     * Record one pulse
+     * @param pulse System.nanoTime() at the start of the pulse
+     * @param update nanoseconds spent updating nodes
+     */
+    void record(long pulse, long update) {
+        if (lastPulse != 0) {
+            intervals[count % CAPACITY] = pulse - lastPulse;
+            updates[count % CAPACITY] = update;
+            count++;
+        }
+        lastPulse = pulse;
+    }
+
+    /** Leave out the interval to the next pulse, i.e. across a pause */
+    void skip() {
+        lastPulse = 0;
+    }
+
+    /** Whether any frame was recorded */
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Summarize recorded frames
+     * @param label what was measured
+     * @return one line with mean, p99 and max in milliseconds
+     */
+    String summary(String label) {
+        int n = Math.min(count, CAPACITY);
+        return String.format(
+            "%s: %d frames, frame time %s, node update %s",
+            label, n, stats(intervals, n), stats(updates, n)
+        );
+    }
+
+    private static String stats(long[] values, int n) {
+        long[] sorted = Arrays.copyOf(values, n);
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+        return String.format(
+            "mean %.2f ms p99 %.2f ms max %.2f ms",
+            mean, sorted[(int) (n * 0.99)] / 1_000_000.0, sorted[n - 1] / 1_000_000.0
+        );
+    }
+}
@@ -4,145 +4,238 @@ import com.adonax.audiocue.AudioCue;
 import com.adonax.audiocue.AudioCueInstanceEvent;
 import com.adonax.audiocue.AudioCueInstanceEvent.Type;
 import com.adonax.audiocue.AudioCueListener;
+import game.AssetManager;
 import game.Constants.kGameScreen;
-import game.Constants.kEndScreen;
 import game.Constants.kLevel;
-import game.Constants.kPlayer;
+import game.Constants.kPhysics;
 import game.Constants.kUI;
 import game.Constants.kChart;
-import game.GameManager;
+import game.GameSession;
 import game.InputHandler;
 import game.ScreenManager;
 import game.element.*;
-import game.platform.types.Block;
-import game.platform.types.ClefMarker;
+import game.platform.types.Tile;
+import game.sim.FrameSnapshot;
+import game.sim.FrameSnapshot.PlayerFrame;
+import game.sim.InputSource;
+import game.sim.Simulation;
 import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.scene.Parent;
-import javafx.scene.effect.GaussianBlur;
-import javafx.scene.image.Image;
+import javafx.scene.effect.ColorAdjust;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
+import javafx.scene.shape.Rectangle;
 
-import java.io.InputStream;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Main game loop screen
+ * Main game loop screen.
+ * The game itself runs on a {@link Simulation} thread; each FX pulse only copies its latest snapshot into nodes.
+ * With more than one player the screen is split into a view per player, each following its own camera.
+ * Pausing, by button, Escape or P, or when the window loses focus, parks the simulation, stops the pulse timer and
+ * the audio cues and swaps the live scene for one still of it, so nothing is updated until resumed.
  */
 public class GameScreen implements Screen {
+    /** What one camera shows: the world, actors and particles, clipped to its part of the screen */
+    private static class View {
+        final int index; // player followed
+        final double x; // left on screen
+        final double width;
+        final Pane pane = new Pane();
+        final Pane world = new Pane();
+        final Player[] players; // sprite of every player
+        final ActorLayer actorLayer;
+        final ParticleLayer.View particleLayer;
+
+        View(int index, double x, double width, double height, int players, ParticleLayer particles) {
+            this.index = index;
+            this.x = x;
+            this.width = width;
+            this.players = new Player[players];
+            actorLayer = new ActorLayer(width, height); // hazards, collectibles and wanderers over the world
+            particleLayer = particles.newView(width, height); // shared tile hits and deaths, own key pickups, under the HUD
+
+            pane.setLayoutX(x);
+            pane.setPrefSize(width, height);
+            pane.setClip(new Rectangle(width, height));
+        }
+    }
+
     // root level things
     private final Pane root = new Pane();
+    private Pane live; // everything drawn while playing
     private final InputHandler input;
     private final ScreenManager manager;
+    private final GameSession session;
 
     // elements
-    private Pane world;
+    private View[] views;
+    private ParticleLayer particles; // world bursts, stepped once per pulse and drawn by every view
     private Pane hud;
 
     private Level level;
-    private Player player;
+    private Simulation simulation;
 
     private Map<Clef, Chart> charts = new HashMap<>();
     private Map<Clef, Key> keys = new HashMap<>();
 
-    private Text deathText;
-    private Text timerText;
+    private HudText deathText;
+    private HudText timerText;
 
-    private AnimationTimer timer; // global delta time counter
+    private SpriteButton pauseButton;
+    private Pane pauseLayer; // still of the scene and the resume button, shown instead of live while paused
+    private ImageView frozenFrame;
+    private ChangeListener<Boolean> focusListener; // pauses when the window goes to the background
+
+    private AnimationTimer timer; // draws the latest snapshot every pulse
+    private FrameTimes frameTimes; // printed on exit to compare world renderers, null unless --frame-times
 
     // music and sfx
     private AudioCue musicIntro;
     private AudioCue musicMain;
     private AudioCue blockCue;
+    private AudioCueListener introListener; // removed on exit, the cues are shared with later runs
+    private AudioCueListener blockCueListener;
 
     private int musicIntroInst;
     private int musicMainInst;
     private int blockCueInst;
 
+    // instances playing when paused, started again on resume
+    private boolean introPlaying;
+    private boolean mainPlaying;
+    private boolean blockPlaying;
+
     // values
     private final int width;
     private final int height;
 
-    private double cameraX = 0;
-    private double cameraY = 0;
+    private final double tickNanos = 1_000_000_000.0 / kPhysics.TICK_RATE; // fixed simulation step
 
-    private double elapsedTime = 0.0; // seconds since level start
+    private int[] shownDeaths; // deaths of each player that already had their burst
+
+    private volatile boolean paused = false; // read by audio listener threads
+    private long pausedAt = 0; // System.nanoTime() of the current pause
+    private long pausedNanos = 0; // total paused time, left out of the animation clock
 
     private boolean initialized = false;
-    private boolean timerRunning = false;
 
     /** Create the GameScreen
      * @param manager A ScreenManager
+     * @param session The session played in
      * @param input An InputHandler
      * @param width The window width
      * @param height The window height
      */
-    public GameScreen(ScreenManager manager, InputHandler input, int width, int height) {
+    public GameScreen(ScreenManager manager, GameSession session, InputHandler input, int width, int height) {
         this.manager = manager;
+        this.session = session;
         this.input = input;
         this.width = width;
         this.height = height;
 
         root.setPrefSize(width, height);
+
+        root.addEventHandler(KeyEvent.KEY_PRESSED, e -> { // toggle pause
+            if (!initialized || (e.getCode() != KeyCode.ESCAPE && e.getCode() != KeyCode.P)) return;
+
+            if (paused) resume();
+            else pause();
+        });
     }
 
     /** Construct everything within the GameScreen, separate from constructor */
     private void init() {
         if (getClass().getResource("/coconut.png") == null) { Platform.exit(); return; }
 
+        live = new Pane();
+        live.setPrefSize(width, height);
+
         // add bg
-        try(InputStream f = getClass().getResourceAsStream("/sprites/bg/bg_blank.png")) {
-            root.getChildren().add(new ImageView(new Image(f)));
-        } catch (Exception exception) {}
-
-        // world
-        world = new Pane();
-        level = new Level();
-        
+        live.getChildren().add(new ImageView(AssetManager.image("/sprites/bg/bg_blank.png")));
+
+        // views, side by side with a divider between them
+        int players = session.getPlayers();
+        double viewWidth = (width - (players - 1) * kGameScreen.SPLIT_DIVIDER) / players;
+        views = new View[players];
+        particles = new ParticleLayer();
+        Pane[] worlds = new Pane[players];
+        for (int v = 0; v < players; v++) {
+            views[v] = new View(v, v * (viewWidth + kGameScreen.SPLIT_DIVIDER), viewWidth, height, players, particles);
+            worlds[v] = views[v].world;
+        }
+        shownDeaths = new int[players];
+
+        // world, built once and shown by every view
+        level = new Level(session);
+
         try {
-            level.build(world); // attempt level creation
+            level.build(worlds, session.getWorldRenderer()); // attempt level creation
         } catch (Exception ignored) {}
 
-        player = new Player( // create the player
-            kLevel.SPAWNPOINT[0],
-            kLevel.SPAWNPOINT[1],
-            input
-        );
-        
-        world.getChildren().add(player);
-        root.getChildren().add(world); // add world
+        for (View view : views) {
+            for (int p = 0; p < players; p++) {
+                view.players[p] = new Player( // create the player
+                    kLevel.SPAWNPOINT[0],
+                    kLevel.SPAWNPOINT[1],
+                    level.getAnimations()
+                );
+                if (p > 0) view.players[p].setEffect(new ColorAdjust(kGameScreen.SPLIT_PLAYER_HUE * p, 0, 0, 0)); // tell players apart
+                view.world.getChildren().add(view.players[p]);
+            }
+
+            view.pane.getChildren().addAll(view.world, view.actorLayer, view.particleLayer);
+            live.getChildren().add(view.pane); // add world
+        }
+        for (int v = 1; v < players; v++) {
+            Rectangle divider = new Rectangle(views[v].x - kGameScreen.SPLIT_DIVIDER, 0, kGameScreen.SPLIT_DIVIDER, height);
+            divider.setFill(Color.web(kUI.CUSTOM_BLACK));
+            live.getChildren().add(divider);
+        }
+
+        Map<Clef, String[]> melodies = new EnumMap<>(Clef.class);
+        melodies.put(Clef.TREBLE, kGameScreen.MELODY_TREBLE);
+        melodies.put(Clef.ALTO, kGameScreen.MELODY_ALTO);
+        melodies.put(Clef.BASS, kGameScreen.MELODY_BASS);
+
+        InputSource[] inputs = {input}; // alone, every key set steers the player
+        if (players > 1) {
+            inputs = new InputSource[players];
+            for (int p = 0; p < players; p++) inputs[p] = input.getPlayer(p);
+        }
+        simulation = new Simulation(session, level.getWorld(), inputs, melodies, (int) viewWidth, height);
 
         // HUD
         hud = new Pane();
         hud.setPrefSize(width, height);
 
-        Chart chartTreble = new Chart(Clef.TREBLE, kGameScreen.MELODY_TREBLE);
+        Chart chartTreble = new Chart(simulation.getChart(Clef.TREBLE));
         chartTreble.setLayoutX((width - kChart.WIDTH) / 2);
         chartTreble.setLayoutY(kGameScreen.CHART_POS_Y);
         charts.put(Clef.TREBLE, chartTreble);
         hud.getChildren().add(chartTreble);
 
-        Chart chartAlto = new Chart(Clef.ALTO, kGameScreen.MELODY_ALTO);
+        Chart chartAlto = new Chart(simulation.getChart(Clef.ALTO));
         chartAlto.setLayoutX((width - kChart.WIDTH) / 2);
         chartAlto.setLayoutY(kGameScreen.CHART_POS_Y);
         charts.put(Clef.ALTO, chartAlto);
         hud.getChildren().add(chartAlto);
 
-        Chart chartBass = new Chart(Clef.BASS, kGameScreen.MELODY_BASS);
+        Chart chartBass = new Chart(simulation.getChart(Clef.BASS));
         chartBass.setLayoutX((width - kChart.WIDTH) / 2);
         chartBass.setLayoutY(kGameScreen.CHART_POS_Y);
         charts.put(Clef.BASS, chartBass);
         hud.getChildren().add(chartBass);
 
         ImageView keyBracket = new ImageView();
-        try (InputStream f = getClass().getResourceAsStream("/sprites/keys/keybracket.png")) {
-            keyBracket.setImage(new Image(f));
-        } catch (Exception ignored) {}
+        SpriteAtlas.get("keys/keybracket.png").applyTo(keyBracket);
         keyBracket.setX(kGameScreen.KEY_BRACKET_POS[0]);
         keyBracket.setY(kGameScreen.KEY_BRACKET_POS[1]);
         hud.getChildren().add(keyBracket);
@@ -165,60 +258,77 @@ public class GameScreen implements Screen {
         keys.put(Clef.BASS, keyBass);
         hud.getChildren().add(keyBass);
 
-        deathText = new Text(
+        deathText = new HudText( // drawn from pre-rasterized glyphs, redrawn only on change
             kGameScreen.TEXT_DEATHS_POS[0],
             kGameScreen.TEXT_DEATHS_POS[1],
-            "deaths\n0"
+            "deaths",
+            AssetManager.font("/fonts/Nepomuk-Italic.otf", kGameScreen.HUD_TEXT_SIZE),
+            Color.web(kUI.CUSTOM_BLACK)
         );
-        try (InputStream f = getClass().getResourceAsStream("/fonts/Nepomuk-Italic.otf")) {
-            deathText.setFont(Font.loadFont(f, kGameScreen.HUD_TEXT_SIZE));
-        } catch (Exception ignored) {}
-        deathText.setFill(Color.web(kUI.CUSTOM_BLACK));
+        deathText.setCount(0);
         hud.getChildren().add(deathText);
 
-        timerText = new Text(
+        timerText = new HudText(
             kGameScreen.TEXT_TIMER_POS[0],
             kGameScreen.TEXT_TIMER_POS[1],
-            "timer\n00:00"
+            "time",
+            AssetManager.font("/fonts/Nepomuk-Italic.otf", kGameScreen.HUD_TEXT_SIZE),
+            Color.web(kUI.CUSTOM_BLACK)
         );
-        try (InputStream f = getClass().getResourceAsStream("/fonts/Nepomuk-Italic.otf")) {
-            timerText.setFont(Font.loadFont(f, kGameScreen.HUD_TEXT_SIZE));
-        } catch (Exception ignored) {}
-        timerText.setFill(Color.web(kUI.CUSTOM_BLACK));
+        timerText.setTime(0);
         hud.getChildren().add(timerText);
 
-        root.getChildren().add(hud);
+        pauseButton = new SpriteButton(
+            kGameScreen.BUTTON_PAUSE_POS[0],
+            kGameScreen.BUTTON_PAUSE_POS[1],
+            "pause",
+            this::pause,
+            false,
+            session
+        );
+        pauseButton.setFocusTraversable(false); // space must keep jumping
+        hud.getChildren().add(pauseButton);
+
+        live.getChildren().add(hud);
+
+        // pause, a still of the live scene dimmed under the resume button
+        pauseLayer = new Pane();
+        pauseLayer.setPrefSize(width, height);
+        pauseLayer.setVisible(false);
+
+        frozenFrame = new ImageView();
+        Rectangle dim = new Rectangle(width, height, Color.BLACK);
+        dim.setOpacity(kGameScreen.PAUSE_DIM);
+        SpriteButton resumeButton = new SpriteButton(
+            kGameScreen.BUTTON_RESUME_POS[0],
+            kGameScreen.BUTTON_RESUME_POS[1],
+            "resume",
+            this::resume,
+            false,
+            session
+        );
+        resumeButton.setFocusTraversable(false);
+        pauseLayer.getChildren().addAll(frozenFrame, dim, resumeButton);
+
+        root.getChildren().setAll(live, pauseLayer);
 
         // setup global timer
+        frameTimes = session.isFrameTimes() ? new FrameTimes() : null;
         timer = new AnimationTimer() {
-            private long last = 0;
-
             @Override
             public void handle(long now) {
-                if (last == 0) last = now;
-                double delta = (now - last) / 1_000_000_000.0;
-                last = now;
-                update(delta);
+                long start = System.nanoTime(); // same clock as the simulation's snapshots
+                render(start);
+                if (frameTimes != null) frameTimes.record(start, System.nanoTime() - start);
             }
         };
 
-        // music
-        try {
-            musicIntro = AudioCue.makeStereoCue(
-                getClass().getResource("/music/gameloop_intro.wav"),
-                1
-            );
-            musicMain = AudioCue.makeStereoCue(
-                getClass().getResource("/music/gameloop_main.wav"),
-                1
-            );
-            blockCue = AudioCue.makeStereoCue(
-                getClass().getResource("/music/gameloop_castanet.wav"),
-                1
-            );
-        } catch (Exception ignored) {}
+        // music, decoded once and reused by every run
+        musicIntro = AssetManager.cue("/music/gameloop_intro.wav");
+        musicMain = AssetManager.cue("/music/gameloop_main.wav");
+        blockCue = AssetManager.cue("/music/gameloop_castanet.wav");
 
-        AudioCueListener introListener = new AudioCueListener() {
+        introListener = new AudioCueListener() {
             @Override
             public void audioCueOpened(long l, int i, int i1, AudioCue audioCue) {}
 
@@ -227,15 +337,16 @@ public class GameScreen implements Screen {
 
             @Override
             public void instanceEventOccurred(AudioCueInstanceEvent audioCueInstanceEvent) {
-                if (audioCueInstanceEvent.type == Type.STOP_INSTANCE) { // once intro finishes playing
-                    musicMainInst = musicMain.play(GameManager.getMusicVolume());
+                if (audioCueInstanceEvent.type == Type.STOP_INSTANCE && !paused) { // once intro finishes playing, not on pause
+                    musicMainInst = musicMain.play(session.getMusicVolume());
                     musicMain.setLooping(musicMainInst, -1);
                 }
             }
         };
         musicIntro.addAudioCueListener(introListener);
 
-        AudioCueListener blockCueListener = new AudioCueListener() {
+        Simulation beatTarget = simulation; // captured, the field is cleared on exit while audio threads may still fire
+        blockCueListener = new AudioCueListener() {
             @Override
             public void audioCueOpened(long l, int i, int i1, AudioCue audioCue) {}
 
@@ -245,9 +356,7 @@ public class GameScreen implements Screen {
             @Override
             public void instanceEventOccurred(AudioCueInstanceEvent audioCueInstanceEvent) {
                 if (audioCueInstanceEvent.type == Type.LOOP) { // on loop
-                    Platform.runLater(() -> {
-                        for (Block b : level.getBlocks()) b.toggle(); // toggle all Blocks
-                    });
+                    beatTarget.beat(); // toggle all Blocks, step beat movers, on the next tick
                 }
             }
         };
@@ -266,11 +375,8 @@ public class GameScreen implements Screen {
     public void onEnter() {
         if (!initialized) init(); // run initialization
 
-        // reset timer
-        elapsedTime = 0.0;
-
         // set timer
-        timerRunning = true;
+        if (simulation != null) simulation.start();
         if (timer != null) timer.start();
 
         // begin playing intro music and looping block cue
@@ -280,23 +386,83 @@ public class GameScreen implements Screen {
             blockCue.open();
         } catch (Exception ignored) {}
 
-        musicIntroInst = musicIntro.play(GameManager.getMusicVolume());
+        musicIntroInst = musicIntro.play(session.getMusicVolume());
 
-        blockCueInst = blockCue.play(GameManager.getMusicVolume());
+        blockCueInst = blockCue.play(session.getMusicVolume());
         blockCue.setLooping(blockCueInst, -1);
 
+        if (root.getScene() != null && root.getScene().getWindow() != null) {
+            focusListener = (obs, was, focused) -> {
+                if (!focused) pause(); // stays paused until resumed by the player
+            };
+            root.getScene().getWindow().focusedProperty().addListener(focusListener);
+        }
+
+        root.requestFocus();
+    }
+
+    /** Freeze the game: park the simulation, stop pulses and audio and show a still of the scene */
+    private void pause() {
+        if (paused || !initialized) return;
+        paused = true;
+        pausedAt = System.nanoTime();
+
+        simulation.pause();
+        timer.stop();
+        input.releaseAll(); // releases are missed while in the background
+
+        // stop, not release, so start resumes each instance where it was
+        introPlaying = musicIntro.getIsPlaying(musicIntroInst);
+        mainPlaying = musicMain.getIsPlaying(musicMainInst);
+        blockPlaying = blockCue.getIsPlaying(blockCueInst);
+        if (introPlaying) musicIntro.stop(musicIntroInst);
+        if (mainPlaying) musicMain.stop(musicMainInst);
+        if (blockPlaying) blockCue.stop(blockCueInst);
+
+        // one still replaces the live nodes, nothing is laid out or drawn again until resumed
+        pauseButton.setVisible(false);
+        frozenFrame.setImage(live.snapshot(null, null));
+        live.setVisible(false);
+        pauseLayer.setVisible(true);
+    }
+
+    /** Continue exactly where {@link #pause()} left off */
+    private void resume() {
+        if (!paused) return;
+
+        pauseLayer.setVisible(false);
+        frozenFrame.setImage(null);
+        live.setVisible(true);
+        pauseButton.setVisible(true);
+
+        if (introPlaying) musicIntro.start(musicIntroInst);
+        if (mainPlaying) musicMain.start(musicMainInst);
+        if (blockPlaying) blockCue.start(blockCueInst);
+
+        pausedNanos += System.nanoTime() - pausedAt;
+        if (frameTimes != null) frameTimes.skip(); // the pause is not a frame
+        simulation.resume();
+        timer.start();
+        paused = false;
+
         root.requestFocus();
     }
 
     @Override
     public void onExit() {
-        timerRunning = false;
+        if (simulation != null) simulation.stop(); // wait for the thread so nothing ticks a discarded level
         if (timer != null) timer.stop();
 
+        if (focusListener != null && root.getScene() != null && root.getScene().getWindow() != null) {
+            root.getScene().getWindow().focusedProperty().removeListener(focusListener);
+        }
+        focusListener = null;
+
         if (musicIntro.getIsPlaying(musicIntroInst)) {
             musicIntro.stop(musicIntroInst);
             musicIntro.releaseInstance(musicIntroInst);
         }
+        musicIntro.removeAudioCueListener(introListener);
         musicIntro.close();
 
         if (musicMain.getIsPlaying(musicMainInst)) {
@@ -307,14 +473,21 @@ public class GameScreen implements Screen {
 
         blockCue.stop(blockCueInst);
         blockCue.releaseInstance(blockCueInst);
+        blockCue.removeAudioCueListener(blockCueListener);
         blockCue.close();
 
+        if (frameTimes != null && !frameTimes.isEmpty()) {
+            System.out.println(frameTimes.summary("World renderer " + level.getRenderer()));
+        }
+
         // reset game screen (method moved)
         // elements
-        world = null;
+        views = null;
+        particles = null;
         hud = null;
+        shownDeaths = null;
         level = null;
-        player = null;
+        simulation = null;
 
         charts = new HashMap<>();
         keys = new HashMap<>();
@@ -322,110 +495,118 @@ public class GameScreen implements Screen {
         deathText = null;
         timerText = null;
 
+        live = null;
+        pauseButton = null;
+        pauseLayer = null;
+        frozenFrame = null;
+        root.getChildren().clear();
+        paused = false;
+        pausedNanos = 0;
+
         timer = null;
+        frameTimes = null;
 
-        // values
-        cameraX = cameraY = 0;
-        elapsedTime = 0.0;
+        introListener = null;
+        blockCueListener = null;
 
         // make ready for another init
         initialized = false;
     }
 
-    private void update(double dt) {
-        if (timerRunning) elapsedTime += dt;
-        int totalTime = (int) Math.floor(elapsedTime);
-
-        // call player updater
-        player.update(dt, level.getAllPlatforms());
-
-        // THEN call updater for all charts
-        for (Chart chart : charts.values()) {
-            if (chart.isVisible() && !chart.isCompleted()) chart.update(dt, player.getCurrentTileNote());
-        }
-
-        // update HUD text elements
-        if (timerText != null) timerText.setText(
-            String.format("time\n%d:%02d", totalTime / 60, totalTime % 60) // minutes, seconds
-        );
-        if (deathText != null) deathText.setText("deaths\n" + player.getDeaths());
-
-        // player death
-        if (player.hasDied()) {
-            // reset all Charts in the hope that current one is also reset
-            for (Chart chart : charts.values()) chart.reset();
-
-            return; // skip all processing
-        }
-
-        // camera location processing, follow player
-        double playerCenterX = player.getX() + kPlayer.WIDTH / 2.0;
-        double playerCenterY = player.getY() + kPlayer.HEIGHT / 2.0;
-
-        cameraX += (playerCenterX - width / 2.0 - cameraX) / 10.0;
-        cameraY += (playerCenterY - height / 2.0 - cameraY - kGameScreen.OFFSET_PLAYER_Y) / 10.0;
+    /**
+     * Draw the latest snapshot interpolated between its tick and the one before
+     * @param now System.nanoTime() of this pulse
+     */
+    private void render(long now) {
+        FrameSnapshot frame = simulation.getSnapshots().latest();
+        double alpha = Math.min(1.0, Math.max(0.0, (now - frame.time()) / tickNanos)); // fraction of a tick since the snapshot
 
-        world.setTranslateX(-cameraX);
-        world.setTranslateY(-cameraY);
+        level.getAnimations().tick((now - pausedNanos) / 1_000_000_000.0); // one clock for every animated sprite, paused time left out
+        render(frame, alpha);
 
         // check exits (only finish if player has collected all keys)
-        if (player.isAtExit() && player.hasAllKeys()) {
+        if (frame.finished()) {
+            int totalTime = (int) Math.floor(frame.elapsedTime());
+
             // set game values
-            GameManager.setDeaths(player.getDeaths());
-            GameManager.setCurrentTime(totalTime);
-            GameManager.setBestTime(
-                GameManager.getBestTime() != 0 // as long as not first game
-                    ? Math.min(GameManager.getBestTime(), totalTime) // either existing best time or new current time
-                    : totalTime // set to current time no matter what
-            );
+            session.recordRun(frame.deaths(), totalTime);
 
             // switch screens
             if (manager != null) {
-                ImageView temp = new ImageView(root.snapshot(null, null));
-                temp.setEffect(new GaussianBlur(kEndScreen.BLUR_SIZE));
+                render(frame, 1.0); // show the final tick
 
-                manager.switchTo(ScreenType.END, temp.snapshot(null, null)); // provide current snapshot
+                // blurred on a worker, the end screen shows at once and fades it in when ready
+                manager.switchTo(ScreenType.END, SnapshotBlur.capture(root, width, height));
             }
-
-            // skip all remaining processing
-            return;
         }
+    }
 
-        // find nearest ClefMarker from player
-        double clefNearestDistance = Double.MAX_VALUE;
-        ClefMarker nearestClefMarker = null;
-
-        for (ClefMarker marker: level.getMarkers()) {
-            double roomCenterX  = marker.getX() + marker.getWidth() / 2;
-            double roomCenterY = marker.getY() + marker.getHeight() / 2;
+    /**
+     * Copy a snapshot into nodes
+     * @param frame simulated state
+     * @param alpha fraction of a tick elapsed since the snapshot's tick, 0 to 1
+     */
+    private void render(FrameSnapshot frame, double alpha) {
+        // tile sounds, in the order they happened
+        while (simulation.hasTileEvent()) {
+            int e = simulation.pollTileEvent();
+            Tile tile = (Tile) level.getCollisionOwner(e >= 0 ? e : ~e);
+            if (e < 0) tile.release();
+            else if (!tile.isTriggered()) {
+                tile.trigger();
+                level.getAnimations().restart(tile, tile.getPressAnimation());
+                particles.emit(ParticleBurst.TILE, tile.getX() + tile.getWidth() / 2, tile.getY());
+            }
+        }
 
-            double dx = playerCenterX - roomCenterX ; // horizontal difference between player and room block
-            double dy = playerCenterY - roomCenterY ;
-            double distance = Math.sqrt(dx * dx + dy * dy); // determines how close the player is to the room block
+        for (int p = 0; p < views.length; p++) {
+            if (frame.players()[p].deaths() <= shownDeaths[p]) continue;
 
-            if (distance < clefNearestDistance) { // find nearest room block
-                clefNearestDistance = distance;
-                nearestClefMarker = marker;
-            }
+            shownDeaths[p] = frame.players()[p].deaths();
+            View own = views[p]; // burst where the player was last drawn, kept in their view when falling out of it
+            Player player = own.players[p];
+            particles.emit(
+                ParticleBurst.DEATH,
+                player.getX() + player.getBoundsInLocal().getWidth() / 2,
+                Math.min(player.getY() + player.getBoundsInLocal().getHeight() / 2, height - own.world.getTranslateY())
+            );
         }
+        particles.step();
 
-        // check proximity from nearest ClefMarker and show/hide correct chart
-        if (nearestClefMarker != null && clefNearestDistance < kGameScreen.CHART_THRESHOLD) {
-            Clef currClef = nearestClefMarker.getRoomType();
+        level.syncBlocks(frame.beats());
+        level.renderMovers(frame.movers(), alpha);
 
-            if (!charts.get(currClef).isVisible()) {
-                charts.get(currClef).show(); // display the chart if not displayed
+        for (View view : views) { // each camera culls and draws only what it sees
+            for (int p = 0; p < view.players.length; p++) {
+                PlayerFrame pf = frame.players()[p];
+                view.players[p].render(pf.prevX(), pf.prevY(), pf.x(), pf.y(), pf.facingLeft(), alpha);
             }
 
-            if (charts.get(currClef).isCompleted()) { // on melody complete
-                keys.get(currClef).collect(); // change key image
-                player.obtainKey(currClef); // change internal player key status
-            }
-        } else { // player is not in room
-            for (Chart chart : charts.values()) {
-                if (!chart.isCompleted()) chart.reset(); // reset if incomplete
-                chart.hide(); // hide and reset all, also hiding the correct one
+            PlayerFrame followed = frame.players()[view.index];
+            double cameraX = followed.prevCameraX() + (followed.cameraX() - followed.prevCameraX()) * alpha;
+            double cameraY = followed.prevCameraY() + (followed.cameraY() - followed.prevCameraY()) * alpha;
+            view.world.setTranslateX(-cameraX);
+            view.world.setTranslateY(-cameraY);
+            level.cull(view.index, cameraX, cameraY, view.width, height);
+            view.actorLayer.render(frame.actors(), frame.actorKinds(), frame.actorCount(), alpha, cameraX, cameraY);
+            view.particleLayer.render(cameraX, cameraY);
+        }
+
+        for (Clef c : Clef.values()) {
+            charts.get(c).sync(frame.charts()[c.ordinal()]);
+            Key key = keys.get(c);
+            if (frame.keys()[c.ordinal()] && !key.isCollected()) {
+                key.collect(); // change key image
+                double keyX = key.getX() + key.getBoundsInLocal().getWidth() / 2;
+                for (View view : views) { // screen burst, in the view under the key
+                    if (keyX < view.x || keyX >= view.x + view.width) continue;
+                    view.particleLayer.emit(ParticleBurst.KEY, keyX - view.x, key.getY() + key.getBoundsInLocal().getHeight() / 2);
+                }
             }
         }
+
+        // update HUD text elements
+        if (timerText != null) timerText.setTime((int) Math.floor(frame.elapsedTime())); // minutes, seconds
+        if (deathText != null) deathText.setCount(frame.deaths());
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,11 @@
 package game.screen;
 
+import game.AssetManager;
+import game.GameSession;
 import game.ScreenManager;
 import game.element.SpriteButton;
 import game.Constants.kGuideScreen;
 import javafx.scene.Parent;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 
@@ -12,13 +13,11 @@ import javafx.scene.layout.Pane;
 public class GuideScreen implements Screen {
     private final Pane root = new Pane();
 
-    public GuideScreen(ScreenManager manager, double width, double height) {
+    public GuideScreen(ScreenManager manager, GameSession session, double width, double height) {
         root.setPrefSize(width, height);
 
         // bg
-        root.getChildren().add(new ImageView(new Image(
-            getClass().getResourceAsStream("/sprites/bg/bg_guide.png")
-        )));
+        root.getChildren().add(new ImageView(AssetManager.image("/sprites/bg/bg_guide.png")));
 
         // button
         root.getChildren().add(new SpriteButton(
@@ -26,7 +25,8 @@ public class GuideScreen implements Screen {
             kGuideScreen.BUTTON_BACK_POS[1],
             "back",
             () -> manager.switchTo(ScreenType.HOME),
-            false
+            false,
+            session
         ));
     }
 
@@ -1,41 +1,40 @@
 package game.screen;
 
 import com.adonax.audiocue.AudioCue;
+import game.AssetManager;
 import game.Constants.kHomeScreen;
 import game.Constants.kUI;
-import game.GameManager;
+import game.GameSession;
 import game.ScreenManager;
+import game.element.SpriteAtlas;
 import game.element.SpriteButton;
 import javafx.scene.Parent;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 
-import java.io.InputStream;
-
 // Home screen UI
 public class HomeScreen implements Screen {
     private final Pane root = new Pane();
+    private final GameSession session;
 
     private AudioCue music;
     private int musicInst;
 
-    public HomeScreen(ScreenManager manager, double width, double height) {
+    public HomeScreen(ScreenManager manager, GameSession session, double width, double height) {
+        this.session = session;
         root.setPrefSize(width, height);
 
         // images
-        try (InputStream fontFile = getClass().getResourceAsStream("/fonts/Nepomuk-Italic.otf")) {
+        try {
             root.getChildren().add(new ImageView( // display backdrop
-                new Image(getClass().getResourceAsStream("/sprites/bg/bg_blank.png"))
+                AssetManager.image("/sprites/bg/bg_blank.png")
             ));
 
             // logo
-            ImageView logo = new ImageView( // get logo image first
-                new Image(getClass().getResourceAsStream("/sprites/misc/logo.png"))
-            );
+            ImageView logo = new ImageView(); // get logo image first
+            SpriteAtlas.get("misc/logo.png").applyTo(logo);
             logo.relocate(kHomeScreen.LOGO_POS[0], kHomeScreen.LOGO_POS[1]);
             root.getChildren().add(logo);
 
@@ -45,21 +44,24 @@ public class HomeScreen implements Screen {
                 kHomeScreen.BUTTON_PLAY_POS[1],
                 "play",
                 () -> manager.switchTo(ScreenType.GAME),
-                false
+                false,
+                session
             ));
             root.getChildren().add(new SpriteButton( // settings
                 kHomeScreen.BUTTON_SETTINGS_POS[0],
                 kHomeScreen.BUTTON_SETTINGS_POS[1],
                 "settings",
                 () -> manager.switchTo(ScreenType.SETTINGS),
-                false
+                false,
+                session
             ));
             root.getChildren().add(new SpriteButton( // guide
                 kHomeScreen.BUTTON_GUIDE_POS[0],
                 kHomeScreen.BUTTON_GUIDE_POS[1],
                 "guide",
                 () -> manager.switchTo(ScreenType.GUIDE),
-                false
+                false,
+                session
             ));
 
             // version text
@@ -68,18 +70,13 @@ public class HomeScreen implements Screen {
                 kHomeScreen.VERSION_TEXT_POS[1],
                 kHomeScreen.VERSION_TEXT
             );
-            versionText.setFont(Font.loadFont(fontFile, kHomeScreen.VERSION_TEXT_SIZE));
+            versionText.setFont(AssetManager.font("/fonts/Nepomuk-Italic.otf", kHomeScreen.VERSION_TEXT_SIZE));
             versionText.setFill(Color.web(kUI.CUSTOM_BLACK));
             root.getChildren().add(versionText);
         } catch (Exception ignored) {}
 
         // music
-        try {
-            music = AudioCue.makeStereoCue(
-                getClass().getResource("/music/homescreen.wav"),
-                1
-            );
-        } catch (Exception ignored) {}
+        music = AssetManager.cue("/music/homescreen.wav"); // decoded once, opened on each enter
     }
 
     @Override
@@ -92,7 +89,7 @@ public class HomeScreen implements Screen {
         try {
             music.open();
         } catch (Exception ignored) {}
-        musicInst = music.play(GameManager.getMusicVolume());
+        musicInst = music.play(session.getMusicVolume());
         music.setLooping(musicInst, -1); // set indefinite looping
     }
 
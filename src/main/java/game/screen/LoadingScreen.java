@@ -0,0 +1,53 @@
+package game.screen;
+
+import game.AssetManager;
+import game.Constants.kLoadingScreen;
+import game.Constants.kUI;
+import javafx.concurrent.Task;
+import javafx.scene.Parent;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+
+/** Shown while assets are decoded in the background, with the fraction done */
+public class LoadingScreen implements Screen {
+    private final Pane root = new Pane();
+    private final Task<Void> task;
+
+    /**
+     * Create the LoadingScreen
+     * @param task preload task, started when the screen is entered
+     * @param done run on the FX thread once the task ends, whether or not every asset loaded
+     * @param width The window width
+     * @param height The window height
+     */
+    public LoadingScreen(Task<Void> task, Runnable done, double width, double height) {
+        this.task = task;
+        root.setPrefSize(width, height);
+
+        root.getChildren().add(new ImageView(AssetManager.image("/sprites/bg/bg_blank.png"))); // decoded first, shown at once
+
+        ProgressBar bar = new ProgressBar();
+        bar.setLayoutX(kLoadingScreen.BAR_POS[0]);
+        bar.setLayoutY(kLoadingScreen.BAR_POS[1]);
+        bar.setPrefWidth(kLoadingScreen.BAR_WIDTH);
+        bar.setStyle("-fx-accent: " + kUI.ACCENT_LIGHT + ";");
+        bar.progressProperty().bind(task.progressProperty());
+        root.getChildren().add(bar);
+
+        task.setOnSucceeded(e -> done.run());
+        task.setOnFailed(e -> done.run()); // missing assets load, or fail, again on first use
+    }
+
+    @Override
+    public Parent getRoot() {
+        return root;
+    }
+
+    @Override
+    public void onEnter() {
+        Thread t = new Thread(task, "asset-preload");
+        t.setDaemon(true);
+        t.start();
+    }
+}
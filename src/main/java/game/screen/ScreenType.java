@@ -4,6 +4,7 @@ package game.screen;
  * All screen types
  */
 public enum ScreenType {
+    LOADING,
     HOME, SETTINGS, GUIDE,
     GAME, END,
     EDITOR
@@ -1,6 +1,7 @@
 package game.screen;
 
-import game.GameManager;
+import game.AssetManager;
+import game.GameSession;
 import game.ScreenManager;
 import game.element.SpriteButton;
 import game.Constants.kSettingsScreen;
@@ -8,7 +9,6 @@ import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.Parent;
 import javafx.scene.control.Slider;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 
@@ -16,13 +16,11 @@ import javafx.scene.layout.Pane;
 public class SettingsScreen implements Screen {
     private final Pane root = new Pane();
 
-    public SettingsScreen(ScreenManager manager, double width, double height) {
+    public SettingsScreen(ScreenManager manager, GameSession session, double width, double height) {
         root.setPrefSize(width, height);
 
         // bg
-        root.getChildren().add(new ImageView(new Image(
-            getClass().getResourceAsStream("/sprites/bg/bg_settings.png")
-        )));
+        root.getChildren().add(new ImageView(AssetManager.image("/sprites/bg/bg_settings.png")));
 
         // buttons
         root.getChildren().add(new SpriteButton(
@@ -30,11 +28,12 @@ public class SettingsScreen implements Screen {
             kSettingsScreen.BUTTON_BACK_POS[1],
             "back",
             () -> manager.switchTo(ScreenType.HOME),
-            false
+            false,
+            session
         ));
 
         // sliders
-        Slider sliderMusic = new Slider(0.0, 1.0, GameManager.getMusicVolume());
+        Slider sliderMusic = new Slider(0.0, 1.0, session.getMusicVolume());
         sliderMusic.getStylesheets().add(
             getClass().getResource("/slider.css").toExternalForm()
         );
@@ -45,13 +44,13 @@ public class SettingsScreen implements Screen {
             new ChangeListener<Number>() {
                 @Override
                 public void changed(ObservableValue<? extends Number> observableValue, Number number, Number t1) {
-                    GameManager.setMusicVolume(t1.doubleValue());
+                    session.setMusicVolume(t1.doubleValue());
                 }
             }
         );
         root.getChildren().add(sliderMusic);
 
-        Slider sliderSfx = new Slider(0.0, 1.0, GameManager.getSfxVolume());
+        Slider sliderSfx = new Slider(0.0, 1.0, session.getSfxVolume());
         sliderSfx.getStylesheets().add(
             getClass().getResource("/slider.css").toExternalForm()
         );
@@ -62,7 +61,7 @@ public class SettingsScreen implements Screen {
             new ChangeListener<Number>() {
                 @Override
                 public void changed(ObservableValue<? extends Number> observableValue, Number number, Number t1) {
-                    GameManager.setSfxVolume(t1.doubleValue());
+                    session.setSfxVolume(t1.doubleValue());
                 }
             }
         );
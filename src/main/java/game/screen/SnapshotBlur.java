@@ -0,0 +1,114 @@
+package game.screen;
+
+import game.Constants.kEndScreen;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.transform.Scale;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Blurred picture of a screen for the next one's background. The screen is captured once at reduced resolution,
+ * so the FX thread only renders a fraction of the pixels, and the blur runs on a worker as repeated box blurs
+ * over the pixel array, which together approach a Gaussian.
+ */
+final class SnapshotBlur {
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "snapshot-blur");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private SnapshotBlur() {}
+
+    /**
+     * Capture a node and blur it in the background, FX thread only
+     * @param node node to capture, from its origin
+     * @param width width to capture
+     * @param height height to capture
+     * @return blurred image at reduced resolution, completed on the FX thread
+     */
+    static CompletableFuture<Image> capture(Node node, double width, double height) {
+        int w = Math.max(1, (int) Math.ceil(width / kEndScreen.BLUR_DOWNSCALE));
+        int h = Math.max(1, (int) Math.ceil(height / kEndScreen.BLUR_DOWNSCALE));
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setTransform(new Scale(1.0 / kEndScreen.BLUR_DOWNSCALE, 1.0 / kEndScreen.BLUR_DOWNSCALE));
+        WritableImage small = node.snapshot(params, new WritableImage(w, h));
+
+        int[] pixels = new int[w * h];
+        small.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbPreInstance(), pixels, 0, w);
+
+        CompletableFuture<Image> result = new CompletableFuture<>();
+        worker.execute(() -> {
+            try {
+                blur(pixels, w, h, boxRadius(kEndScreen.BLUR_SIZE / 3.0 / kEndScreen.BLUR_DOWNSCALE));
+            } catch (Exception ignored) {} // shown unblurred
+
+            Platform.runLater(() -> {
+                small.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbPreInstance(), pixels, 0, w);
+                result.complete(small);
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Radius of the box whose repeated passes spread as far as a Gaussian
+     * @param sigma standard deviation of the Gaussian in pixels
+     */
+    private static int boxRadius(double sigma) {
+        double width = Math.sqrt(12 * sigma * sigma / kEndScreen.BLUR_PASSES + 1); // variance of n boxes is n(w^2 - 1) / 12
+        return Math.max(1, (int) Math.round((width - 1) / 2));
+    }
+
+    /** Blur premultiplied ARGB pixels in place, each pass horizontal then vertical */
+    private static void blur(int[] pixels, int w, int h, int radius) {
+        int[] temp = new int[pixels.length];
+        for (int pass = 0; pass < kEndScreen.BLUR_PASSES; pass++) {
+            box(pixels, temp, w, h, 1, w, radius); // rows
+            box(temp, pixels, h, w, w, 1, radius); // columns
+        }
+    }
+
+    /**
+     * One box blur along lines of pixels, with a running sum per channel and edges repeated
+     * @param src pixels to read
+     * @param dst pixels to write
+     * @param length pixels along a line
+     * @param lines number of lines
+     * @param step index distance between neighbours along a line
+     * @param stride index distance between the starts of two lines
+     * @param radius box radius
+     */
+    private static void box(int[] src, int[] dst, int length, int lines, int step, int stride, int radius) {
+        int size = 2 * radius + 1;
+
+        for (int line = 0; line < lines; line++) {
+            int start = line * stride;
+            int a = 0, r = 0, g = 0, b = 0;
+
+            for (int i = -radius; i <= radius; i++) { // window around the first pixel
+                int p = src[start + Math.min(length - 1, Math.max(0, i)) * step];
+                a += p >>> 24; r += (p >> 16) & 0xFF; g += (p >> 8) & 0xFF; b += p & 0xFF;
+            }
+
+            for (int i = 0; i < length; i++) {
+                dst[start + i * step] = (a / size) << 24 | (r / size) << 16 | (g / size) << 8 | (b / size);
+
+                int in = src[start + Math.min(length - 1, i + radius + 1) * step];
+                int out = src[start + Math.max(0, i - radius) * step];
+                a += (in >>> 24) - (out >>> 24);
+                r += ((in >> 16) & 0xFF) - ((out >> 16) & 0xFF);
+                g += ((in >> 8) & 0xFF) - ((out >> 8) & 0xFF);
+                b += (in & 0xFF) - (out & 0xFF);
+            }
+        }
+    }
+}
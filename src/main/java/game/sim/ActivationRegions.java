@@ -0,0 +1,270 @@
+package game.sim;
+
+import game.Constants.kLevel;
+
+import java.util.Arrays;
+
+/**
+ * Splits the map into rooms for activation: either rectangles declared in map.json, or the cells of the room markers,
+ * every point belonging to its nearest marker. Rooms are neighbours when their areas share an edge.
+ * Points outside every declared rectangle are in no room, which is always awake.
+ * Rooms are indexed in a uniform grid built once, each cell listing only the rooms that can contain its points,
+ * so finding the room of a point costs the same however many rooms the map has.
+ */
+public class ActivationRegions {
+    /** Region of points outside every declared rectangle */
+    public static final int NONE = -1;
+
+    /** Result of {@link #regionOfCell} for cells reaching more than one region */
+    public static final int MIXED = -2;
+
+    private final int count;
+    private final double[] sites; // marker centers x, y, null when declared
+    private final double[] rects; // minX, minY, maxX, maxY, null when derived from markers
+    private final boolean[][] adjacent;
+
+    // grid over the rooms, cell c lists the rooms cellRooms[cellStart[c]] to cellRooms[cellStart[c + 1]] in id order
+    private double gridX;
+    private double gridY;
+    private int cols = 0;
+    private int rows = 0;
+    private int[] cellStart = {0, 0};
+    private int[] cellRooms = new int[0];
+    private int[] cellRegion = {MIXED}; // room, NONE or MIXED per cell, the last for points off the grid
+
+    private ActivationRegions(double[] sites, double[] rects) {
+        this.sites = sites;
+        this.rects = rects;
+        count = sites != null ? sites.length / 2 : rects.length / 4;
+        adjacent = new boolean[count][count];
+    }
+
+    /**
+     * Index the rooms in a grid
+     * @param margin distance past the outermost rooms still covered, points beyond it are searched room by room
+     */
+    private void buildGrid(double margin) {
+        if (count == 0) return;
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, sites != null ? sites[i * 2] : rects[i * 4]);
+            minY = Math.min(minY, sites != null ? sites[i * 2 + 1] : rects[i * 4 + 1]);
+            maxX = Math.max(maxX, sites != null ? sites[i * 2] : rects[i * 4 + 2]);
+            maxY = Math.max(maxY, sites != null ? sites[i * 2 + 1] : rects[i * 4 + 3]);
+        }
+        if (sites == null) margin = 0; // nothing outside the rectangles is in a room
+        gridX = minX - margin;
+        gridY = minY - margin;
+        cols = (int) Math.floor((maxX + margin - gridX) / kLevel.REGION_CELL_SIZE) + 1;
+        rows = (int) Math.floor((maxY + margin - gridY) / kLevel.REGION_CELL_SIZE) + 1;
+
+        int cells = cols * rows;
+        cellStart = new int[cells + 2];
+        cellRegion = new int[cells + 1];
+        cellRegion[cells] = MIXED;
+        int[] found = new int[count];
+        int[] rooms = new int[count];
+        int total = 0;
+
+        for (int c = 0; c < cells; c++) {
+            // cell bounds padded by a pixel, so rounding in cellOf never places a point outside its cell
+            double x0 = gridX + (c % cols) * kLevel.REGION_CELL_SIZE - 1, x1 = x0 + kLevel.REGION_CELL_SIZE + 2;
+            double y0 = gridY + (double) (c / cols) * kLevel.REGION_CELL_SIZE - 1, y1 = y0 + kLevel.REGION_CELL_SIZE + 2;
+            int n = 0;
+            boolean covered = false; // a single room contains the whole cell
+
+            if (sites != null) {
+                // a marker can be nearest somewhere in the cell only if its closest point is no farther
+                // than the farthest point of the marker that is best in the worst case
+                double bound = Double.MAX_VALUE;
+                for (int i = 0; i < count; i++) bound = Math.min(bound, farthest(sites[i * 2], sites[i * 2 + 1], x0, y0, x1, y1));
+                for (int i = 0; i < count; i++) {
+                    if (closest(sites[i * 2], sites[i * 2 + 1], x0, y0, x1, y1) <= bound) found[n++] = i;
+                }
+                covered = n == 1;
+            } else {
+                for (int i = 0; i < count; i++) {
+                    if (rects[i * 4] > x1 || rects[i * 4 + 2] < x0 || rects[i * 4 + 1] > y1 || rects[i * 4 + 3] < y0) continue;
+                    found[n++] = i;
+                }
+                covered = n > 0 && rects[found[0] * 4] <= x0 && rects[found[0] * 4 + 2] >= x1 &&
+                    rects[found[0] * 4 + 1] <= y0 && rects[found[0] * 4 + 3] >= y1; // the first match wins everywhere
+            }
+
+            cellRegion[c] = covered ? found[0] : n == 0 && sites == null ? NONE : MIXED;
+            if (total + n > rooms.length) rooms = Arrays.copyOf(rooms, Math.max(total + n, rooms.length * 2));
+            System.arraycopy(found, 0, rooms, total, n);
+            total += n;
+            cellStart[c + 1] = total;
+        }
+        cellStart[cells + 1] = total;
+        cellRooms = Arrays.copyOf(rooms, total);
+    }
+
+    private static double closest(double x, double y, double x0, double y0, double x1, double y1) {
+        double dx = Math.max(0, Math.max(x0 - x, x - x1)), dy = Math.max(0, Math.max(y0 - y, y - y1));
+        return dx * dx + dy * dy;
+    }
+
+    private static double farthest(double x, double y, double x0, double y0, double x1, double y1) {
+        double dx = Math.max(Math.abs(x - x0), Math.abs(x - x1)), dy = Math.max(Math.abs(y - y0), Math.abs(y - y1));
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Rooms as the cells of marker centers
+     * @param centers x, y per marker
+     * @return regions
+     */
+    public static ActivationRegions fromMarkers(double[] centers) {
+        ActivationRegions regions = new ActivationRegions(centers.clone(), null);
+        for (int a = 0; a < regions.count; a++) {
+            for (int b = a + 1; b < regions.count; b++) {
+                regions.adjacent[a][b] = regions.adjacent[b][a] = regions.cellsTouch(a, b);
+            }
+        }
+        regions.buildGrid(kLevel.REGION_GRID_MARGIN);
+        return regions;
+    }
+
+    /**
+     * Rooms as declared rectangles
+     * @param rects minX, minY, maxX, maxY per room
+     * @param gap largest distance between two rooms that are still neighbours
+     * @return regions
+     */
+    public static ActivationRegions fromRects(double[] rects, double gap) {
+        ActivationRegions regions = new ActivationRegions(null, rects.clone());
+        for (int a = 0; a < regions.count; a++) {
+            for (int b = a + 1; b < regions.count; b++) {
+                regions.adjacent[a][b] = regions.adjacent[b][a] =
+                    rects[a * 4] <= rects[b * 4 + 2] + gap && rects[b * 4] <= rects[a * 4 + 2] + gap &&
+                    rects[a * 4 + 1] <= rects[b * 4 + 3] + gap && rects[b * 4 + 1] <= rects[a * 4 + 3] + gap;
+            }
+        }
+        regions.buildGrid(0);
+        return regions;
+    }
+
+    /**
+     * Whether the cells of two markers share an edge, by clipping their bisector to the points
+     * no other marker is closer to. An edge remains exactly when a stretch of the bisector is left.
+     */
+    private boolean cellsTouch(int a, int b) {
+        double ax = sites[a * 2], ay = sites[a * 2 + 1];
+        double bx = sites[b * 2], by = sites[b * 2 + 1];
+        double mx = (ax + bx) / 2, my = (ay + by) / 2; // bisector through the midpoint
+        double dx = -(by - ay), dy = bx - ax; // along the bisector
+
+        double lo = Double.NEGATIVE_INFINITY, hi = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < count; k++) {
+            if (k == a || k == b) continue;
+            double kx = sites[k * 2], ky = sites[k * 2 + 1];
+
+            // point m + t * d is no closer to k than to a: s * t <= r
+            double s = 2 * (dx * (kx - ax) + dy * (ky - ay));
+            double r = kx * kx + ky * ky - ax * ax - ay * ay - 2 * (mx * (kx - ax) + my * (ky - ay));
+
+            if (s == 0) {
+                if (r < 0) return false; // the whole bisector is closer to k
+            } else if (s > 0) hi = Math.min(hi, r / s);
+            else lo = Math.max(lo, r / s);
+        }
+        return lo < hi;
+    }
+
+    /**
+     * Find the room of a point
+     * @return room index, or {@link #NONE}
+     */
+    public int regionOf(double x, double y) {
+        int cell = cellOf(x, y);
+        if (cell < cols * rows) return regionIn(cell, x, y);
+        if (sites == null) return NONE; // off the grid is outside every rectangle
+
+        int nearest = NONE; // far off the map, rare, every marker is checked
+        double nearestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            double dx = x - sites[i * 2], dy = y - sites[i * 2 + 1];
+            double distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Find the grid cell of a point, to cache the region of something that rarely leaves its cell
+     * @return cell index, the same for every point off the grid
+     */
+    public int cellOf(double x, double y) {
+        int cx = (int) Math.floor((x - gridX) / kLevel.REGION_CELL_SIZE);
+        int cy = (int) Math.floor((y - gridY) / kLevel.REGION_CELL_SIZE);
+        if (cx < 0 || cy < 0 || cx >= cols || cy >= rows) return cols * rows;
+        return cy * cols + cx;
+    }
+
+    /**
+     * Get the region of every point of a cell
+     * @param cell index from {@link #cellOf}
+     * @return room index, {@link #NONE}, or {@link #MIXED} when points of the cell differ and {@link #regionOf} must decide
+     */
+    public int regionOfCell(int cell) {
+        return cellRegion[cell];
+    }
+
+    /** Find the room of a point among the candidates of its cell, in id order like a search of every room */
+    private int regionIn(int cell, double x, double y) {
+        if (sites != null) {
+            int nearest = NONE;
+            double nearestDistance = Double.MAX_VALUE;
+            for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                int i = cellRooms[k];
+                double dx = x - sites[i * 2], dy = y - sites[i * 2 + 1];
+                double distance = dx * dx + dy * dy;
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = i;
+                }
+            }
+            return nearest;
+        }
+
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            int i = cellRooms[k];
+            if (x >= rects[i * 4] && x <= rects[i * 4 + 2] && y >= rects[i * 4 + 1] && y <= rects[i * 4 + 3]) return i;
+        }
+        return NONE;
+    }
+
+    /**
+     * Find the rooms a box reaches, sampled at its corners and center; rooms are assumed larger than anything placed
+     * @return room indices without repeats, {@link #NONE} among them when part of the box is in no room
+     */
+    public int[] regionsOf(double minX, double minY, double maxX, double maxY) {
+        int[] found = new int[5];
+        int n = 0;
+        double[] points = {minX, minY, maxX, minY, minX, maxY, maxX, maxY, (minX + maxX) / 2, (minY + maxY) / 2};
+
+        for (int p = 0; p < 5; p++) {
+            int r = regionOf(points[p * 2], points[p * 2 + 1]);
+            boolean seen = false;
+            for (int k = 0; k < n; k++) seen |= found[k] == r;
+            if (!seen) found[n++] = r;
+        }
+        return Arrays.copyOf(found, n);
+    }
+
+    /** Get number of rooms */
+    public int size() {
+        return count;
+    }
+
+    /** Whether two rooms share an edge */
+    public boolean areNeighbours(int a, int b) {
+        return adjacent[a][b];
+    }
+}
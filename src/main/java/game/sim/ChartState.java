@@ -0,0 +1,186 @@
+package game.sim;
+
+import game.Constants;
+import game.Constants.kChart;
+import game.element.Clef;
+
+import java.util.List;
+
+/** Progress of one music puzzle, the chart's clef, notes and playhead, without any JavaFX node */
+public class ChartState {
+    // chart data
+    private final Clef clef;
+    private final String[] noteStrings; // just fully-qualified notes in order
+    private final double[] noteX; // note positions on the staff
+    private final double[] noteY;
+
+    private final double pVx; // velocity of playhead
+
+    private boolean visible = false;
+    private boolean running = false; // whether the playhead is shown and moving
+    private double playheadX = 0;
+
+    private int currNoteInd = 0; // index of current note during progression, notes before it show rests
+
+    private boolean completed = false; // flag whether chart was finished
+
+    /**
+     * Constructs a ChartState, is initially invisible
+     * @param clef The clef to use
+     * @param melody The melody in fully-qualified syntax (DURATION-FQNOTE)
+     */
+    public ChartState(Clef clef, String[] melody) {
+        this.clef = clef;
+
+        // staff
+        double staffWidth = kChart.WIDTH - kChart.STAFF_POS[0] - kChart.MARGIN_X;
+        double staffHeight = kChart.HEIGHT - 2 * kChart.MARGIN_Y;
+
+        // durations and notes
+        double[] durations = new double[melody.length];
+        noteStrings = new String[melody.length];
+        for (int i = 0; i < melody.length; i++) {
+            durations[i] = Double.parseDouble(melody[i].substring(0, melody[i].length() - 3));
+            noteStrings[i] = melody[i].substring(melody[i].length() - 2);
+        }
+
+        double totalDur = 0;
+        for (double dur : durations) totalDur += dur;
+
+        List<String> orderedNotes = switch (clef) { // correct list of ordered notes
+            case TREBLE -> Constants.ORDERED_NOTES_TREBLE;
+            case ALTO -> Constants.ORDERED_NOTES_ALTO;
+            case BASS -> Constants.ORDERED_NOTES_BASS;
+        };
+
+        int nRange; // last-note exclusive range of melody
+        int nLowestInd = orderedNotes.size();
+        int nHighestInd = 0;
+        for (String note : noteStrings) { // find range iteratively
+            int currInd = orderedNotes.indexOf(note);
+            if (currInd < nLowestInd) nLowestInd = currInd;
+            else if (currInd > nHighestInd) nHighestInd = currInd;
+        }
+        nRange = nHighestInd - nLowestInd;
+
+        double nRegionX = staffWidth - kChart.NOTE_WIDTH; // don't count note image dimensions
+        double nRegionY = staffHeight - kChart.NOTE_HEIGHT;
+
+        double nBeatWidth = nRegionX / totalDur;
+        double nUnitHeight = nRegionY / nRange;
+
+        noteX = new double[melody.length];
+        noteY = new double[melody.length];
+        double nWidthCovered = 0;
+        for (int i = 0; i < melody.length; i++) { // place each note onto staff
+            noteX[i] = nWidthCovered; // all previous widths
+            noteY[i] = nUnitHeight * (nHighestInd - orderedNotes.indexOf(noteStrings[i])); // unit differences
+
+            // increment total width by current note duration
+            nWidthCovered += nBeatWidth * durations[i];
+        }
+
+        pVx = (kChart.BPM / 60) * nBeatWidth; // convert beats/min to pixels/s
+    }
+
+    /** Resets the progress and stops the playhead */
+    public void reset() {
+        running = false;
+        playheadX = 0;
+
+        currNoteInd = 0;
+    }
+
+    /** Make the chart visible */
+    public void show() {
+        visible = true;
+    }
+
+    /** Make the chart invisible */
+    public void hide() {
+        visible = false;
+    }
+
+    /** Whether the chart is visible */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /** Whether the chart has been completed */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Update progress and status
+     * @param dt Delta time in seconds
+     * @param currentTileNote Note of current tile occupied by Player, empty if none
+     */
+    public void update(double dt, String currentTileNote) {
+        if (!visible || completed) return; // extra layer of protection to NOT update if not visible or chart complete
+
+        if (running) { // processing when running
+            if (playheadX >= noteX[currNoteInd]) reset(); // note overrun check
+            else { // playhead is within tolerable range
+                if (currentTileNote.isEmpty()) { // no note selected
+                    playheadX += pVx * dt; // increment playhead according to velocity
+                } else if (currentTileNote.equals(noteStrings[currNoteInd])) { // if on correct next tile
+                    playheadX = noteX[currNoteInd]; // jump playhead to note
+
+                    currNoteInd += 1;
+
+                    if (currNoteInd == noteStrings.length) { // reached last note
+                        // soft reset, keep notes showing rests
+                        running = false;
+                        playheadX = 0;
+
+                        completed = true; // VERY IMPORTANT set flag
+                    }
+                } else reset(); // incorrect note
+            }
+        } else { // logic while not running
+            if (currNoteInd != 0) currNoteInd = 0; // extra layer of insurance
+
+            if (currentTileNote.equals(noteStrings[0])) {
+                running = true; // begin the chart
+
+                currNoteInd += 1;
+            }
+        }
+    }
+
+    public Clef getClef() {
+        return clef;
+    }
+
+    /** Get number of notes */
+    public int size() {
+        return noteStrings.length;
+    }
+
+    public String getNote(int i) {
+        return noteStrings[i];
+    }
+
+    public double getNoteX(int i) {
+        return noteX[i];
+    }
+
+    public double getNoteY(int i) {
+        return noteY[i];
+    }
+
+    /** Whether the playhead is shown and moving */
+    public boolean isRunning() {
+        return running;
+    }
+
+    public double getPlayheadX() {
+        return playheadX;
+    }
+
+    /** Number of leading notes shown as rests */
+    public int getRests() {
+        return currNoteInd;
+    }
+}
@@ -0,0 +1,138 @@
+package game.sim;
+
+/**
+ * Everything the screen needs to draw one simulated tick, published by the simulation thread.
+ * One of the few slots rotated by {@link SnapshotBuffer}, filled in place so a tick allocates nothing:
+ * only the simulation writes it, and only while the slot is its back buffer.
+ * Arrays are sized to capacity, read actors up to {@link #actorCount()}.
+ */
+public final class FrameSnapshot {
+    long time; // System.nanoTime() when the tick became current, for interpolation
+    final PlayerFrame[] players;
+    final double[] movers;
+    float[] actors = new float[0];
+    byte[] actorKinds = new byte[0];
+    int actorCount;
+    int beats;
+    int deaths;
+    double elapsedTime;
+    final ChartFrame[] charts;
+    final boolean[] keys;
+    boolean finished;
+
+    /**
+     * @param players number of players
+     * @param movers number of movers
+     * @param charts number of charts and keys
+     */
+    FrameSnapshot(int players, int movers, int charts) {
+        this.players = new PlayerFrame[players];
+        for (int i = 0; i < players; i++) this.players[i] = new PlayerFrame();
+        this.movers = new double[movers * 4];
+        this.charts = new ChartFrame[charts];
+        for (int i = 0; i < charts; i++) this.charts[i] = new ChartFrame();
+        this.keys = new boolean[charts];
+    }
+
+    /** Make room for a number of actors, growing only past the current capacity */
+    void reserveActors(int n) {
+        if (actorKinds.length >= n) return;
+        int capacity = Math.max(n, actorKinds.length * 2);
+        actors = new float[capacity * 4];
+        actorKinds = new byte[capacity];
+    }
+
+    /** System.nanoTime() when the tick became current, for interpolation */
+    public long time() {
+        return time;
+    }
+
+    /** State of every player, one in single player */
+    public PlayerFrame[] players() {
+        return players;
+    }
+
+    /** x, y, previous x, previous y of every mover */
+    public double[] movers() {
+        return movers;
+    }
+
+    /** x, y, previous x, previous y of every actor, valid up to {@link #actorCount()} */
+    public float[] actors() {
+        return actors;
+    }
+
+    /** ActorKind ordinal of every actor, valid up to {@link #actorCount()} */
+    public byte[] actorKinds() {
+        return actorKinds;
+    }
+
+    /** Number of actors */
+    public int actorCount() {
+        return actorCount;
+    }
+
+    /** Number of beats applied, Block sprites show its parity */
+    public int beats() {
+        return beats;
+    }
+
+    /** Number of deaths */
+    public int deaths() {
+        return deaths;
+    }
+
+    /** Seconds since level start */
+    public double elapsedTime() {
+        return elapsedTime;
+    }
+
+    /** Chart states indexed by Clef ordinal */
+    public ChartFrame[] charts() {
+        return charts;
+    }
+
+    /** Whether each key was collected, indexed by Clef ordinal */
+    public boolean[] keys() {
+        return keys;
+    }
+
+    /** Whether the level was completed on this tick */
+    public boolean finished() {
+        return finished;
+    }
+
+    /** Drawn state of one player and the camera following it */
+    public static final class PlayerFrame {
+        double x, y, prevX, prevY; // player position after and before the tick
+        boolean facingLeft;
+        double cameraX, cameraY, prevCameraX, prevCameraY; // camera position after and before the tick
+        int deaths;
+
+        public double x() { return x; }
+        public double y() { return y; }
+        public double prevX() { return prevX; }
+        public double prevY() { return prevY; }
+        public boolean facingLeft() { return facingLeft; }
+        public double cameraX() { return cameraX; }
+        public double cameraY() { return cameraY; }
+        public double prevCameraX() { return prevCameraX; }
+        public double prevCameraY() { return prevCameraY; }
+
+        /** Number of deaths of this player */
+        public int deaths() { return deaths; }
+    }
+
+    /** Drawn state of one chart */
+    public static final class ChartFrame {
+        boolean visible;
+        boolean running; // whether the playhead is shown
+        double playheadX; // playhead position on the staff
+        int rests; // number of leading notes shown as rests
+
+        public boolean visible() { return visible; }
+        public boolean running() { return running; }
+        public double playheadX() { return playheadX; }
+        public int rests() { return rests; }
+    }
+}
@@ -0,0 +1,167 @@
+package game.sim;
+
+import game.Constants.kGameScreen;
+import game.Constants.kLevel;
+import game.Constants.kPhysics;
+import game.Constants.kWindow;
+import game.GameSession;
+import game.element.Clef;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays a level from scripted input with no display, audio or JavaFX toolkit, as fast as the CPU allows.
+ * Blocks toggle every {@link kLevel#BEAT_PERIOD} seconds of simulated time in place of the castanet loop.
+ * Every run has its own {@link GameSession}, so many can run at once on a thread pool.
+ * Usage: {@code Headless <script file | random:seed> [max ticks] [--fixed-point] [--sessions n]},
+ * or {@code ./run-headless.sh random:1 36000}. With n sessions, random seeds count up from the given one.
+ */
+public class Headless {
+    /** Outcome of one run */
+    public record Result(
+        int ticks, boolean finished, boolean exitReached, Set<Clef> keys, int deaths, int collected, double elapsedTime,
+        long checksum // hash of every player position after every tick
+    ) {}
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        String source = args.length > 0 ? args[0] : "random:0";
+        int maxTicks = args.length > 1 && !args[1].startsWith("--") ? Integer.parseInt(args[1]) : 60 * kPhysics.TICK_RATE;
+
+        boolean fixedPoint = false;
+        int sessions = 0; // 0 for a single run on this thread
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--fixed-point")) fixedPoint = true;
+            else if (args[i].equals("--sessions") && i + 1 < args.length) sessions = Integer.parseInt(args[++i]);
+        }
+
+        LevelData data = LevelData.load(LevelData.MAP);
+
+        if (sessions == 0) {
+            GameSession session = new GameSession();
+            session.setFixedPoint(fixedPoint);
+
+            long start = System.nanoTime();
+            Result result = run(session, data, script(source, 0, maxTicks), maxTicks);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.println("keys          " + result.keys());
+            System.out.println("exit reached  " + result.exitReached());
+            System.out.println("finished      " + result.finished());
+            System.out.println("deaths        " + result.deaths());
+            System.out.println("collected     " + result.collected());
+            System.out.printf("time          %.3f s%n", result.elapsedTime());
+            System.out.printf("ticks         %d in %.3f s, %.0f ticks/s%n", result.ticks(), seconds, result.ticks() / seconds);
+            return;
+        }
+
+        List<ScriptedInput> scripts = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) scripts.add(script(source, i, maxTicks));
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        List<Result> results = runAll(data, scripts, maxTicks, fixedPoint, threads);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long ticks = 0;
+        System.out.printf("%8s %8s %8s %8s %10s %10s%n", "session", "keys", "exit", "deaths", "collected", "time s");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            ticks += r.ticks();
+            System.out.printf(
+                "%8d %8d %8s %8d %10d %10.3f%n",
+                i, r.keys().size(), r.finished() ? "done" : r.exitReached() ? "reached" : "-", r.deaths(), r.collected(), r.elapsedTime()
+            );
+        }
+        System.out.printf("%d sessions on %d threads, %d ticks in %.3f s, %.0f ticks/s%n", sessions, threads, ticks, seconds, ticks / seconds);
+    }
+
+    /** Script of one session, the i-th seed for random sources */
+    private static ScriptedInput script(String source, int i, int maxTicks) throws IOException {
+        return source.startsWith("random:")
+            ? ScriptedInput.random(Long.parseLong(source.substring("random:".length())) + i, maxTicks)
+            : ScriptedInput.parse(Files.readAllLines(Path.of(source)));
+    }
+
+    /**
+     * Play one independent session per script on a thread pool
+     * @param data parsed level, shared read only
+     * @param inputs scripted keys of each session
+     * @param maxTicks tick limit of each session
+     * @param fixedPoint whether sessions use fixed point physics
+     * @param threads pool size
+     * @return outcome of each session, in script order
+     */
+    public static List<Result> runAll(
+        LevelData data, List<ScriptedInput> inputs, int maxTicks, boolean fixedPoint, int threads
+    ) throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (ScriptedInput input : inputs) {
+                futures.add(pool.submit(() -> {
+                    GameSession session = new GameSession();
+                    session.setFixedPoint(fixedPoint);
+                    return run(session, data, input, maxTicks);
+                }));
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) results.add(future.get());
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Play a level until it is finished or the tick limit is reached, on the calling thread
+     * @param session session to play in, receives the result if the level is finished
+     * @param data parsed level, not modified
+     * @param input scripted keys
+     * @param maxTicks tick limit
+     * @return outcome of the run
+     */
+    public static Result run(GameSession session, LevelData data, ScriptedInput input, int maxTicks) {
+        Map<Clef, String[]> melodies = new EnumMap<>(Clef.class);
+        melodies.put(Clef.TREBLE, kGameScreen.MELODY_TREBLE);
+        melodies.put(Clef.ALTO, kGameScreen.MELODY_ALTO);
+        melodies.put(Clef.BASS, kGameScreen.MELODY_BASS);
+
+        Simulation simulation = new Simulation(session, new LevelWorld(data), input, melodies, kWindow.WIDTH, kWindow.HEIGHT);
+        int beatTicks = (int) Math.round(kLevel.BEAT_PERIOD * kPhysics.TICK_RATE);
+
+        int ticks = 0;
+        long checksum = 17;
+        while (ticks < maxTicks && !simulation.isFinished()) {
+            if (ticks > 0 && ticks % beatTicks == 0) simulation.beat(); // castanet loop ended
+
+            input.advance();
+            simulation.advance();
+            ticks++;
+
+            for (int p = 0; p < simulation.getPlayerCount(); p++) {
+                checksum = checksum * 31 + Double.doubleToLongBits(simulation.getPlayerX(p));
+                checksum = checksum * 31 + Double.doubleToLongBits(simulation.getPlayerY(p));
+            }
+        }
+
+        if (simulation.isFinished()) session.recordRun(simulation.getDeaths(), (int) Math.floor(simulation.getElapsedTime()));
+
+        Set<Clef> keys = EnumSet.noneOf(Clef.class);
+        for (Clef c : Clef.values()) if (simulation.hasKey(c)) keys.add(c);
+
+        return new Result(ticks, simulation.isFinished(), simulation.isExitReached(), keys, simulation.getDeaths(), simulation.getCollected(), simulation.getElapsedTime(), checksum);
+    }
+}
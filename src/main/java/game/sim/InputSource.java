@@ -0,0 +1,13 @@
+package game.sim;
+
+/** Held movement keys, read once per simulation tick */
+public interface InputSource {
+    /** @return true when left held */
+    boolean isLeft();
+
+    /** @return true when right held */
+    boolean isRight();
+
+    /** @return true when jump held */
+    boolean isJump();
+}
@@ -0,0 +1,51 @@
+package game.sim;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue of ints for exactly one producer thread and one consumer thread.
+ * Values sit in a power of two array, head and tail only ever grow, so nothing is boxed or allocated after construction.
+ */
+public class IntRing {
+    private final int[] values;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong(); // next read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next write, written by the producer
+
+    /** @param capacity most values held at once, rounded up to a power of two */
+    public IntRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        values = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Add a value, producer only
+     * @return false if the ring is full and the value was not added
+     */
+    public boolean offer(int value) {
+        long t = tail.get();
+        if (t - head.get() == values.length) return false;
+
+        values[(int) t & mask] = value;
+        tail.lazySet(t + 1); // publishes the value to the consumer
+        return true;
+    }
+
+    /** Whether a value is waiting, consumer only */
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * Take the oldest value, consumer only, check {@link #isEmpty()} first
+     * @return oldest value
+     */
+    public int poll() {
+        long h = head.get();
+        int value = values[(int) h & mask];
+        head.lazySet(h + 1); // frees the slot for the producer
+        return value;
+    }
+}
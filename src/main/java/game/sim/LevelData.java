@@ -0,0 +1,222 @@
+package game.sim;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import game.Constants.kActor;
+import game.Constants.kMover;
+import game.actor.ActorKind;
+import game.element.Clef;
+import game.platform.types.Block.BlockType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Contents of a map file as plain values, shared by the FX Level and headless runs */
+public class LevelData {
+    /** Default map file */
+    public static final Path MAP = Path.of("src/main/resources/map.json");
+
+    public record ConcreteData(double x, double y, double width, double height) {}
+
+    public record BlockData(double x, double y, BlockType type, boolean inverted) {}
+
+    public record TileData(double x, double y, Clef clef, String note) {}
+
+    public record RoomData(double x, double y, Clef clef) {}
+
+    public record ExitData(double x, double y) {}
+
+    /** Room declared for activation, overriding rooms derived from the markers */
+    public record RegionData(double x, double y, double width, double height) {}
+
+    /** Area the player dies in, replacing the default one below the level */
+    public record KillZoneData(double x, double y, double width, double height) {}
+
+    /**
+     * @param waypoints x, y per waypoint, starting at the mover's own position
+     * @param beat whether it advances one waypoint per beat instead of moving at a speed
+     * @param rate speed in px/s, or glide time in seconds for beat movers
+     */
+    public record MoverData(double x, double y, double width, double height, double[] waypoints, boolean beat, double rate) {}
+
+    /** Actor placed at level start, velocity in px/s */
+    public record ActorData(ActorKind kind, double x, double y, double vx, double vy) {}
+
+    private final List<ConcreteData> concrete = new ArrayList<>();
+    private final List<BlockData> blocks = new ArrayList<>();
+    private final List<TileData> tiles = new ArrayList<>();
+    private final List<RoomData> rooms = new ArrayList<>();
+    private final List<ExitData> exits = new ArrayList<>();
+    private final List<MoverData> movers = new ArrayList<>();
+    private final List<ActorData> actors = new ArrayList<>();
+    private final List<RegionData> regions = new ArrayList<>();
+    private final List<KillZoneData> killZones = new ArrayList<>();
+
+    /**
+     * Read a map file
+     * @param path map json
+     * @return parsed level
+     */
+    public static LevelData load(Path path) throws IOException {
+        return parse(Files.readString(path));
+    }
+
+    /**
+     * Parse map json
+     * @param json map json text
+     * @return parsed level
+     */
+    public static LevelData parse(String json) {
+        JsonObject branch = JsonParser.parseString(json).getAsJsonObject();
+        LevelData data = new LevelData();
+
+        for (JsonElement elem : branch.getAsJsonArray("concrete")) {
+            JsonObject obj = elem.getAsJsonObject();
+            data.concrete.add(new ConcreteData(
+                obj.get("x").getAsInt(), obj.get("y").getAsInt(),
+                obj.get("width").getAsInt(), obj.get("height").getAsInt()
+            ));
+        }
+
+        for (JsonElement elem : branch.getAsJsonArray("blocks")) {
+            JsonObject obj = elem.getAsJsonObject();
+            data.blocks.add(new BlockData(
+                obj.get("x").getAsInt(), obj.get("y").getAsInt(),
+                BlockType.valueOf(obj.get("type").getAsString()),
+                obj.get("inverted").getAsBoolean()
+            ));
+        }
+
+        for (JsonElement elem : branch.getAsJsonArray("tiles")) {
+            JsonObject obj = elem.getAsJsonObject();
+            data.tiles.add(new TileData(
+                obj.get("x").getAsInt(), obj.get("y").getAsInt(),
+                Clef.valueOf(obj.get("clef").getAsString()),
+                obj.get("note").getAsString()
+            ));
+        }
+
+        if (branch.has("rooms") && branch.get("rooms").isJsonArray()) {
+            for (JsonElement elem : branch.getAsJsonArray("rooms")) {
+                JsonObject obj = elem.getAsJsonObject();
+                data.rooms.add(new RoomData(
+                    obj.get("x").getAsInt(), obj.get("y").getAsInt(),
+                    Clef.valueOf(obj.get("type").getAsString())
+                ));
+            }
+        }
+
+        if (branch.has("exits") && branch.get("exits").isJsonArray()) {
+            for (JsonElement elem : branch.getAsJsonArray("exits")) {
+                JsonObject obj = elem.getAsJsonObject();
+                data.exits.add(new ExitData(obj.get("x").getAsInt(), obj.get("y").getAsInt()));
+            }
+        }
+
+        if (branch.has("movers") && branch.get("movers").isJsonArray()) {
+            for (JsonElement elem : branch.getAsJsonArray("movers")) {
+                JsonObject obj = elem.getAsJsonObject();
+                double x = obj.get("x").getAsInt();
+                double y = obj.get("y").getAsInt();
+
+                // waypoints start at the mover's own position
+                JsonArray path = obj.has("path") ? obj.getAsJsonArray("path") : new JsonArray();
+                double[] waypoints = new double[(path.size() + 1) * 2];
+                waypoints[0] = x;
+                waypoints[1] = y;
+                for (int i = 0; i < path.size(); i++) {
+                    JsonObject point = path.get(i).getAsJsonObject();
+                    waypoints[(i + 1) * 2] = point.get("x").getAsInt();
+                    waypoints[(i + 1) * 2 + 1] = point.get("y").getAsInt();
+                }
+
+                boolean beat = obj.has("beat") && obj.get("beat").getAsBoolean();
+                double rate = beat
+                    ? (obj.has("glide") ? obj.get("glide").getAsDouble() : kMover.DEFAULT_GLIDE)
+                    : (obj.has("speed") ? obj.get("speed").getAsDouble() : kMover.DEFAULT_SPEED);
+
+                data.movers.add(new MoverData(
+                    x, y, obj.get("width").getAsInt(), obj.get("height").getAsInt(),
+                    waypoints, beat, rate
+                ));
+            }
+        }
+
+        if (branch.has("actors") && branch.get("actors").isJsonArray()) {
+            for (JsonElement elem : branch.getAsJsonArray("actors")) {
+                JsonObject obj = elem.getAsJsonObject();
+                ActorKind kind = ActorKind.valueOf(obj.get("kind").getAsString());
+                double speed = kind == ActorKind.COLLECTIBLE ? 0 : kActor.DEFAULT_SPEED; // everything but collectibles moves
+
+                data.actors.add(new ActorData(
+                    kind, obj.get("x").getAsInt(), obj.get("y").getAsInt(),
+                    obj.has("vx") ? obj.get("vx").getAsDouble() : speed,
+                    obj.has("vy") ? obj.get("vy").getAsDouble() : 0
+                ));
+            }
+        }
+
+        if (branch.has("regions") && branch.get("regions").isJsonArray()) {
+            for (JsonElement elem : branch.getAsJsonArray("regions")) {
+                JsonObject obj = elem.getAsJsonObject();
+                data.regions.add(new RegionData(
+                    obj.get("x").getAsInt(), obj.get("y").getAsInt(),
+                    obj.get("width").getAsInt(), obj.get("height").getAsInt()
+                ));
+            }
+        }
+
+        if (branch.has("killZones") && branch.get("killZones").isJsonArray()) {
+            for (JsonElement elem : branch.getAsJsonArray("killZones")) {
+                JsonObject obj = elem.getAsJsonObject();
+                data.killZones.add(new KillZoneData(
+                    obj.get("x").getAsInt(), obj.get("y").getAsInt(),
+                    obj.get("width").getAsInt(), obj.get("height").getAsInt()
+                ));
+            }
+        }
+
+        return data;
+    }
+
+    public List<ConcreteData> getConcrete() {
+        return concrete;
+    }
+
+    public List<BlockData> getBlocks() {
+        return blocks;
+    }
+
+    public List<TileData> getTiles() {
+        return tiles;
+    }
+
+    public List<RoomData> getRooms() {
+        return rooms;
+    }
+
+    public List<ExitData> getExits() {
+        return exits;
+    }
+
+    public List<MoverData> getMovers() {
+        return movers;
+    }
+
+    public List<ActorData> getActors() {
+        return actors;
+    }
+
+    public List<RegionData> getRegions() {
+        return regions;
+    }
+
+    public List<KillZoneData> getKillZones() {
+        return killZones;
+    }
+}
@@ -0,0 +1,375 @@
+package game.sim;
+
+import game.Constants.kClefMarker;
+import game.Constants.kExit;
+import game.Constants.kGameScreen;
+import game.Constants.kLevel;
+import game.Constants.kPlayer;
+import game.Constants.kTile;
+import game.element.Clef;
+import game.physics.CollisionWorld;
+import game.physics.MoverSystem;
+import game.physics.RectCompactor;
+import game.sim.LevelData.BlockData;
+import game.sim.LevelData.ConcreteData;
+import game.sim.LevelData.ExitData;
+import game.sim.LevelData.KillZoneData;
+import game.sim.LevelData.MoverData;
+import game.sim.LevelData.RegionData;
+import game.sim.LevelData.RoomData;
+import game.sim.LevelData.TileData;
+
+import java.util.Arrays;
+
+/**
+ * Collision world, movers, room markers and trigger volumes of a level without any JavaFX node.
+ * Ids are added in a fixed order (compacted Concrete, Blocks, Tiles, movers)
+ * so the FX Level can map each id back to the node built from the same entry.
+ * Exits never collide and only exist as trigger volumes.
+ * <p>
+ * Only the player's room and its neighbours are simulated, see {@link ActivationRegions}. Blocks and movers
+ * of sleeping rooms are not touched, and since both only depend on the beat count and time
+ * they are fast-forwarded to their exact state when their room wakes.
+ */
+public class LevelWorld {
+    private final LevelData data;
+
+    private final CollisionWorld collisionWorld = new CollisionWorld();
+    private final MoverSystem moverSystem = new MoverSystem();
+    private final TriggerVolumes triggers = new TriggerVolumes(kLevel.TRIGGER_CELL_SIZE);
+
+    private final int[] entries; // index into the LevelData list of the id's type, -1 for compacted Concrete
+
+    // room markers
+    private final double[] markerCenters; // x, y per marker
+    private final Clef[] markerClefs;
+
+    // activation, slot count is rooms + 1 for everything outside all rooms, which never sleeps
+    private final ActivationRegions regions;
+    private final int outside; // slot of ActivationRegions.NONE
+    private final boolean[] awake; // per slot
+    private final int[][] slotBlocks; // Block collision ids reaching each slot
+    private final int[][] moverSlots; // slots each mover's path reaches, by mover index
+    private final int[] blockBeats; // beats applied to each Block's collision, by collision id
+    private int beats = 0;
+    private int[] current = new int[0]; // slot of each player, none before the first activation
+    private final double[] point = new double[2]; // single player center, reused
+
+    /**
+     * Build collision for a level
+     * @param data parsed level
+     */
+    public LevelWorld(LevelData data) {
+        this.data = data;
+
+        // concrete, merged into fewer equivalent rectangles
+        double[] concreteRects = new double[data.getConcrete().size() * 4]; // minX, minY, maxX, maxY
+        for (int i = 0; i < data.getConcrete().size(); i++) {
+            ConcreteData c = data.getConcrete().get(i);
+            concreteRects[i * 4] = c.x();
+            concreteRects[i * 4 + 1] = c.y();
+            concreteRects[i * 4 + 2] = c.x() + c.width();
+            concreteRects[i * 4 + 3] = c.y() + c.height();
+        }
+        double[] compacted = RectCompactor.compact(concreteRects);
+
+        int size = compacted.length / 4 + data.getBlocks().size() + data.getTiles().size()
+            + data.getMovers().size();
+        entries = new int[size];
+
+        for (int i = 0; i < compacted.length / 4; i++) {
+            int id = collisionWorld.add(
+                compacted[i * 4], compacted[i * 4 + 1],
+                compacted[i * 4 + 2] - compacted[i * 4], compacted[i * 4 + 3] - compacted[i * 4 + 1],
+                CollisionWorld.CONCRETE, true
+            );
+            entries[id] = -1;
+        }
+
+        for (int i = 0; i < data.getBlocks().size(); i++) {
+            BlockData b = data.getBlocks().get(i);
+            int id = collisionWorld.add(
+                b.x(), b.y(), b.type().getWidth(), b.type().getHeight(),
+                CollisionWorld.BLOCK, !b.inverted()
+            );
+            entries[id] = i;
+        }
+
+        for (int i = 0; i < data.getTiles().size(); i++) {
+            TileData t = data.getTiles().get(i);
+            entries[collisionWorld.add(t.x(), t.y(), kTile.WIDTH, kTile.HEIGHT, CollisionWorld.TILE, true)] = i;
+        }
+
+        // movers, kept out of the static broadphase
+        for (int i = 0; i < data.getMovers().size(); i++) {
+            MoverData m = data.getMovers().get(i);
+            int id = collisionWorld.addMover(m.x(), m.y(), m.width(), m.height());
+            entries[id] = i;
+
+            if (m.beat()) moverSystem.addBeat(id, m.waypoints(), m.rate());
+            else moverSystem.addPath(id, m.waypoints(), m.rate());
+        }
+
+        collisionWorld.build(); // index platforms for collision broadphase
+
+        markerCenters = new double[data.getRooms().size() * 2];
+        markerClefs = new Clef[data.getRooms().size()];
+        for (int i = 0; i < markerClefs.length; i++) {
+            RoomData r = data.getRooms().get(i);
+            markerCenters[i * 2] = r.x() + kClefMarker.WIDTH / 2;
+            markerCenters[i * 2 + 1] = r.y() + kClefMarker.HEIGHT / 2;
+            markerClefs[i] = r.clef();
+        }
+
+        // trigger volumes, rooms first so their ids follow marker order
+        for (int i = 0; i < markerClefs.length; i++) {
+            triggers.addCircle(markerCenters[i * 2], markerCenters[i * 2 + 1], kGameScreen.CHART_THRESHOLD, TriggerVolumes.ROOM, i);
+        }
+        for (int i = 0; i < data.getExits().size(); i++) {
+            ExitData e = data.getExits().get(i);
+            triggers.addRect(e.x(), e.y(), kExit.WIDTH, kExit.HEIGHT, TriggerVolumes.EXIT, i);
+        }
+        if (!data.getKillZones().isEmpty()) {
+            for (int i = 0; i < data.getKillZones().size(); i++) {
+                KillZoneData k = data.getKillZones().get(i);
+                triggers.addRect(k.x(), k.y(), k.width(), k.height(), TriggerVolumes.KILL, i);
+            }
+        } else { // below the whole level, the player dies once entirely past BOTTOM_BORDER
+            double minX = kLevel.SPAWNPOINT[0], maxX = kLevel.SPAWNPOINT[0];
+            for (int id = 0; id < collisionWorld.size(); id++) {
+                minX = Math.min(minX, collisionWorld.getMinX(id));
+                maxX = Math.max(maxX, collisionWorld.getMaxX(id));
+            }
+            triggers.addRect(
+                minX - kLevel.KILL_MARGIN, kLevel.BOTTOM_BORDER + kPlayer.HEIGHT,
+                maxX - minX + 2 * kLevel.KILL_MARGIN, kLevel.KILL_MARGIN,
+                TriggerVolumes.KILL, -1
+            );
+        }
+        triggers.build();
+
+        // rooms, declared ones win over marker cells
+        if (!data.getRegions().isEmpty()) {
+            double[] rects = new double[data.getRegions().size() * 4];
+            for (int i = 0; i < data.getRegions().size(); i++) {
+                RegionData r = data.getRegions().get(i);
+                rects[i * 4] = r.x();
+                rects[i * 4 + 1] = r.y();
+                rects[i * 4 + 2] = r.x() + r.width();
+                rects[i * 4 + 3] = r.y() + r.height();
+            }
+            regions = ActivationRegions.fromRects(rects, kLevel.REGION_GAP);
+        } else regions = ActivationRegions.fromMarkers(markerCenters);
+
+        outside = regions.size();
+        awake = new boolean[outside + 1];
+        Arrays.fill(awake, true); // all awake until the player is placed
+        blockBeats = new int[collisionWorld.size()];
+
+        int[] blockSlotCounts = new int[outside + 1];
+        int[][] blockSlots = new int[collisionWorld.size()][];
+        for (int id = 0; id < collisionWorld.size(); id++) {
+            if (collisionWorld.getType(id) != CollisionWorld.BLOCK) continue;
+            blockSlots[id] = slotsOf(collisionWorld.getMinX(id), collisionWorld.getMinY(id), collisionWorld.getMaxX(id), collisionWorld.getMaxY(id));
+            for (int s : blockSlots[id]) blockSlotCounts[s]++;
+        }
+        slotBlocks = new int[outside + 1][];
+        for (int s = 0; s <= outside; s++) slotBlocks[s] = new int[blockSlotCounts[s]];
+        int[] filled = new int[outside + 1];
+        for (int id = 0; id < collisionWorld.size(); id++) {
+            if (blockSlots[id] != null) for (int s : blockSlots[id]) slotBlocks[s][filled[s]++] = id;
+        }
+
+        moverSlots = new int[data.getMovers().size()][];
+        for (int i = 0; i < moverSlots.length; i++) {
+            MoverData m = data.getMovers().get(i);
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int k = 0; k < m.waypoints().length / 2; k++) { // box around the whole path
+                minX = Math.min(minX, m.waypoints()[k * 2]);
+                minY = Math.min(minY, m.waypoints()[k * 2 + 1]);
+                maxX = Math.max(maxX, m.waypoints()[k * 2] + m.width());
+                maxY = Math.max(maxY, m.waypoints()[k * 2 + 1] + m.height());
+            }
+            moverSlots[i] = slotsOf(minX, minY, maxX, maxY);
+        }
+    }
+
+    /** Activation slots a box reaches */
+    private int[] slotsOf(double minX, double minY, double maxX, double maxY) {
+        int[] slots = regions.regionsOf(minX, minY, maxX, maxY);
+        for (int k = 0; k < slots.length; k++) if (slots[k] == ActivationRegions.NONE) slots[k] = outside;
+        return slots;
+    }
+
+    /**
+     * Wake the room of the player and its neighbours and put every other room to sleep
+     * @param x player center x
+     * @param y player center y
+     * @return whether the awake rooms changed
+     */
+    public boolean activate(double x, double y) {
+        point[0] = x;
+        point[1] = y;
+        return activate(point);
+    }
+
+    /**
+     * Wake the rooms of all players and their neighbours and put every other room to sleep
+     * @param centers x, y of each player's center
+     * @return whether the awake rooms changed
+     */
+    public boolean activate(double[] centers) {
+        int n = centers.length / 2;
+        boolean changed = current.length != n;
+        if (changed) current = new int[n];
+        for (int k = 0; k < n; k++) {
+            int slot = regionOf(centers[2 * k], centers[2 * k + 1]);
+            if (slot != current[k]) {
+                current[k] = slot;
+                changed = true;
+            }
+        }
+        if (!changed) return false;
+
+        for (int s = 0; s <= outside; s++) {
+            boolean wake = s == outside;
+            for (int k = 0; k < n && !wake; k++) {
+                int slot = current[k];
+                wake = slot == outside || s == slot || regions.areNeighbours(slot, s);
+            }
+            if (wake && !awake[s]) {
+                for (int id : slotBlocks[s]) catchUp(id); // fast-forward to the current beat
+            }
+            awake[s] = wake;
+        }
+
+        for (int i = 0; i < moverSlots.length; i++) {
+            boolean wake = false;
+            for (int s : moverSlots[i]) wake |= awake[s];
+            moverSystem.setAwake(i, wake);
+        }
+        return true;
+    }
+
+    /** Apply the beats a Block missed while asleep, only their parity matters */
+    private void catchUp(int id) {
+        if (((beats - blockBeats[id]) & 1) != 0) collisionWorld.toggle(id);
+        blockBeats[id] = beats;
+    }
+
+    /**
+     * Find the activation slot of a point
+     * @return room index, or the slot of everything outside all rooms
+     */
+    public int regionOf(double x, double y) {
+        int r = regions.regionOf(x, y);
+        return r == ActivationRegions.NONE ? outside : r;
+    }
+
+    /** Find the room lookup grid cell of a point, see {@link ActivationRegions#cellOf} */
+    public int cellOf(double x, double y) {
+        return regions.cellOf(x, y);
+    }
+
+    /**
+     * Get the activation slot of every point of a grid cell
+     * @return slot, or -1 when points of the cell are in different slots and {@link #regionOf} must decide
+     */
+    public int slotOfCell(int cell) {
+        int r = regions.regionOfCell(cell);
+        return r == ActivationRegions.MIXED ? -1 : r == ActivationRegions.NONE ? outside : r;
+    }
+
+    /** Whether a slot from {@link #regionOf} is simulated */
+    public boolean isAwake(int slot) {
+        return awake[slot];
+    }
+
+    /** Get number of activation slots, rooms plus one for everything outside them */
+    public int getRegionSlots() {
+        return outside + 1;
+    }
+
+    /** Advance everything driven by the castanet beat: toggle Block collision of awake rooms and step beat movers */
+    public void beat() {
+        beats++;
+        for (int s = 0; s <= outside; s++) {
+            if (awake[s]) for (int id : slotBlocks[s]) catchUp(id); // Blocks in two rooms only toggle once
+        }
+        moverSystem.beat();
+    }
+
+    /**
+     * Advance moving platforms by one tick
+     * @param dt delta time in seconds
+     */
+    public void updateMovers(double dt) {
+        moverSystem.update(dt, collisionWorld);
+    }
+
+    /** Get number of moving platforms */
+    public int getMoverCount() {
+        return moverSystem.size();
+    }
+
+    /**
+     * Copy mover positions
+     * @param out x, y, previous x, previous y of every mover, at least 4 per mover
+     */
+    public void copyMoverPositions(double[] out) {
+        for (int i = 0; i < moverSystem.size(); i++) {
+            out[i * 4] = moverSystem.getX(i);
+            out[i * 4 + 1] = moverSystem.getY(i);
+            out[i * 4 + 2] = moverSystem.getPrevX(i);
+            out[i * 4 + 3] = moverSystem.getPrevY(i);
+        }
+    }
+
+    /**
+     * Get the entry a collision id was built from
+     * @param id collision world id
+     * @return index into the LevelData list of the id's type, -1 for compacted Concrete
+     */
+    public int getEntry(int id) {
+        return entries[id];
+    }
+
+    /**
+     * Get the note of a Tile
+     * @param id collision world id
+     * @return note, or null if the id is not a Tile
+     */
+    public String getTileNote(int id) {
+        return collisionWorld.getType(id) == CollisionWorld.TILE ? data.getTiles().get(entries[id]).note() : null;
+    }
+
+    public LevelData getData() {
+        return data;
+    }
+
+    public CollisionWorld getCollisionWorld() {
+        return collisionWorld;
+    }
+
+    /** Get rooms, exits and kill zones, room ids are marker indices */
+    public TriggerVolumes getTriggers() {
+        return triggers;
+    }
+
+    /** Get number of room markers */
+    public int getMarkerCount() {
+        return markerClefs.length;
+    }
+
+    public double getMarkerCenterX(int i) {
+        return markerCenters[i * 2];
+    }
+
+    public double getMarkerCenterY(int i) {
+        return markerCenters[i * 2 + 1];
+    }
+
+    public Clef getMarkerClef(int i) {
+        return markerClefs[i];
+    }
+}
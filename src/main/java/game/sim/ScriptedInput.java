@@ -0,0 +1,121 @@
+package game.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Held keys replayed from a script, one step per tick.
+ * Script lines are {@code <ticks> <keys>}, keys being any of L, R and J or - for none, e.g. {@code 120 R} or {@code 30 RJ}.
+ * Blank lines and lines starting with # are skipped, all keys are released once the script ends.
+ */
+public class ScriptedInput implements InputSource {
+    private static final byte LEFT = 1;
+    private static final byte RIGHT = 2;
+    private static final byte JUMP = 4;
+
+    private final int[] ends; // tick each segment ends at, exclusive
+    private final byte[] keys;
+
+    private int tick = -1;
+    private int segment = 0;
+
+    private ScriptedInput(List<int[]> segments) {
+        ends = new int[segments.size()];
+        keys = new byte[segments.size()];
+
+        int end = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            end += segments.get(i)[0];
+            ends[i] = end;
+            keys[i] = (byte) segments.get(i)[1];
+        }
+    }
+
+    /**
+     * Parse a script
+     * @param lines script lines
+     * @return input replaying the script
+     */
+    public static ScriptedInput parse(List<String> lines) {
+        List<int[]> segments = new ArrayList<>();
+
+        for (String line : lines) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] parts = line.split("\\s+");
+            int held = 0;
+            if (parts.length > 1) {
+                for (char c : parts[1].toUpperCase().toCharArray()) {
+                    switch (c) {
+                        case 'L' -> held |= LEFT;
+                        case 'R' -> held |= RIGHT;
+                        case 'J' -> held |= JUMP;
+                        case '-' -> {}
+                        default -> throw new IllegalArgumentException("Unknown key '" + c + "' in script line: " + line);
+                    }
+                }
+            }
+            segments.add(new int[] {Integer.parseInt(parts[0]), held});
+        }
+
+        return new ScriptedInput(segments);
+    }
+
+    /**
+     * Random keys changing every 15 ticks
+     * @param seed random seed
+     * @param ticks script length
+     * @return input replaying the random script
+     */
+    public static ScriptedInput random(long seed, int ticks) {
+        Random random = new Random(seed);
+        List<int[]> segments = new ArrayList<>();
+
+        for (int t = 0; t < ticks; t += 15) {
+            int held = 0;
+            if (random.nextInt(3) == 0) held |= LEFT;
+            if (random.nextInt(2) == 0) held |= RIGHT;
+            if (random.nextInt(4) == 0) held |= JUMP;
+            segments.add(new int[] {Math.min(15, ticks - t), held});
+        }
+
+        return new ScriptedInput(segments);
+    }
+
+    /** Move to the next tick, call once before each simulation tick */
+    public void advance() {
+        tick++;
+        while (segment < ends.length && tick >= ends[segment]) segment++;
+    }
+
+    /** Whether every scripted tick has been replayed */
+    public boolean isDone() {
+        return segment >= ends.length;
+    }
+
+    /** Get script length in ticks */
+    public int length() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    private boolean held(byte key) {
+        return segment < ends.length && (keys[segment] & key) != 0;
+    }
+
+    @Override
+    public boolean isLeft() {
+        return held(LEFT);
+    }
+
+    @Override
+    public boolean isRight() {
+        return held(RIGHT);
+    }
+
+    @Override
+    public boolean isJump() {
+        return held(JUMP);
+    }
+}
@@ -0,0 +1,550 @@
+package game.sim;
+
+import game.Constants.kActor;
+import game.Constants.kGameScreen;
+import game.Constants.kLevel;
+import game.Constants.kPhysics;
+import game.Constants.kPlayer;
+import game.GameSession;
+import game.actor.ActorKind;
+import game.actor.ActorWorld;
+import game.actor.LevelCollisionSystem;
+import game.actor.MovementSystem;
+import game.actor.TouchSystem;
+import game.element.Clef;
+import game.physics.CollisionWorld;
+import game.physics.ContactListener;
+import game.physics.FixedPlayerBody;
+import game.physics.PlayerBody;
+import game.physics.PlayerPhysics;
+import game.sim.FrameSnapshot.ChartFrame;
+import game.sim.FrameSnapshot.PlayerFrame;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Game state of one level run at a fixed tick: players, collision, movers, charts, keys and cameras.
+ * Touches no JavaFX node. In game it runs on a dedicated thread and publishes each tick as a {@link FrameSnapshot},
+ * input is read from the InputHandler's volatile fields and beats arrive through an atomic counter.
+ * Headless runs step it on the caller's thread with {@link #advance()} instead.
+ * Actors in rooms asleep per {@link LevelWorld#activate} are parked and keep their state until the room wakes.
+ * Split screen players all step against the same collision world, each with its own camera; keys, charts and deaths are shared.
+ */
+public class Simulation implements Runnable {
+    /** A player, its input and the camera following it */
+    private static class Runner {
+        final InputSource input;
+        final PlayerPhysics body;
+        final TriggerVolumes.Occupant occupant; // volumes containing the player
+        final boolean[] tileOn; // tiles the player stands on, by collision id
+
+        double cameraX = 0;
+        double cameraY = 0;
+        double prevCameraX = 0; // camera before the last tick, for render interpolation
+        double prevCameraY = 0;
+
+        double graceTime = 0.0; // seconds left that hazards are ignored
+        int exitsInside = 0; // number of exits currently containing the player
+        boolean facingLeft = false;
+
+        Runner(InputSource input, PlayerPhysics body, TriggerVolumes.Occupant occupant, int tiles) {
+            this.input = input;
+            this.body = body;
+            this.occupant = occupant;
+            this.tileOn = new boolean[tiles];
+        }
+    }
+
+    private final LevelWorld level;
+    private final Runner[] runners;
+    private final double[] centers; // x, y of each player's center, for activation
+
+    // hazards, collectibles and wanderers
+    private final ActorWorld actors = new ActorWorld(); // in awake rooms
+    private final ActorWorld[] parked; // in sleeping rooms, by activation slot
+    private final MovementSystem movementSystem = new MovementSystem();
+    private final LevelCollisionSystem levelCollisionSystem = new LevelCollisionSystem();
+    private final TouchSystem touchSystem = new TouchSystem();
+
+    private final Map<Clef, ChartState> charts = new EnumMap<>(Clef.class);
+    private final Map<Clef, Boolean> keyStatus = new EnumMap<>(Clef.class);
+
+    // tiles, indexed by collision id
+    private final String[] tileNotes; // null for non-tiles
+    private final int[] tileContacts; // number of players standing on each tile
+
+    // hand-offs with the FX and audio threads
+    private final SnapshotBuffer snapshots;
+    private final AtomicInteger pendingBeats = new AtomicInteger();
+    private final IntRing tileEvents = new IntRing(kPhysics.TILE_EVENT_CAPACITY); // id on trigger, ~id on release
+
+    private final int width;
+    private final int height;
+    private final double tickDt = 1.0 / kPhysics.TICK_RATE; // fixed simulation step
+    private final double cameraBlend = 1 - Math.pow( // camera lerp per tick matching CAMERA_LERP per reference frame
+        1 - kGameScreen.CAMERA_LERP,
+        kGameScreen.CAMERA_LERP_RATE / kPhysics.TICK_RATE
+    );
+
+    // values
+    private double elapsedTime = 0.0; // seconds since level start
+    private int beats = 0;
+
+    private String currentTileNote = ""; // note of current tile, empty if none
+    private boolean exitReached = false; // whether any exit was ever touched
+    private boolean finished = false;
+
+    private volatile boolean running = false;
+    private volatile boolean paused = false;
+    private Thread thread;
+
+    /**
+     * Create the simulation of a level
+     * @param session session the level is played in
+     * @param level level world, only ever touched by this simulation afterwards
+     * @param input held keys
+     * @param melodies melody of each chart
+     * @param width view width
+     * @param height view height
+     */
+    public Simulation(GameSession session, LevelWorld level, InputSource input, Map<Clef, String[]> melodies, int width, int height) {
+        this(session, level, new InputSource[] {input}, melodies, width, height);
+    }
+
+    /**
+     * Create the simulation of a level played by several players at once
+     * @param session session the level is played in
+     * @param level level world, only ever touched by this simulation afterwards
+     * @param inputs held keys of each player
+     * @param melodies melody of each chart
+     * @param width width of each player's view
+     * @param height height of each player's view
+     */
+    public Simulation(GameSession session, LevelWorld level, InputSource[] inputs, Map<Clef, String[]> melodies, int width, int height) {
+        this.level = level;
+        this.width = width;
+        this.height = height;
+
+        for (Clef c : Clef.values()) {
+            charts.put(c, new ChartState(c, melodies.get(c)));
+            keyStatus.put(c, false);
+        }
+
+        for (LevelData.ActorData a : level.getData().getActors()) actors.spawn(a.kind(), a.x(), a.y(), a.vx(), a.vy());
+        parked = new ActorWorld[level.getRegionSlots()];
+        for (int s = 0; s < parked.length; s++) parked[s] = new ActorWorld();
+
+        CollisionWorld world = level.getCollisionWorld();
+        tileNotes = new String[world.size()];
+        tileContacts = new int[world.size()];
+        for (int id = 0; id < world.size(); id++) tileNotes[id] = level.getTileNote(id);
+
+        runners = new Runner[inputs.length];
+        centers = new double[2 * inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            PlayerPhysics body = session.isFixedPoint()
+                ? new FixedPlayerBody(kLevel.SPAWNPOINT[0], kLevel.SPAWNPOINT[1])
+                : new PlayerBody(kLevel.SPAWNPOINT[0], kLevel.SPAWNPOINT[1]);
+            runners[i] = new Runner(inputs[i], body, level.getTriggers().newOccupant(), world.size());
+            listen(runners[i]);
+        }
+
+        snapshots = new SnapshotBuffer(runners.length, level.getMoverCount(), Clef.values().length);
+        publish(System.nanoTime()); // initial state
+    }
+
+    /** Subscribe to a player's tile contacts and trigger volumes */
+    private void listen(Runner r) {
+        boolean[] tileOn = r.tileOn;
+
+        r.body.addContactListener(new ContactListener() { // tile sounds and notes
+            @Override
+            public void contactEntered(int id, byte type, boolean landed) {
+                contactStayed(id, type, landed);
+            }
+
+            @Override
+            public void contactStayed(int id, byte type, boolean landed) {
+                if (type == CollisionWorld.TILE && landed && !tileOn[id]) { // flag ONLY on first trigger
+                    tileOn[id] = true;
+                    if (tileContacts[id]++ == 0 && running) sendTileEvent(id); // only drained by a rendering thread
+                    currentTileNote = tileNotes[id]; // store tile's note
+                }
+            }
+
+            @Override
+            public void contactExited(int id, byte type) {
+                if (type == CollisionWorld.TILE && tileOn[id]) {
+                    tileOn[id] = false;
+                    if (--tileContacts[id] == 0 && running) sendTileEvent(~id);
+                }
+            }
+        });
+
+        r.occupant.addListener(new TriggerListener() { // exits, kill zones
+            @Override
+            public void volumeEntered(int id, byte kind) {
+                if (kind == TriggerVolumes.EXIT) {
+                    r.exitsInside++;
+                    exitReached = true;
+                } else if (kind == TriggerVolumes.KILL) r.body.kill();
+            }
+
+            @Override
+            public void volumeExited(int id, byte kind) {
+                if (kind == TriggerVolumes.EXIT) r.exitsInside--;
+            }
+        });
+    }
+
+    /** Start ticking on a new thread */
+    public void start() {
+        running = true;
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true); // never keep the app alive
+        thread.start();
+    }
+
+    /** Stop ticking and wait for the thread to end */
+    public void stop() {
+        running = false;
+        if (thread == null) return;
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /** Stop ticking until {@link #resume()}, the thread parks and simulated time stands still */
+    public void pause() {
+        paused = true;
+    }
+
+    /** Continue ticking where {@link #pause()} left off, the paused time is never simulated */
+    public void resume() {
+        paused = false;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    /** Whether ticking is paused */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /** Advance beat-driven elements before the next tick, from any thread */
+    public void beat() {
+        pendingBeats.incrementAndGet();
+    }
+
+    /** Advance by one tick on the calling thread, without publishing. For headless runs, never while started */
+    public void advance() {
+        if (!finished) tick(tickDt);
+    }
+
+    /** Get latest published state */
+    public SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+
+    /** Whether a tile event is waiting for {@link #pollTileEvent()}, rendering thread only */
+    public boolean hasTileEvent() {
+        return !tileEvents.isEmpty();
+    }
+
+    /**
+     * Take the next tile event, rendering thread only, check {@link #hasTileEvent()} first
+     * @return collision id of a triggered tile, ~id of a released tile
+     */
+    public int pollTileEvent() {
+        return tileEvents.poll();
+    }
+
+    /** Queue a tile event for the screen, waiting while it is behind so no release is lost */
+    private void sendTileEvent(int event) {
+        while (!tileEvents.offer(event) && running) LockSupport.parkNanos(100_000);
+    }
+
+    /** Get chart state for building its node, only read its fixed layout */
+    public ChartState getChart(Clef clef) {
+        return charts.get(clef);
+    }
+
+    /** Whether the level was completed, all keys collected and an exit reached */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Whether any player ever touched an exit */
+    public boolean isExitReached() {
+        return exitReached;
+    }
+
+    /** Whether the key of a chart has been collected */
+    public boolean hasKey(Clef clef) {
+        return keyStatus.get(clef);
+    }
+
+    /** Get deaths of all players together */
+    public int getDeaths() {
+        int deaths = 0;
+        for (Runner r : runners) deaths += r.body.getDeaths();
+        return deaths;
+    }
+
+    /** Get number of players */
+    public int getPlayerCount() {
+        return runners.length;
+    }
+
+    /** Get a player's left edge after the last tick */
+    public double getPlayerX(int player) {
+        return runners[player].body.getX();
+    }
+
+    /** Get a player's top edge after the last tick */
+    public double getPlayerY(int player) {
+        return runners[player].body.getY();
+    }
+
+    /** Get number of collectibles taken */
+    public int getCollected() {
+        return touchSystem.getCollected();
+    }
+
+    /** Get actors of awake rooms, to spawn more before starting */
+    public ActorWorld getActors() {
+        return actors;
+    }
+
+    /** Get number of actors in sleeping rooms */
+    public int getParkedActors() {
+        int n = 0;
+        for (ActorWorld world : parked) n += world.size();
+        return n;
+    }
+
+    /** Get seconds of simulated time since level start */
+    public double getElapsedTime() {
+        return elapsedTime;
+    }
+
+    @Override
+    public void run() {
+        long last = System.nanoTime();
+        double accumulator = 0.0; // unsimulated time in seconds
+
+        while (running && !finished) {
+            if (paused) {
+                LockSupport.park(this); // no ticks and no CPU until resumed or stopped
+                last = System.nanoTime(); // keep the accumulator, drop the paused time
+                continue;
+            }
+
+            long now = System.nanoTime();
+            accumulator += Math.min((now - last) / 1_000_000_000.0, kPhysics.MAX_FRAME_TIME); // drop excess after long stalls
+            last = now;
+
+            boolean ticked = false;
+            while (accumulator >= tickDt && !finished) {
+                tick(tickDt);
+                accumulator -= tickDt;
+                ticked = true;
+            }
+            if (ticked) publish(now - (long) (accumulator * 1_000_000_000)); // when the last tick was due
+
+            LockSupport.parkNanos((long) ((tickDt - accumulator) * 1_000_000_000)); // until the next tick is due
+        }
+    }
+
+    /**
+     * Advance the simulation by one fixed tick
+     * @param dt tick length in seconds
+     */
+    private void tick(double dt) {
+        elapsedTime += dt;
+
+        // beats since the last tick
+        for (int b = pendingBeats.getAndSet(0); b > 0; b--) {
+            level.beat();
+            beats++;
+        }
+
+        // wake the players' rooms and neighbours, everything else sleeps
+        for (int i = 0; i < runners.length; i++) {
+            centers[2 * i] = runners[i].body.getX() + kPlayer.WIDTH / 2.0;
+            centers[2 * i + 1] = runners[i].body.getY() + kPlayer.HEIGHT / 2.0;
+        }
+        if (level.activate(centers)) {
+            for (int s = 0; s < parked.length; s++) {
+                if (level.isAwake(s)) while (parked[s].size() > 0) parked[s].transfer(parked[s].size() - 1, actors);
+            }
+        }
+
+        // move platforms first so the players and actors resolve against where they are now
+        level.updateMovers(dt);
+
+        movementSystem.update(actors, dt);
+        levelCollisionSystem.update(actors, level.getCollisionWorld());
+        park();
+
+        // players, contact events fire from here
+        currentTileNote = "";
+        for (Runner r : runners) {
+            PlayerPhysics body = r.body;
+            boolean left = r.input.isLeft(), right = r.input.isRight();
+            if (left && !right) r.facingLeft = true;
+            else if (right && !left) r.facingLeft = false;
+            body.step(dt, left, right, r.input.isJump(), level.getCollisionWorld());
+            r.occupant.update(body.getX(), body.getY(), body.getX() + kPlayer.WIDTH, body.getY() + kPlayer.HEIGHT);
+
+            // actors the player walked into
+            touchSystem.update(actors, body.getX(), body.getY(), body.getX() + kPlayer.WIDTH, body.getY() + kPlayer.HEIGHT);
+            r.graceTime = Math.max(0, r.graceTime - dt);
+            if (touchSystem.isHazardTouched() && r.graceTime == 0 && !body.hasDied()) body.kill();
+        }
+
+        // THEN call updater for all charts
+        for (ChartState chart : charts.values()) {
+            if (chart.isVisible() && !chart.isCompleted()) chart.update(dt, currentTileNote);
+        }
+
+        boolean died = false;
+        boolean atExit = false;
+        for (Runner r : runners) {
+            r.prevCameraX = r.cameraX;
+            r.prevCameraY = r.cameraY;
+
+            // player death
+            if (r.body.hasDied()) {
+                r.graceTime = kActor.RESPAWN_GRACE;
+                died = true;
+                continue;
+            }
+
+            // camera location processing, follow player
+            double playerCenterX = r.body.getX() + kPlayer.WIDTH / 2.0;
+            double playerCenterY = r.body.getY() + kPlayer.HEIGHT / 2.0;
+
+            r.cameraX += (playerCenterX - width / 2.0 - r.cameraX) * cameraBlend;
+            r.cameraY += (playerCenterY - height / 2.0 - r.cameraY - kGameScreen.OFFSET_PLAYER_Y) * cameraBlend;
+
+            atExit |= r.exitsInside > 0;
+        }
+
+        if (died) {
+            // reset all Charts in the hope that current one is also reset
+            for (ChartState chart : charts.values()) chart.reset();
+
+            return; // skip all processing
+        }
+
+        // check exits (only finish if a player reached one with all keys collected)
+        if (atExit && !keyStatus.containsValue(false)) {
+            finished = true;
+            return;
+        }
+
+        // find nearest ClefMarker among the rooms containing any player
+        TriggerVolumes triggers = level.getTriggers();
+        double clefNearestDistance = Double.MAX_VALUE;
+        Clef nearestClef = null;
+
+        for (Runner r : runners) {
+            double playerCenterX = r.body.getX() + kPlayer.WIDTH / 2.0;
+            double playerCenterY = r.body.getY() + kPlayer.HEIGHT / 2.0;
+
+            for (int i = 0; i < r.occupant.getInsideCount(); i++) {
+                int id = r.occupant.getInside(i);
+                if (triggers.getKind(id) != TriggerVolumes.ROOM) continue;
+
+                double dx = playerCenterX - triggers.getCenterX(id); // horizontal difference between player and room block
+                double dy = playerCenterY - triggers.getCenterY(id);
+                double distance = dx * dx + dy * dy; // squared, determines how close the player is to the room block
+
+                if (distance < clefNearestDistance) { // find nearest room block
+                    clefNearestDistance = distance;
+                    nearestClef = level.getMarkerClef(triggers.getTag(id));
+                }
+            }
+        }
+
+        // show the chart of the nearest room, or hide all when no player is in one
+        if (nearestClef != null) {
+            ChartState chart = charts.get(nearestClef);
+
+            if (!chart.isVisible()) chart.show(); // display the chart if not displayed
+
+            if (chart.isCompleted()) keyStatus.put(nearestClef, true); // on melody complete
+        } else { // no player is in a room
+            for (ChartState chart : charts.values()) {
+                if (!chart.isCompleted()) chart.reset(); // reset if incomplete
+                chart.hide(); // hide and reset all, also hiding the correct one
+            }
+        }
+    }
+
+    /** Move actors that are in sleeping rooms out of the simulated world, frozen until their room wakes */
+    private void park() {
+        for (int i = actors.size() - 1; i >= 0; i--) {
+            ActorKind k = actors.getKind(i);
+            double cx = actors.getX(i) + k.getWidth() / 2, cy = actors.getY(i) + k.getHeight() / 2;
+
+            int cell = level.cellOf(cx, cy); // the slot is looked up again only after crossing a cell
+            if (cell != actors.getRegionCell(i)) actors.setRegion(i, cell, level.slotOfCell(cell));
+            int slot = actors.getRegionSlot(i) >= 0 ? actors.getRegionSlot(i) : level.regionOf(cx, cy);
+
+            if (!level.isAwake(slot)) actors.transfer(i, parked[slot]);
+        }
+    }
+
+    /** Fill the back snapshot slot with the current state and publish it as the latest */
+    private void publish(long time) {
+        FrameSnapshot frame = snapshots.back();
+        frame.time = time;
+
+        for (Clef c : Clef.values()) {
+            ChartState chart = charts.get(c);
+            ChartFrame cf = frame.charts[c.ordinal()];
+            cf.visible = chart.isVisible();
+            cf.running = chart.isRunning();
+            cf.playheadX = chart.getPlayheadX();
+            cf.rests = chart.getRests();
+            frame.keys[c.ordinal()] = keyStatus.get(c);
+        }
+
+        for (int i = 0; i < runners.length; i++) {
+            Runner r = runners[i];
+            PlayerFrame pf = frame.players[i];
+            pf.x = r.body.getX();
+            pf.y = r.body.getY();
+            pf.prevX = r.body.getPrevX();
+            pf.prevY = r.body.getPrevY();
+            pf.facingLeft = r.facingLeft;
+            pf.cameraX = r.cameraX;
+            pf.cameraY = r.cameraY;
+            pf.prevCameraX = r.prevCameraX;
+            pf.prevCameraY = r.prevCameraY;
+            pf.deaths = r.body.getDeaths();
+        }
+
+        level.copyMoverPositions(frame.movers);
+        frame.reserveActors(actors.size());
+        actors.copyPositions(frame.actors);
+        actors.copyKinds(frame.actorKinds);
+        frame.actorCount = actors.size();
+
+        frame.beats = beats;
+        frame.deaths = getDeaths();
+        frame.elapsedTime = elapsedTime;
+        frame.finished = finished;
+
+        snapshots.publish();
+    }
+}
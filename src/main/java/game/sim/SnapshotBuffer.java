@@ -0,0 +1,51 @@
+package game.sim;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer handing frame snapshots from the simulation thread to the FX thread.
+ * Three preallocated slots rotate: the producer fills its back slot and swaps it with the middle one in one atomic
+ * exchange, the reader swaps a fresh middle slot with its front. Neither side blocks or allocates, and the slot a reader
+ * got stays untouched until its next {@link #latest()}.
+ */
+public class SnapshotBuffer {
+    private static final int FRESH = 4; // set on the middle index when it holds a snapshot the reader hasn't taken
+
+    private final FrameSnapshot[] slots = new FrameSnapshot[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    private int back = 0; // producer only
+    private int front = 2; // reader only
+    private boolean received = false; // reader only
+
+    /**
+     * @param players number of players
+     * @param movers number of movers
+     * @param charts number of charts and keys
+     */
+    public SnapshotBuffer(int players, int movers, int charts) {
+        for (int i = 0; i < slots.length; i++) slots[i] = new FrameSnapshot(players, movers, charts);
+    }
+
+    /** Get the slot to fill with the next snapshot, simulation thread only */
+    FrameSnapshot back() {
+        return slots[back];
+    }
+
+    /** Make the filled back slot the latest and take over the previous middle slot */
+    void publish() {
+        back = middle.getAndSet(back | FRESH) & ~FRESH;
+    }
+
+    /**
+     * Get the latest snapshot, FX thread only. It stays valid until the next call
+     * @return latest snapshot, or null before the first publish
+     */
+    public FrameSnapshot latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & ~FRESH;
+            received = true;
+        }
+        return received ? slots[front] : null;
+    }
+}
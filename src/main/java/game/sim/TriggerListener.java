@@ -0,0 +1,18 @@
+package game.sim;
+
+/** Receives changes of the trigger volumes containing the player */
+public interface TriggerListener {
+    /**
+     * Called when a volume contains the player that did not at the previous update
+     * @param id volume id
+     * @param kind kind of the volume
+     */
+    default void volumeEntered(int id, byte kind) {}
+
+    /**
+     * Called when a volume that contained the player at the previous update no longer does
+     * @param id volume id
+     * @param kind kind of the volume
+     */
+    default void volumeExited(int id, byte kind) {}
+}
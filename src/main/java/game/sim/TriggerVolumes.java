@@ -0,0 +1,206 @@
+package game.sim;
+
+import game.physics.SpatialHash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Non-solid areas of a level that react to the player: clef rooms as circles around their markers, exits and kill zones
+ * as rectangles. Volumes are indexed in a spatial hash, so an update only looks at the few cells under the player
+ * no matter how many rooms the level has, and changes against the previous update are reported to {@link TriggerListener}s.
+ * Each player tracks the volumes containing it in its own {@link Occupant}, the methods here use a default one.
+ */
+public class TriggerVolumes {
+    /** Kinds */
+    public static final byte ROOM = 0;
+    public static final byte EXIT = 1;
+    public static final byte KILL = 2;
+
+    private final SpatialHash hash;
+    private final Occupant occupant = new Occupant(); // for single player callers
+
+    // volumes, index is volume id
+    private int count = 0;
+    private byte[] kind = new byte[16];
+    private int[] tag = new int[16]; // room marker or map entry index, set by the caller
+    private double[] minX = new double[16]; // bounds, around the circle for rooms
+    private double[] minY = new double[16];
+    private double[] maxX = new double[16];
+    private double[] maxY = new double[16];
+    private double[] radius = new double[16]; // 0 for rectangles
+
+    /**
+     * Create an empty set of volumes
+     * @param cellSize side length of one spatial hash cell
+     */
+    public TriggerVolumes(double cellSize) {
+        hash = new SpatialHash(cellSize);
+    }
+
+    /**
+     * Add a rectangle, containing the player when they overlap, only touching edges excluded
+     * @return id of the new volume
+     */
+    public int addRect(double x, double y, double width, double height, byte kind, int tag) {
+        return add(x, y, x + width, y + height, 0, kind, tag);
+    }
+
+    /**
+     * Add a circle, containing the player when it holds their center
+     * @return id of the new volume
+     */
+    public int addCircle(double centerX, double centerY, double radius, byte kind, int tag) {
+        return add(centerX - radius, centerY - radius, centerX + radius, centerY + radius, radius, kind, tag);
+    }
+
+    private int add(double minX, double minY, double maxX, double maxY, double radius, byte kind, int tag) {
+        if (count == this.kind.length) { // grow
+            int capacity = count * 2;
+            this.kind = Arrays.copyOf(this.kind, capacity);
+            this.tag = Arrays.copyOf(this.tag, capacity);
+            this.minX = Arrays.copyOf(this.minX, capacity);
+            this.minY = Arrays.copyOf(this.minY, capacity);
+            this.maxX = Arrays.copyOf(this.maxX, capacity);
+            this.maxY = Arrays.copyOf(this.maxY, capacity);
+            this.radius = Arrays.copyOf(this.radius, capacity);
+        }
+
+        int id = count++;
+        this.kind[id] = kind;
+        this.tag[id] = tag;
+        this.minX[id] = minX;
+        this.minY[id] = minY;
+        this.maxX[id] = maxX;
+        this.maxY[id] = maxY;
+        this.radius[id] = radius;
+
+        hash.insert(id, minX, minY, maxX, maxY);
+        return id;
+    }
+
+    /** Index all added volumes, call once after adding */
+    public void build() {
+        hash.build();
+    }
+
+    /** Subscribe to enter and exit events of the default occupant */
+    public void addListener(TriggerListener listener) {
+        occupant.addListener(listener);
+    }
+
+    /** Find the volumes containing the player's box and report changes since the previous update, default occupant */
+    public void update(double minX, double minY, double maxX, double maxY) {
+        occupant.update(minX, minY, maxX, maxY);
+    }
+
+    /** Create another occupant, tracking which volumes contain it independently of every other */
+    public Occupant newOccupant() {
+        return new Occupant();
+    }
+
+    /** One box moving through the volumes, like a player, and the volumes containing it */
+    public class Occupant {
+        private final List<TriggerListener> listeners = new ArrayList<>();
+
+        // volumes containing the box at the current and previous update, in id order
+        private int inside = 0;
+        private int[] insideIds = new int[8];
+        private int prevInside = 0;
+        private int[] prevInsideIds = new int[8];
+
+        private Occupant() {}
+
+        /** Subscribe to enter and exit events */
+        public void addListener(TriggerListener listener) {
+            listeners.add(listener);
+        }
+
+        /** Find the volumes containing the box and report changes since the previous update */
+        public void update(double minX, double minY, double maxX, double maxY) {
+            // swap buffers, current becomes previous
+            int[] t = prevInsideIds;
+            prevInsideIds = insideIds;
+            insideIds = t;
+            prevInside = inside;
+            inside = 0;
+
+            double centerX = (minX + maxX) / 2, centerY = (minY + maxY) / 2;
+            int candidates = hash.query(minX, minY, maxX, maxY);
+            for (int i = 0; i < candidates; i++) {
+                int id = hash.getResult(i);
+                if (!contains(id, minX, minY, maxX, maxY, centerX, centerY)) continue;
+
+                if (inside == insideIds.length) insideIds = Arrays.copyOf(insideIds, inside * 2);
+                insideIds[inside++] = id;
+            }
+
+            // both lists are in id order, walk them together
+            int a = 0, b = 0;
+            while (a < inside || b < prevInside) {
+                int now = a < inside ? insideIds[a] : Integer.MAX_VALUE;
+                int before = b < prevInside ? prevInsideIds[b] : Integer.MAX_VALUE;
+
+                if (now == before) {
+                    a++;
+                    b++;
+                } else if (now < before) {
+                    for (TriggerListener l : listeners) l.volumeEntered(now, kind[now]);
+                    a++;
+                } else {
+                    for (TriggerListener l : listeners) l.volumeExited(before, kind[before]);
+                    b++;
+                }
+            }
+        }
+
+        /** Get number of volumes containing the box at the last update */
+        public int getInsideCount() {
+            return inside;
+        }
+
+        /** Get id of a volume containing the box, in id order */
+        public int getInside(int i) {
+            return insideIds[i];
+        }
+    }
+
+    private boolean contains(int id, double minX, double minY, double maxX, double maxY, double centerX, double centerY) {
+        if (radius[id] == 0) return this.maxX[id] > minX && this.maxY[id] > minY && this.minX[id] < maxX && this.minY[id] < maxY;
+
+        double dx = centerX - getCenterX(id), dy = centerY - getCenterY(id);
+        return dx * dx + dy * dy < radius[id] * radius[id];
+    }
+
+    /** Get number of volumes containing the default occupant at the last update */
+    public int getInsideCount() {
+        return occupant.getInsideCount();
+    }
+
+    /** Get id of a volume containing the default occupant, in id order */
+    public int getInside(int i) {
+        return occupant.getInside(i);
+    }
+
+    /** Get number of volumes */
+    public int size() {
+        return count;
+    }
+
+    public byte getKind(int id) {
+        return kind[id];
+    }
+
+    public int getTag(int id) {
+        return tag[id];
+    }
+
+    public double getCenterX(int id) {
+        return (minX[id] + maxX[id]) / 2;
+    }
+
+    public double getCenterY(int id) {
+        return (minY[id] + maxY[id]) / 2;
+    }
+}
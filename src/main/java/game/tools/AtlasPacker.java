@@ -0,0 +1,113 @@
+package game.tools;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import game.Constants.kAtlas;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Packs the sprite PNGs into a few atlas pages and writes an index of where each sprite went, read at runtime by
+ * {@link game.element.SpriteAtlas}. Runs at process-classes, so the atlas lands next to the compiled classes.
+ * Sprites are placed on shelves sorted by height, each padded by a ring repeating its edge pixels
+ * so filtering at subpixel positions never picks up a neighbour.
+ * Usage: {@code AtlasPacker <sprites dir> <output dir>}.
+ */
+public class AtlasPacker {
+    private record Entry(String name, BufferedImage image) {}
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true"); // runs inside the build
+
+        Path sprites = Path.of(args.length > 0 ? args[0] : "src/main/resources/sprites");
+        Path out = Path.of(args.length > 1 ? args[1] : "target/classes/atlas");
+
+        List<Entry> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(sprites)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".png")).sorted().toList()) {
+                String name = sprites.relativize(file).toString().replace('\\', '/');
+                if (Arrays.asList(kAtlas.SKIPPED).contains(name.substring(0, Math.max(0, name.indexOf('/'))))) continue;
+
+                BufferedImage image = ImageIO.read(file.toFile());
+                if (image == null) continue; // not readable
+
+                int max = kAtlas.PAGE_SIZE - 2 * kAtlas.PADDING;
+                if (image.getWidth() > max || image.getHeight() > max) continue; // too large, stays a separate file
+                entries.add(new Entry(name, image));
+            }
+        }
+
+        // tallest first so shelves waste little height
+        entries.sort(Comparator.comparingInt((Entry e) -> -e.image().getHeight())
+            .thenComparingInt(e -> -e.image().getWidth())
+            .thenComparing(Entry::name));
+
+        List<BufferedImage> pages = new ArrayList<>();
+        JsonObject index = new JsonObject();
+        JsonObject placed = new JsonObject();
+
+        BufferedImage page = null;
+        int shelfX = 0, shelfY = 0, shelfHeight = 0;
+        for (Entry e : entries) {
+            int w = e.image().getWidth() + 2 * kAtlas.PADDING, h = e.image().getHeight() + 2 * kAtlas.PADDING;
+
+            if (page != null && shelfX + w > kAtlas.PAGE_SIZE) { // next shelf
+                shelfX = 0;
+                shelfY += shelfHeight;
+                shelfHeight = 0;
+            }
+            if (page == null || shelfY + h > kAtlas.PAGE_SIZE) { // next page
+                page = new BufferedImage(kAtlas.PAGE_SIZE, kAtlas.PAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+                pages.add(page);
+                shelfX = shelfY = shelfHeight = 0;
+            }
+
+            blit(e.image(), page, shelfX + kAtlas.PADDING, shelfY + kAtlas.PADDING);
+
+            JsonObject sprite = new JsonObject();
+            sprite.addProperty("page", pages.size() - 1);
+            sprite.addProperty("x", shelfX + kAtlas.PADDING);
+            sprite.addProperty("y", shelfY + kAtlas.PADDING);
+            sprite.addProperty("width", e.image().getWidth());
+            sprite.addProperty("height", e.image().getHeight());
+            placed.add(e.name(), sprite);
+
+            shelfX += w;
+            shelfHeight = Math.max(shelfHeight, h);
+        }
+
+        Files.createDirectories(out);
+        JsonArray pageNames = new JsonArray();
+        for (int i = 0; i < pages.size(); i++) {
+            String name = "atlas_" + i + ".png";
+            ImageIO.write(pages.get(i), "png", out.resolve(name).toFile());
+            pageNames.add(name);
+        }
+        index.add("pages", pageNames);
+        index.add("sprites", placed);
+        Files.writeString(out.resolve("index.json"), new GsonBuilder().setPrettyPrinting().create().toJson(index));
+
+        System.out.println("Packed " + entries.size() + " sprites into " + pages.size() + " atlas pages");
+    }
+
+    /** Copy an image and repeat its outermost pixels one pixel further out */
+    private static void blit(BufferedImage image, BufferedImage page, int x, int y) {
+        int w = image.getWidth(), h = image.getHeight();
+        for (int py = -1; py <= h; py++) {
+            for (int px = -1; px <= w; px++) {
+                int sx = Math.min(w - 1, Math.max(0, px)), sy = Math.min(h - 1, Math.max(0, py));
+                page.setRGB(x + px, y + py, image.getRGB(sx, sy));
+            }
+        }
+    }
+}
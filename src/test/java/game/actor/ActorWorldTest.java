@@ -0,0 +1,94 @@
+package game.actor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ActorWorldTest {
+    @Test
+    void despawnKeepsArraysPackedAndHandlesValid() {
+        ActorWorld actors = new ActorWorld();
+        int a = actors.spawn(ActorKind.HAZARD, 0, 0, 0, 0);
+        int b = actors.spawn(ActorKind.COLLECTIBLE, 10, 0, 0, 0);
+        int c = actors.spawn(ActorKind.WANDERER, 20, 0, 0, 0);
+
+        actors.despawn(a); // last actor moves into index 0
+        assertEquals(2, actors.size());
+        assertEquals(-1, actors.indexOf(a));
+        assertEquals(0, actors.indexOf(c));
+        assertEquals(20, actors.getX(actors.indexOf(c)));
+        assertEquals(ActorKind.WANDERER, actors.getKind(actors.indexOf(c)));
+        assertEquals(10, actors.getX(actors.indexOf(b)));
+
+        actors.despawn(a); // already gone, ignored
+        assertEquals(2, actors.size());
+    }
+
+    @Test
+    void handlesAreReused() {
+        ActorWorld actors = new ActorWorld();
+        int a = actors.spawn(ActorKind.HAZARD, 0, 0, 0, 0);
+        actors.despawn(a);
+
+        int b = actors.spawn(ActorKind.HAZARD, 5, 5, 0, 0);
+        assertEquals(a, b);
+        assertEquals(0, actors.indexOf(b));
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        ActorWorld actors = new ActorWorld();
+        int[] handles = new int[1_000];
+        for (int i = 0; i < handles.length; i++) handles[i] = actors.spawn(ActorKind.COLLECTIBLE, i, -i, 0, 0);
+        for (int i = 0; i < handles.length; i += 2) actors.despawn(handles[i]);
+
+        assertEquals(500, actors.size());
+        for (int i = 1; i < handles.length; i += 2) {
+            int index = actors.indexOf(handles[i]);
+            assertEquals(i, actors.getX(index));
+            assertEquals(-i, actors.getY(index));
+            assertEquals(i + ActorKind.COLLECTIBLE.getWidth(), actors.maxXs()[index]);
+        }
+    }
+
+    @Test
+    void transferKeepsState() {
+        ActorWorld from = new ActorWorld(), to = new ActorWorld();
+        from.spawn(ActorKind.HAZARD, 1, 2, 3, 4);
+        from.spawn(ActorKind.WANDERER, 5, 6, 7, 8);
+
+        int moved = from.transfer(0, to);
+        assertEquals(1, from.size());
+        assertEquals(ActorKind.WANDERER, from.getKind(0));
+
+        int i = to.indexOf(moved);
+        assertEquals(ActorKind.HAZARD, to.getKind(i));
+        assertEquals(1, to.getX(i));
+        assertEquals(2, to.getY(i));
+        assertEquals(3, to.vxs()[i]);
+        assertEquals(4, to.vys()[i]);
+    }
+
+    @Test
+    void copiesPositionsAndKinds() {
+        ActorWorld actors = new ActorWorld();
+        actors.spawn(ActorKind.HAZARD, 1, 2, 0, 0);
+        actors.spawn(ActorKind.WANDERER, 3, 4, 0, 0);
+
+        float[] positions = new float[8];
+        byte[] kinds = new byte[2];
+        actors.copyPositions(positions);
+        actors.copyKinds(kinds);
+
+        assertArrayEquals(new double[] {1, 2, 1, 2, 3, 4, 3, 4}, toDoubles(positions)); // not moved, previous equals current
+        assertEquals(ActorKind.HAZARD.ordinal(), kinds[0]);
+        assertEquals(ActorKind.WANDERER.ordinal(), kinds[1]);
+    }
+
+    private static double[] toDoubles(float[] values) {
+        double[] out = new double[values.length];
+        for (int i = 0; i < values.length; i++) out[i] = values[i];
+        return out;
+    }
+}
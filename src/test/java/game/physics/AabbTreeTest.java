@@ -0,0 +1,89 @@
+package game.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AabbTreeTest {
+    private static final double MARGIN = 4;
+
+    @Test
+    void queriesFindEveryOverlapWhileBoxesMove() {
+        Random rng = new Random(3);
+        int n = 300;
+        double[] boxes = new double[n * 4];
+        int[] proxies = new int[n];
+        boolean[] live = new boolean[n];
+        AabbTree tree = new AabbTree(MARGIN, 2);
+
+        for (int i = 0; i < n; i++) {
+            boxes[i * 4] = rng.nextDouble() * 1000;
+            boxes[i * 4 + 1] = rng.nextDouble() * 1000;
+            boxes[i * 4 + 2] = boxes[i * 4] + 5 + rng.nextDouble() * 40;
+            boxes[i * 4 + 3] = boxes[i * 4 + 1] + 5 + rng.nextDouble() * 40;
+            proxies[i] = tree.insert(i, boxes[i * 4], boxes[i * 4 + 1], boxes[i * 4 + 2], boxes[i * 4 + 3]);
+            live[i] = true;
+        }
+
+        for (int step = 0; step < 50; step++) {
+            for (int i = 0; i < n; i++) { // move every box a little
+                if (!live[i]) continue;
+                double dx = rng.nextDouble() * 10 - 5, dy = rng.nextDouble() * 10 - 5;
+                for (int k = 0; k < 4; k++) boxes[i * 4 + k] += k % 2 == 0 ? dx : dy;
+                tree.move(proxies[i], boxes[i * 4], boxes[i * 4 + 1], boxes[i * 4 + 2], boxes[i * 4 + 3], dx, dy);
+            }
+            int gone = rng.nextInt(n); // and drop one now and then
+            if (step % 5 == 0 && live[gone]) {
+                tree.remove(proxies[gone]);
+                live[gone] = false;
+            }
+
+            for (int q = 0; q < 20; q++) {
+                double minX = rng.nextDouble() * 1000, minY = rng.nextDouble() * 1000;
+                double maxX = minX + rng.nextDouble() * 150, maxY = minY + rng.nextDouble() * 150;
+
+                int count = tree.query(minX, minY, maxX, maxY);
+                boolean[] found = new boolean[n];
+                for (int r = 0; r < count; r++) {
+                    assertTrue(live[tree.getResult(r)], "removed box found");
+                    found[tree.getResult(r)] = true;
+                }
+                for (int i = 0; i < n; i++) {
+                    boolean overlaps = boxes[i * 4] <= maxX && boxes[i * 4 + 2] >= minX && boxes[i * 4 + 1] <= maxY && boxes[i * 4 + 3] >= minY;
+                    if (live[i] && overlaps) assertTrue(found[i], "missed " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void smallMovesStayInTheEnlargedBox() {
+        AabbTree tree = new AabbTree(MARGIN, 2);
+        int proxy = tree.insert(0, 0, 0, 10, 10);
+
+        assertFalse(tree.move(proxy, 3, 3, 13, 13, 3, 3));
+        assertTrue(tree.move(proxy, 20, 0, 30, 10, 17, 0));
+        assertEquals(1, tree.query(25, 5, 26, 6));
+    }
+
+    @Test
+    void staysBalanced() {
+        AabbTree tree = new AabbTree(0, 0);
+        for (int i = 0; i < 1024; i++) tree.insert(i, i * 10, 0, i * 10 + 5, 5); // sorted inserts, worst case unbalanced
+        assertTrue(tree.getHeight() <= 20, "height " + tree.getHeight());
+    }
+
+    @Test
+    void emptyTreeFindsNothing() {
+        AabbTree tree = new AabbTree(MARGIN, 2);
+        int proxy = tree.insert(0, 0, 0, 10, 10);
+        tree.remove(proxy);
+
+        assertEquals(0, tree.query(-100, -100, 100, 100));
+        assertEquals(0, tree.getHeight());
+    }
+}
@@ -0,0 +1,201 @@
+package game.physics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import game.Constants.kLevel;
+import game.Constants.kPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compaction must cover exactly the same area with fewer rectangles and leave collision results unchanged.
+ * map.json itself has no touching Concrete (20 rectangles stay 20), so merging is checked on hand-built shapes
+ * and on map.json with every rectangle split into overlapping and touching pieces.
+ */
+class RectCompactorTest {
+    private static final int SAMPLES = 200_000;
+    private static final int RUNS = 200;
+    private static final int RUN_TICKS = 1_200;
+    private static final double TICK = 1.0 / 120;
+
+    @Test
+    void touchingRectanglesMerge() {
+        double[] rects = {0, 0, 10, 10, 10, 0, 20, 10};
+        assertArrayEquals(new double[] {0, 0, 20, 10}, RectCompactor.compact(rects));
+    }
+
+    @Test
+    void overlappingRectanglesMerge() {
+        double[] rects = {0, 0, 10, 10, 5, 0, 15, 10};
+        assertArrayEquals(new double[] {0, 0, 15, 10}, RectCompactor.compact(rects));
+    }
+
+    @Test
+    void lShapeBecomesTwoRectangles() {
+        double[] rects = {0, 0, 10, 20, 0, 20, 10, 30, 10, 20, 30, 30}; // upright split in two, foot to the right
+        double[] compacted = RectCompactor.compact(rects);
+
+        assertArrayEquals(new double[] {0, 0, 10, 30, 10, 20, 30, 30}, compacted);
+        assertEquals(area(rects), area(compacted));
+    }
+
+    @Test
+    void disjointRectanglesStay() {
+        double[] rects = {0, 0, 10, 10, 20, 0, 30, 10, 10, 10, 20, 20}; // the third only shares corners
+        assertEquals(3, RectCompactor.compact(rects).length / 4);
+    }
+
+    @Test
+    void fragmentedMapCompactsWithoutChangingCollisions() throws IOException {
+        double[] rects = mapConcrete();
+        double[] fragments = fragment(rects, new Random(1));
+        double[] compacted = RectCompactor.compact(fragments);
+
+        assertTrue(compacted.length < fragments.length, "fragments were not merged");
+        assertEquals(0, overlapMismatches(world(fragments), world(compacted), bounds(fragments)), "overlap query mismatches");
+
+        // pieces add internal seams the resolver can catch on, so runs are compared with the unsplit map
+        assertEquals(0, divergedRuns(world(rects), world(compacted)), "diverged player runs");
+    }
+
+    /** Concrete of map.json as flat minX, minY, maxX, maxY */
+    private static double[] mapConcrete() throws IOException {
+        JsonObject branch = JsonParser.parseString(
+            Files.readString(Path.of("src/main/resources/map.json"))
+        ).getAsJsonObject();
+
+        JsonArray concrete = branch.getAsJsonArray("concrete");
+        double[] rects = new double[concrete.size() * 4];
+        for (int i = 0; i < concrete.size(); i++) {
+            JsonObject obj = concrete.get(i).getAsJsonObject();
+            rects[i * 4] = obj.get("x").getAsInt();
+            rects[i * 4 + 1] = obj.get("y").getAsInt();
+            rects[i * 4 + 2] = rects[i * 4] + obj.get("width").getAsInt();
+            rects[i * 4 + 3] = rects[i * 4 + 1] + obj.get("height").getAsInt();
+        }
+        return rects;
+    }
+
+    /** Player boxes at random spots, some snapped onto edges, that overlap something in one world but not the other */
+    private static int overlapMismatches(CollisionWorld before, CollisionWorld after, double[] bounds) {
+        Random rng = new Random(7);
+        int mismatches = 0;
+        for (int s = 0; s < SAMPLES; s++) {
+            double x = bounds[0] - kPlayer.WIDTH + rng.nextDouble() * (bounds[2] - bounds[0] + kPlayer.WIDTH);
+            double y = bounds[1] - kPlayer.HEIGHT + rng.nextDouble() * (bounds[3] - bounds[1] + kPlayer.HEIGHT);
+            if (rng.nextInt(4) == 0) { // snap onto an edge to exercise touching contacts
+                x = Math.rint(x);
+                y = Math.rint(y);
+            }
+            if (overlapsAny(before, x, y) != overlapsAny(after, x, y)) mismatches++;
+        }
+        return mismatches;
+    }
+
+    /** Scripted player runs from spawn with random held inputs that end up somewhere else in one world */
+    private static int divergedRuns(CollisionWorld expected, CollisionWorld actual) {
+        int diverged = 0;
+        for (int r = 0; r < RUNS; r++) {
+            PlayerBody a = new PlayerBody(kLevel.SPAWNPOINT[0], kLevel.SPAWNPOINT[1]);
+            PlayerBody b = new PlayerBody(kLevel.SPAWNPOINT[0], kLevel.SPAWNPOINT[1]);
+            Random input = new Random(r);
+            boolean left = false, right = false, jump = false;
+
+            for (int t = 0; t < RUN_TICKS; t++) {
+                if (t % 15 == 0) { // change held keys every 15 ticks
+                    left = input.nextInt(3) == 0;
+                    right = input.nextInt(2) == 0;
+                    jump = input.nextInt(4) == 0;
+                }
+                a.step(TICK, left, right, jump, expected);
+                b.step(TICK, left, right, jump, actual);
+
+                if (a.getX() != b.getX() || a.getY() != b.getY() || a.getDeaths() != b.getDeaths()) {
+                    diverged++;
+                    break;
+                }
+            }
+        }
+        return diverged;
+    }
+
+    /** Split each rectangle into a grid of pieces, some grown to overlap their neighbours */
+    private static double[] fragment(double[] rects, Random rng) {
+        double[] out = new double[0];
+        int count = 0;
+
+        for (int i = 0; i < rects.length / 4; i++) {
+            int cols = 1 + rng.nextInt(4);
+            int rows = 1 + rng.nextInt(2);
+            double w = (rects[i * 4 + 2] - rects[i * 4]) / cols;
+            double h = (rects[i * 4 + 3] - rects[i * 4 + 1]) / rows;
+
+            for (int c = 0; c < cols; c++) {
+                for (int r = 0; r < rows; r++) {
+                    double minX = rects[i * 4] + c * w;
+                    double minY = rects[i * 4 + 1] + r * h;
+                    double maxX = c == cols - 1 ? rects[i * 4 + 2] : minX + w + (rng.nextBoolean() ? w / 2 : 0);
+                    double maxY = r == rows - 1 ? rects[i * 4 + 3] : minY + h;
+
+                    if ((count + 1) * 4 > out.length) out = Arrays.copyOf(out, Math.max(64, out.length * 2));
+                    out[count * 4] = minX;
+                    out[count * 4 + 1] = minY;
+                    out[count * 4 + 2] = maxX;
+                    out[count * 4 + 3] = maxY;
+                    count++;
+                }
+            }
+        }
+        return Arrays.copyOf(out, count * 4);
+    }
+
+    private static CollisionWorld world(double[] rects) {
+        CollisionWorld world = new CollisionWorld();
+        for (int i = 0; i < rects.length / 4; i++) {
+            world.add(
+                rects[i * 4], rects[i * 4 + 1],
+                rects[i * 4 + 2] - rects[i * 4], rects[i * 4 + 3] - rects[i * 4 + 1],
+                CollisionWorld.CONCRETE, true
+            );
+        }
+        world.build();
+        return world;
+    }
+
+    private static boolean overlapsAny(CollisionWorld world, double x, double y) {
+        int candidates = world.query(x, y, x + kPlayer.WIDTH, y + kPlayer.HEIGHT);
+        for (int i = 0; i < candidates; i++) {
+            if (world.overlaps(world.getCandidate(i), x, y, x + kPlayer.WIDTH, y + kPlayer.HEIGHT)) return true;
+        }
+        return false;
+    }
+
+    private static double[] bounds(double[] rects) {
+        double[] b = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (int i = 0; i < rects.length / 4; i++) {
+            b[0] = Math.min(b[0], rects[i * 4]);
+            b[1] = Math.min(b[1], rects[i * 4 + 1]);
+            b[2] = Math.max(b[2], rects[i * 4 + 2]);
+            b[3] = Math.max(b[3], rects[i * 4 + 3]);
+        }
+        return b;
+    }
+
+    private static double area(double[] rects) {
+        double a = 0;
+        for (int i = 0; i < rects.length / 4; i++) {
+            a += (rects[i * 4 + 2] - rects[i * 4]) * (rects[i * 4 + 3] - rects[i * 4 + 1]);
+        }
+        return a;
+    }
+}
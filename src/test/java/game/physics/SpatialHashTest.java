@@ -0,0 +1,50 @@
+package game.physics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialHashTest {
+    @Test
+    void queriesFindEveryOverlapInIdOrder() {
+        Random rng = new Random(1);
+        int n = 500;
+        double[] boxes = new double[n * 4];
+        SpatialHash hash = new SpatialHash(64);
+        for (int i = 0; i < n; i++) {
+            boxes[i * 4] = rng.nextDouble() * 2000 - 1000; // negative cells too
+            boxes[i * 4 + 1] = rng.nextDouble() * 2000 - 1000;
+            boxes[i * 4 + 2] = boxes[i * 4] + rng.nextDouble() * 300;
+            boxes[i * 4 + 3] = boxes[i * 4 + 1] + rng.nextDouble() * 300;
+            hash.insert(i, boxes[i * 4], boxes[i * 4 + 1], boxes[i * 4 + 2], boxes[i * 4 + 3]);
+        }
+        hash.build();
+
+        for (int q = 0; q < 1_000; q++) {
+            double minX = rng.nextDouble() * 2400 - 1200, minY = rng.nextDouble() * 2400 - 1200;
+            double maxX = minX + rng.nextDouble() * 200, maxY = minY + rng.nextDouble() * 200;
+
+            int count = hash.query(minX, minY, maxX, maxY);
+            boolean[] found = new boolean[n];
+            for (int r = 0; r < count; r++) {
+                found[hash.getResult(r)] = true;
+                if (r > 0) assertTrue(hash.getResult(r - 1) < hash.getResult(r), "results not unique and sorted");
+            }
+
+            for (int i = 0; i < n; i++) {
+                boolean overlaps = boxes[i * 4] <= maxX && boxes[i * 4 + 2] >= minX && boxes[i * 4 + 1] <= maxY && boxes[i * 4 + 3] >= minY;
+                if (overlaps) assertTrue(found[i], "missed " + i);
+            }
+        }
+    }
+
+    @Test
+    void emptyHashFindsNothing() {
+        SpatialHash hash = new SpatialHash(64);
+        hash.build();
+        assertEquals(0, hash.query(-100, -100, 100, 100));
+    }
+}
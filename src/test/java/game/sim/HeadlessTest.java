@@ -0,0 +1,42 @@
+package game.sim;
+
+import game.GameSession;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/** Fixed point runs of the same script must repeat tick for tick, what replays and the cross-JVM checksum rely on */
+class HeadlessTest {
+    private static final int TICKS = 3_600;
+
+    @Test
+    void fixedPointRunsRepeat() throws IOException {
+        LevelData data = LevelData.load(LevelData.MAP);
+
+        for (int seed = 0; seed < 8; seed++) {
+            Headless.Result a = Headless.run(fixedPoint(), data, ScriptedInput.random(seed, TICKS), TICKS);
+            Headless.Result b = Headless.run(fixedPoint(), data, ScriptedInput.random(seed, TICKS), TICKS);
+
+            assertEquals(a.checksum(), b.checksum(), "positions diverged for seed " + seed);
+            assertEquals(a, b, "outcome diverged for seed " + seed);
+        }
+    }
+
+    @Test
+    void checksumFollowsInput() throws IOException {
+        LevelData data = LevelData.load(LevelData.MAP);
+
+        Headless.Result a = Headless.run(fixedPoint(), data, ScriptedInput.random(1, TICKS), TICKS);
+        Headless.Result b = Headless.run(fixedPoint(), data, ScriptedInput.random(2, TICKS), TICKS);
+        assertNotEquals(a.checksum(), b.checksum());
+    }
+
+    private static GameSession fixedPoint() {
+        GameSession session = new GameSession();
+        session.setFixedPoint(true);
+        return session;
+    }
+}
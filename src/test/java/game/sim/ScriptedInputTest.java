@@ -0,0 +1,76 @@
+package game.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptedInputTest {
+    @Test
+    void replaysSegmentsInOrder() {
+        ScriptedInput input = ScriptedInput.parse(List.of("2 R", "1 lj", "1 -"));
+        assertEquals(4, input.length());
+
+        String held = "";
+        for (int t = 0; t < 5; t++) {
+            input.advance();
+            held += (input.isLeft() ? "L" : "") + (input.isRight() ? "R" : "") + (input.isJump() ? "J" : "") + ",";
+        }
+        assertEquals("R,R,LJ,,,", held); // keys are released once the script ends
+        assertTrue(input.isDone());
+    }
+
+    @Test
+    void skipsBlankLinesAndComments() {
+        ScriptedInput input = ScriptedInput.parse(List.of("", "# warm up", "   ", "  3 J  ", "#1 R"));
+        assertEquals(3, input.length());
+
+        input.advance();
+        assertTrue(input.isJump());
+        assertFalse(input.isRight());
+    }
+
+    @Test
+    void lineWithoutKeysHoldsNothing() {
+        ScriptedInput input = ScriptedInput.parse(List.of("5"));
+        input.advance();
+
+        assertEquals(5, input.length());
+        assertFalse(input.isLeft() || input.isRight() || input.isJump());
+        assertFalse(input.isDone());
+    }
+
+    @Test
+    void unknownKeyThrows() {
+        assertThrows(IllegalArgumentException.class, () -> ScriptedInput.parse(List.of("10 RX")));
+    }
+
+    @Test
+    void emptyScriptIsDone() {
+        ScriptedInput input = ScriptedInput.parse(List.of("# nothing"));
+        input.advance();
+
+        assertEquals(0, input.length());
+        assertTrue(input.isDone());
+        assertFalse(input.isRight());
+    }
+
+    @Test
+    void randomScriptsHaveTheirLengthAndRepeat() {
+        assertEquals(100, ScriptedInput.random(3, 100).length()); // last segment cut short
+        assertEquals(0, ScriptedInput.random(3, 0).length());
+
+        ScriptedInput a = ScriptedInput.random(42, 600), b = ScriptedInput.random(42, 600);
+        for (int t = 0; t < 600; t++) {
+            a.advance();
+            b.advance();
+            assertEquals(a.isLeft(), b.isLeft());
+            assertEquals(a.isRight(), b.isRight());
+            assertEquals(a.isJump(), b.isJump());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package game.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TriggerVolumesTest {
+    /** Records events as "+id" and "-id" */
+    private static class Events implements TriggerListener {
+        final List<String> seen = new ArrayList<>();
+
+        @Override
+        public void volumeEntered(int id, byte kind) {
+            seen.add("+" + id);
+        }
+
+        @Override
+        public void volumeExited(int id, byte kind) {
+            seen.add("-" + id);
+        }
+    }
+
+    @Test
+    void reportsEnterAndExitOnce() {
+        TriggerVolumes volumes = new TriggerVolumes(128);
+        int exit = volumes.addRect(100, 0, 50, 50, TriggerVolumes.EXIT, 0);
+        volumes.build();
+
+        Events events = new Events();
+        volumes.addListener(events);
+
+        volumes.update(0, 0, 10, 10); // outside
+        volumes.update(95, 0, 105, 10);
+        volumes.update(96, 0, 106, 10); // still inside, no event
+        volumes.update(200, 0, 210, 10);
+
+        assertEquals(List.of("+" + exit, "-" + exit), events.seen);
+    }
+
+    @Test
+    void touchingEdgesAreOutside() {
+        TriggerVolumes volumes = new TriggerVolumes(128);
+        volumes.addRect(100, 100, 50, 50, TriggerVolumes.KILL, 0);
+        volumes.build();
+
+        volumes.update(90, 100, 100, 110); // right edge on the left side
+        assertEquals(0, volumes.getInsideCount());
+        volumes.update(100, 90, 110, 100); // bottom edge on the top side
+        assertEquals(0, volumes.getInsideCount());
+    }
+
+    @Test
+    void circlesContainTheBoxCenter() {
+        TriggerVolumes volumes = new TriggerVolumes(128);
+        int room = volumes.addCircle(0, 0, 100, TriggerVolumes.ROOM, 7);
+        volumes.build();
+
+        volumes.update(60, 60, 80, 80); // center 70, 70 is 99 away
+        assertEquals(1, volumes.getInsideCount());
+        assertEquals(room, volumes.getInside(0));
+        assertEquals(7, volumes.getTag(room));
+
+        volumes.update(65, 65, 85, 85); // box overlaps the circle, center 75, 75 is 106 away
+        assertEquals(0, volumes.getInsideCount());
+    }
+
+    @Test
+    void insideVolumesAreInIdOrder() {
+        TriggerVolumes volumes = new TriggerVolumes(16); // small cells, volumes span many
+        for (int i = 0; i < 20; i++) volumes.addRect(i * 5, 0, 100, 100, TriggerVolumes.EXIT, i);
+        volumes.build();
+
+        volumes.update(96, 10, 110, 20);
+        assertEquals(20, volumes.getInsideCount());
+        for (int i = 0; i < 20; i++) assertEquals(i, volumes.getInside(i));
+    }
+
+    @Test
+    void occupantsAreIndependent() {
+        TriggerVolumes volumes = new TriggerVolumes(128);
+        int exit = volumes.addRect(0, 0, 50, 50, TriggerVolumes.EXIT, 0);
+        volumes.build();
+
+        TriggerVolumes.Occupant a = volumes.newOccupant(), b = volumes.newOccupant();
+        Events eventsA = new Events(), eventsB = new Events();
+        a.addListener(eventsA);
+        b.addListener(eventsB);
+
+        a.update(10, 10, 20, 20);
+        b.update(100, 100, 110, 110);
+        a.update(10, 10, 20, 20);
+        b.update(10, 10, 20, 20);
+
+        assertEquals(List.of("+" + exit), eventsA.seen);
+        assertEquals(List.of("+" + exit), eventsB.seen);
+        assertEquals(0, volumes.getInsideCount()); // default occupant never moved
+    }
+}
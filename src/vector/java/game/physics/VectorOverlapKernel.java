@@ -0,0 +1,51 @@
+package game.physics;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Overlap kernel testing as many platforms per instruction as the widest double vector of the CPU holds.
+ * Built only with the {@code vector} profile, needs the jdk.incubator.vector module.
+ */
+public class VectorOverlapKernel implements OverlapKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED; // 2, 4 or 8 lanes, all dividing 64
+
+    @Override
+    public int overlaps(
+        double[] minX, double[] minY, double[] maxX, double[] maxY, int from, int to,
+        double boxMinX, double boxMinY, double boxMaxX, double boxMaxY,
+        long[] mask
+    ) {
+        Arrays.fill(mask, 0, (to - from + 63) >>> 6, 0L);
+
+        int lanes = SPECIES.length();
+        int bound = from + SPECIES.loopBound(to - from);
+        int hits = 0;
+        int i = 0; // bit index of p
+
+        // full vectors, lane groups never straddle a mask word
+        for (int p = from; p < bound; p += lanes, i += lanes) {
+            VectorMask<Double> m = DoubleVector.fromArray(SPECIES, maxX, p).compare(VectorOperators.GE, boxMinX)
+                .and(DoubleVector.fromArray(SPECIES, maxY, p).compare(VectorOperators.GE, boxMinY))
+                .and(DoubleVector.fromArray(SPECIES, minX, p).compare(VectorOperators.LE, boxMaxX))
+                .and(DoubleVector.fromArray(SPECIES, minY, p).compare(VectorOperators.LE, boxMaxY));
+
+            long bits = m.toLong();
+            mask[i >>> 6] |= bits << (i & 63);
+            hits += Long.bitCount(bits);
+        }
+
+        // tail
+        for (int p = bound; p < to; p++, i++) {
+            if (maxX[p] >= boxMinX && maxY[p] >= boxMinY && minX[p] <= boxMaxX && minY[p] <= boxMaxY) {
+                mask[i >>> 6] |= 1L << (i & 63);
+                hits++;
+            }
+        }
+        return hits;
+    }
+}